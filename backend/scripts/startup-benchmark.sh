@@ -0,0 +1,90 @@
+#!/bin/bash
+
+# 기동 시간(time-to-ready) 측정 스크립트
+#
+# 실행 방식별로 여러 번 기동해 "프로세스 시작 -> /actuator/health/readiness 응답 UP"까지 걸린 시간을 잽니다.
+# Spring Boot가 기록한 application.ready.time 지표도 함께 출력합니다.
+#
+# 사용법 (PostgreSQL/Redis가 떠 있고 JWT_SECRET 환경 변수가 설정된 상태에서, Redis 없이는 기동하지 않음):
+#   ./mvnw -Pprod package
+#   ./scripts/startup-benchmark.sh [반복 횟수, 기본 5]
+#
+# 측정 방식
+#   jar      : java -jar (AOT/CDS 미사용, 기존 방식)
+#   aot      : 풀어낸 jar + Spring AOT
+#   aot+cds  : 풀어낸 jar + Spring AOT + AppCDS 아카이브
+
+set -u
+
+RUNS=${1:-5}
+PORT=${PORT:-8080}
+PROFILE=${PROFILE:-prod}
+TARGET_DIR="$(cd "$(dirname "$0")/.." && pwd)/target"
+JAR=$(ls "$TARGET_DIR"/demo-*.jar 2>/dev/null | grep -v original | head -n 1)
+APP_JAR="$TARGET_DIR/app/$(basename "$JAR")"
+CDS_ARCHIVE="$TARGET_DIR/app/app.jsa"
+HEALTH_URL="http://localhost:$PORT/actuator/health/readiness"
+TIMEOUT_SECONDS=${TIMEOUT_SECONDS:-120}
+
+if [ -z "$JAR" ] || [ ! -f "$APP_JAR" ] || [ ! -f "$CDS_ARCHIVE" ]; then
+    echo "빌드 결과가 없습니다. 먼저 ./mvnw -Pprod package 를 실행하세요."
+    exit 1
+fi
+
+now_ms() {
+    date +%s%3N
+}
+
+# 한 번 기동해 ready까지 걸린 시간(ms)을 출력, 실패 시 -1
+measure() {
+    local start pid elapsed ready_time
+    start=$(now_ms)
+    java "$@" -Dspring.profiles.active="$PROFILE" -Dserver.port="$PORT" > /dev/null 2>&1 &
+    pid=$!
+
+    elapsed=-1
+    while [ $(( $(now_ms) - start )) -lt $(( TIMEOUT_SECONDS * 1000 )) ]; do
+        if curl -fs "$HEALTH_URL" 2>/dev/null | grep -q '"UP"'; then
+            elapsed=$(( $(now_ms) - start ))
+            break
+        fi
+        if ! kill -0 "$pid" 2>/dev/null; then
+            break
+        fi
+        sleep 0.05
+    done
+
+    ready_time=$(curl -fs "http://localhost:$PORT/actuator/metrics/application.ready.time" 2>/dev/null \
+        | grep -o '"value":[0-9.]*' | head -n 1 | cut -d: -f2)
+
+    kill "$pid" 2>/dev/null
+    wait "$pid" 2>/dev/null
+    echo "$elapsed ${ready_time:-?}"
+}
+
+benchmark() {
+    local name=$1
+    shift
+    local total=0 ok=0 result elapsed ready_time
+    for i in $(seq 1 "$RUNS"); do
+        result=$(measure "$@")
+        elapsed=${result%% *}
+        ready_time=${result##* }
+        if [ "$elapsed" -ge 0 ]; then
+            total=$(( total + elapsed ))
+            ok=$(( ok + 1 ))
+        fi
+        printf "  %-8s #%d : time-to-ready %6s ms (application.ready.time %s s)\n" "$name" "$i" "$elapsed" "$ready_time"
+    done
+    if [ "$ok" -gt 0 ]; then
+        printf "  %-8s 평균 : %d ms (%d/%d 성공)\n\n" "$name" $(( total / ok )) "$ok" "$RUNS"
+    else
+        printf "  %-8s 기동 실패 (%d회)\n\n" "$name" "$RUNS"
+    fi
+}
+
+echo "기동 시간 측정 (프로필: $PROFILE, 반복: $RUNS회)"
+echo ""
+benchmark "jar"     -jar "$JAR"
+benchmark "aot"     -Dspring.aot.enabled=true -jar "$APP_JAR"
+benchmark "aot+cds" -XX:SharedArchiveFile="$CDS_ARCHIVE" -Dspring.aot.enabled=true -jar "$APP_JAR"
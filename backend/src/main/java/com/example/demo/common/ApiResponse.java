@@ -1,5 +1,6 @@
 package com.example.demo.common;
 
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
@@ -41,6 +42,19 @@ public class ApiResponse<T> {
         return ResponseEntity.ok(of(message, data));
     }
 
+    /**
+     * ETag를 포함한 200 OK 응답 반환 (조건부 조회 지원 리소스)
+     * 
+     * Cache-Control: private, no-cache -> 클라이언트는 저장해 두고 매번 If-None-Match로 재검증
+     * 같은 ETag로 다시 요청하면 304 Not Modified (본문 없음)
+     */
+    public static <T> ResponseEntity<ApiResponse<T>> ok(String message, T data, String eTag) {
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(of(message, data));
+    }
+
     /**
      * 일반적인 200 OK 응답 반환
      * 
@@ -0,0 +1,42 @@
+package com.example.demo.config;
+
+import org.springframework.aot.AotDetector;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+/**
+ * AOT로 빌드한 실행(-Dspring.aot.enabled=true)에서 빌드 시점에 고정된 설정과 실행 시 설정이 다르면 기동 실패
+ *
+ * AOT는 @ConditionalOnProperty를 빌드 시점(./mvnw -Pprod package, prod 프로필)에 판단해 빈 구성을 고정합니다.
+ * 실행 시 바꿀 수 있어야 하는 설정은 조건 대신 빈 안에서 확인하고 (warmup.enabled -> WarmUpRunner, user.sequence-align.enabled/spring.flyway.enabled -> UserSequenceInitializer),
+ * 빈 구성 자체가 달라지는 설정만 여기서 확인해 조용히 무시되지 않도록 합니다.
+ *
+ *  - datasource.replica.urls : 복제본 없이 빌드한 결과물에 설정하면 DataSourceRoutingConfig가 빠져 있으므로 실패
+ *                              (반대로 복제본을 설정해 빌드하고 실행 시 빼면 ${datasource.replica.urls} 해석 실패로 기동 실패)
+ */
+@Component
+public class AotPropertyGuard implements SmartInitializingSingleton {
+
+    private final Environment environment;
+    private final ObjectProvider<ReplicaRoutingDataSource> replicaRoutingDataSource;
+
+    public AotPropertyGuard(Environment environment, ObjectProvider<ReplicaRoutingDataSource> replicaRoutingDataSource) {
+        this.environment = environment;
+        this.replicaRoutingDataSource = replicaRoutingDataSource;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!AotDetector.useGeneratedArtifacts()) {
+            return;
+        }
+        if (StringUtils.hasText(environment.getProperty("datasource.replica.urls"))
+                && replicaRoutingDataSource.getIfAvailable() == null) {
+            throw new IllegalStateException("datasource.replica.urls가 설정되었지만 이 AOT 빌드에는 읽기 복제본 라우팅이 없습니다. "
+                    + "복제본 설정(DATASOURCE_REPLICA_URLS)을 둔 상태로 다시 빌드하세요. (./mvnw -Pprod package)");
+        }
+    }
+}
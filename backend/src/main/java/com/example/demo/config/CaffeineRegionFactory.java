@@ -0,0 +1,139 @@
+package com.example.demo.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.hibernate.boot.spi.SessionFactoryOptions;
+import org.hibernate.cache.cfg.spi.DomainDataRegionBuildingContext;
+import org.hibernate.cache.cfg.spi.DomainDataRegionConfig;
+import org.hibernate.cache.spi.access.AccessType;
+import org.hibernate.cache.spi.support.DomainDataStorageAccess;
+import org.hibernate.cache.spi.support.RegionFactoryTemplate;
+import org.hibernate.cache.spi.support.StorageAccess;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Hibernate 2차 캐시 RegionFactory (노드 로컬 Caffeine, 영역별 크기 제한 + TTL)
+ *
+ * hibernate.cache.region.factory_class로 지정하면 Hibernate가 직접 생성합니다. (Spring 빈 아님)
+ * 캐시는 노드마다 따로 있으므로 다른 노드의 변경은 UserEntityCacheInvalidator(pub/sub)로 지우고,
+ * 메시지가 유실되면 TTL이 최대 불일치 시간의 상한이 됩니다.
+ *
+ *  - hibernate.cache.caffeine.max-entries : 영역(region)당 최대 엔트리 수
+ *  - hibernate.cache.caffeine.ttl-seconds : 저장 후 만료 시간
+ *  - timestamps 영역(쿼리 캐시용)은 제거되면 오래된 쿼리 결과가 보일 수 있으므로 제한 없음
+ */
+public class CaffeineRegionFactory extends RegionFactoryTemplate {
+
+    public static final String MAX_ENTRIES = "hibernate.cache.caffeine.max-entries";
+    public static final String TTL_SECONDS = "hibernate.cache.caffeine.ttl-seconds";
+
+    private final Map<String, CaffeineStorageAccess> regions = new ConcurrentHashMap<>();
+    private long maxEntries = 10_000L;
+    private long ttlSeconds = 60L;
+
+    @Override
+    protected void prepareForUse(SessionFactoryOptions settings, Map<String, Object> configValues) {
+        this.maxEntries = longSetting(configValues, MAX_ENTRIES, maxEntries);
+        this.ttlSeconds = longSetting(configValues, TTL_SECONDS, ttlSeconds);
+    }
+
+    @Override
+    protected void releaseFromUse() {
+        regions.values().forEach(CaffeineStorageAccess::release);
+        regions.clear();
+    }
+
+    @Override
+    public AccessType getDefaultAccessType() {
+        return AccessType.READ_WRITE;
+    }
+
+    @Override
+    protected DomainDataStorageAccess createDomainDataStorageAccess(DomainDataRegionConfig regionConfig,
+                                                                    DomainDataRegionBuildingContext buildingContext) {
+        return register(regionConfig.getRegionName(), Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build());
+    }
+
+    @Override
+    protected StorageAccess createQueryResultsRegionStorageAccess(String regionName, SessionFactoryImplementor sessionFactory) {
+        return register(regionName, Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build());
+    }
+
+    @Override
+    protected StorageAccess createTimestampsRegionStorageAccess(String regionName, SessionFactoryImplementor sessionFactory) {
+        return register(regionName, Caffeine.newBuilder().build());
+    }
+
+
+    /**
+     * 영역의 현재 엔트리 수 (지표용, 없는 영역이면 0)
+     */
+    public long estimatedSize(String regionName) {
+        CaffeineStorageAccess storage = regions.get(regionName);
+        return storage == null ? 0L : storage.cache.estimatedSize();
+    }
+
+    private CaffeineStorageAccess register(String regionName, Cache<Object, Object> cache) {
+        CaffeineStorageAccess storage = new CaffeineStorageAccess(cache);
+        regions.put(regionName, storage);
+        return storage;
+    }
+
+    private static long longSetting(Map<String, Object> configValues, String name, long defaultValue) {
+        Object value = configValues.get(name);
+        return value == null ? defaultValue : Long.parseLong(value.toString().trim());
+    }
+
+
+    // 영역 하나의 저장소 (동시성 제어/soft lock은 Hibernate의 접근 전략이 처리)
+    private static final class CaffeineStorageAccess implements DomainDataStorageAccess {
+
+        private final Cache<Object, Object> cache;
+
+        private CaffeineStorageAccess(Cache<Object, Object> cache) {
+            this.cache = cache;
+        }
+
+        @Override
+        public Object getFromCache(Object key, SharedSessionContractImplementor session) {
+            return cache.getIfPresent(key);
+        }
+
+        @Override
+        public void putIntoCache(Object key, Object value, SharedSessionContractImplementor session) {
+            cache.put(key, value);
+        }
+
+        @Override
+        public boolean contains(Object key) {
+            return cache.getIfPresent(key) != null;
+        }
+
+        @Override
+        public void evictData() {
+            cache.invalidateAll();
+        }
+
+        @Override
+        public void evictData(Object key) {
+            cache.invalidate(key);
+        }
+
+        @Override
+        public void release() {
+            cache.invalidateAll();
+            cache.cleanUp();
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.example.demo.config;
+
+import com.example.demo.security.CustomUserDetails;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 읽기 복제본 라우팅 설정 (datasource.replica.urls가 있을 때만 활성화, 없으면 기존처럼 primary 하나만 사용)
+ * AOT 빌드(-Pprod)에서는 이 판단이 빌드 시점에 고정됨 -> 복제본 없이 빌드한 결과물에 설정하면 AotPropertyGuard가 기동 실패 처리
+ *
+ *  - primary  : spring.datasource.* (+ spring.datasource.hikari.*)
+ *  - replicas : datasource.replica.urls (쉼표 구분), 계정은 datasource.replica.username/password (없으면 primary 계정)
+ *  - JPA/트랜잭션은 LazyConnectionDataSourceProxy(ReplicaRoutingDataSource)를 사용
+ *  - 지연 측정은 ReplicaLagMonitor 전용 스레드에서 실행 (@Scheduled 공용 스레드를 막지 않고, 기동도 기다리지 않음)
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(prefix = "datasource.replica", name = "urls")
+public class DataSourceRoutingConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(
+            HikariDataSource primaryDataSource,
+            DataSourceProperties properties,
+            MeterRegistry meterRegistry,
+            @Value("${datasource.replica.urls}") List<String> replicaUrls,
+            @Value("${datasource.replica.username:${spring.datasource.username:}}") String username,
+            @Value("${datasource.replica.password:${spring.datasource.password:}}") String password,
+            @Value("${datasource.replica.maximum-pool-size:10}") int maximumPoolSize,
+            @Value("${datasource.replica.lag-query:" + PG_LAG_QUERY + "}") String lagQuery,
+            @Value("${datasource.replica.max-lag-ms:1000}") long maxLagMillis,
+            @Value("${datasource.replica.lag-check-interval-ms:1000}") long lagCheckIntervalMillis,
+            @Value("${datasource.replica.connection-timeout-ms:1000}") long connectionTimeoutMillis,
+            @Value("${datasource.replica.read-your-writes-ms:5000}") long readYourWritesMillis) {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (int i = 0; i < replicaUrls.size(); i++) {
+            HikariDataSource replica = new HikariDataSource();
+            replica.setPoolName("replica-" + i);
+            replica.setJdbcUrl(replicaUrls.get(i).trim());
+            replica.setUsername(username);
+            replica.setPassword(password);
+            replica.setDriverClassName(properties.determineDriverClassName());
+            replica.setMaximumPoolSize(maximumPoolSize);
+            // 내려간 복제본에서 측정/읽기가 Hikari 기본값(30초)만큼 기다리지 않도록
+            replica.setConnectionTimeout(connectionTimeoutMillis);
+            replica.setReadOnly(true);
+            replicas.put(replica.getPoolName(), replica);
+        }
+
+        // 측정이 STALE_PROBE_INTERVALS 주기 넘게 성공하지 못한 복제본은 제외
+        // 첫 측정 전까지는 모든 복제본이 제외 상태이므로 기동 중 측정을 기다리지 않음
+        return new ReplicaRoutingDataSource(primaryDataSource, replicas, DataSourceRoutingConfig::currentUserId,
+                meterRegistry, lagQuery, maxLagMillis, lagCheckIntervalMillis * STALE_PROBE_INTERVALS,
+                readYourWritesMillis);
+    }
+
+
+    /**
+     * 애플리케이션이 사용하는 DataSource
+     * 커넥션을 첫 SQL 실행 시점에 얻도록 지연시켜, 트랜잭션의 읽기 전용 여부가 정해진 뒤 라우팅되게 합니다.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+
+
+    /** 복제 지연 측정 (datasource.replica.lag-check-interval-ms 주기, 전용 스레드) */
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(ReplicaRoutingDataSource replicaRoutingDataSource,
+                                               @Value("${datasource.replica.lag-check-interval-ms:1000}") long intervalMillis) {
+        return new ReplicaLagMonitor(replicaRoutingDataSource, intervalMillis);
+    }
+
+    public static class ReplicaLagMonitor {
+
+        private final ReplicaRoutingDataSource replicaRoutingDataSource;
+        private final ScheduledExecutorService executor;
+
+        // 첫 측정도 이 스레드에서 바로 시작 (빈 생성/기동을 막지 않음)
+        ReplicaLagMonitor(ReplicaRoutingDataSource replicaRoutingDataSource, long intervalMillis) {
+            this.replicaRoutingDataSource = replicaRoutingDataSource;
+            this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "replica-lag-monitor");
+                thread.setDaemon(true);
+                return thread;
+            });
+            this.executor.scheduleWithFixedDelay(this::refresh, 0L, intervalMillis, TimeUnit.MILLISECONDS);
+        }
+
+        public void refresh() {
+            try {
+                replicaRoutingDataSource.refreshReplicaLag();
+            } catch (RuntimeException e) {
+                // 예외가 나가면 이후 실행이 취소되므로 삼킴 (측정 실패 복제본은 오래된 측정으로 제외됨)
+                log.warn("복제 지연 측정 실패: {}", e.toString());
+            }
+        }
+
+        @PreDestroy
+        void shutdown() {
+            executor.shutdownNow();
+        }
+    }
+
+
+    // 마지막 성공 측정이 이 주기 수보다 오래되면 복제본 제외
+    private static final int STALE_PROBE_INTERVALS = 3;
+
+
+    // PostgreSQL 스트리밍 복제 지연(ms), 받은 WAL을 모두 적용했으면 0 (쓰기가 없는 동안 지연이 커 보이지 않도록)
+    // WAL 수신이 끊기면 받은/적용한 LSN이 같은 값에 멈춰 0으로 보이므로, 스트리밍 중이 아니면 NULL(측정 불가 -> 제외)
+    // (status는 pg_read_all_stats 권한이 있어야 보이고, 없으면 WAL 수신 프로세스가 있는지만 확인)
+    static final String PG_LAG_QUERY = "SELECT CASE WHEN NOT EXISTS (SELECT 1 FROM pg_stat_wal_receiver "
+            + "WHERE pid IS NOT NULL AND COALESCE(status, 'streaming') = 'streaming') THEN NULL "
+            + "WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 "
+            + "ELSE CAST(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000 AS BIGINT) END";
+
+    // 인증된 요청의 사용자 ID (read-your-writes 판단용)
+    private static Long currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof CustomUserDetails userDetails) {
+            return userDetails.getId();
+        }
+        return null;
+    }
+}
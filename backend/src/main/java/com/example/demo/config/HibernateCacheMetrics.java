@@ -0,0 +1,63 @@
+package com.example.demo.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Component;
+
+/**
+ * Hibernate 2차 캐시 영역별 지표 (hibernate.generate_statistics=true 필요)
+ *
+ *  - hibernate.cache.gets{region, result=hit|miss}, hibernate.cache.puts{region}
+ *  - hibernate.cache.size{region} (CaffeineRegionFactory 영역의 현재 엔트리 수)
+ *  - hibernate.cache.natural-id.gets{result=hit|miss} (email -> id 해석)
+ */
+@Component
+public class HibernateCacheMetrics implements MeterBinder {
+
+    private final SessionFactoryImplementor sessionFactory;
+
+    public HibernateCacheMetrics(EntityManagerFactory entityManagerFactory) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Statistics statistics = sessionFactory.getStatistics();
+        if (!statistics.isStatisticsEnabled()) {
+            return;
+        }
+
+        for (String region : statistics.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics regionStatistics = statistics.getDomainDataRegionStatistics(region);
+            FunctionCounter.builder("hibernate.cache.gets", regionStatistics, CacheRegionStatistics::getHitCount)
+                    .tag("region", region)
+                    .tag("result", "hit")
+                    .register(registry);
+            FunctionCounter.builder("hibernate.cache.gets", regionStatistics, CacheRegionStatistics::getMissCount)
+                    .tag("region", region)
+                    .tag("result", "miss")
+                    .register(registry);
+            FunctionCounter.builder("hibernate.cache.puts", regionStatistics, CacheRegionStatistics::getPutCount)
+                    .tag("region", region)
+                    .register(registry);
+            if (sessionFactory.getCache().getRegionFactory() instanceof CaffeineRegionFactory regionFactory) {
+                Gauge.builder("hibernate.cache.size", regionFactory, factory -> factory.estimatedSize(region))
+                        .tag("region", region)
+                        .register(registry);
+            }
+        }
+
+        FunctionCounter.builder("hibernate.cache.natural-id.gets", statistics, Statistics::getNaturalIdCacheHitCount)
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("hibernate.cache.natural-id.gets", statistics, Statistics::getNaturalIdCacheMissCount)
+                .tag("result", "miss")
+                .register(registry);
+    }
+}
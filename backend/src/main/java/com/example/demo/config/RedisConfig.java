@@ -1,25 +1,122 @@
 package com.example.demo.config;
 
+import com.example.demo.dto.users.ProfileResponseCodec;
+import com.example.demo.util.CompactRedisSerializer;
+import io.lettuce.core.ClientOptions;
+import io.lettuce.core.SocketOptions;
+import io.lettuce.core.resource.ClientResources;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.data.redis.RedisProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisPassword;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
+import java.time.Duration;
+import java.util.List;
+
 @Configuration
 public class RedisConfig {
 
+    /**
+     * 캐시 값 직렬화기 : 등록된 타입은 바이너리(CompactRedisSerializer), 그 외/구 형식은 JSON
+     *
+     * 새 캐시 타입은 CompactCodec을 구현해 목록에 추가합니다.
+     *
+     * @param compressThreshold 이 크기(바이트) 이상인 값만 압축
+     */
+    @Bean
+    public RedisSerializer<Object> redisValueSerializer(@Value("${redis.serializer.compress-threshold:512}") int compressThreshold) {
+        return new CompactRedisSerializer(List.of(new ProfileResponseCodec()),
+                new GenericJackson2JsonRedisSerializer(), compressThreshold);
+    }
+
+
+    /**
+     * 서킷 브레이커(RedisCircuitBreaker)를 거치는 호출 전용 커넥션 팩토리
+     *
+     * 명령 타임아웃을 redis.breaker.call-timeout-ms로 둔 별도 커넥션이라, 응답이 이 시간 안에 오지 않으면
+     * 호출 스레드에 QueryTimeoutException이 납니다. (브레이커는 호출자 스레드에서 그대로 실행)
+     * 기본 커넥션(spring.data.redis.timeout)을 쓰는 다른 경로(블랙리스트 재구성, pub/sub, 비동기 작업)에는 영향 없음
+     *
+     * defaultCandidate = false : 이름으로 지정한 곳에만 주입 (Spring Boot 기본 Redis 빈 구성은 그대로 유지)
+     *
+     * @param properties        spring.data.redis.* (호스트, 포트, 계정, SSL)
+     * @param clientResources   기본 커넥션과 공유하는 Lettuce 스레드/이벤트 루프
+     * @param callTimeoutMillis 명령 타임아웃(ms)
+     */
+    @Bean(defaultCandidate = false)
+    public LettuceConnectionFactory breakerRedisConnectionFactory(RedisProperties properties,
+                                                                  ClientResources clientResources,
+                                                                  @Value("${redis.breaker.call-timeout-ms:100}") long callTimeoutMillis) {
+        RedisStandaloneConfiguration server = new RedisStandaloneConfiguration(properties.getHost(), properties.getPort());
+        server.setDatabase(properties.getDatabase());
+        server.setUsername(properties.getUsername());
+        server.setPassword(RedisPassword.of(properties.getPassword()));
+
+        LettuceClientConfiguration.LettuceClientConfigurationBuilder client = LettuceClientConfiguration.builder()
+                .clientResources(clientResources)
+                .commandTimeout(Duration.ofMillis(callTimeoutMillis));
+        if (properties.getConnectTimeout() != null) {
+            client.clientOptions(ClientOptions.builder()
+                    .socketOptions(SocketOptions.builder().connectTimeout(properties.getConnectTimeout()).build())
+                    .build());
+        }
+        if (properties.getSsl().isEnabled()) {
+            client.useSsl();
+        }
+        return new LettuceConnectionFactory(server, client.build());
+    }
+
+    /** 브레이커 전용 RedisTemplate (redisTemplate과 같은 직렬화, 커넥션만 breakerRedisConnectionFactory) */
+    @Bean(defaultCandidate = false)
+    public RedisTemplate<String, Object> breakerRedisTemplate(
+            @Qualifier("breakerRedisConnectionFactory") RedisConnectionFactory connectionFactory,
+            RedisSerializer<Object> redisValueSerializer) {
+        // redisTemplate()을 호출하면 설정 프록시가 기존 redisTemplate 빈을 돌려주므로 직접 구성
+        RedisTemplate<String, Object> redisTemplate = new RedisTemplate<>();
+        redisTemplate.setConnectionFactory(connectionFactory);
+        redisTemplate.setKeySerializer(new StringRedisSerializer());
+        redisTemplate.setValueSerializer(redisValueSerializer);
+        redisTemplate.setHashKeySerializer(new StringRedisSerializer());
+        redisTemplate.setHashValueSerializer(redisValueSerializer);
+        redisTemplate.afterPropertiesSet();
+        return redisTemplate;
+    }
+
+    /** 브레이커 전용 StringRedisTemplate */
+    @Bean(defaultCandidate = false)
+    public StringRedisTemplate breakerStringRedisTemplate(
+            @Qualifier("breakerRedisConnectionFactory") RedisConnectionFactory connectionFactory) {
+        return new StringRedisTemplate(connectionFactory);
+    }
+
+
     /**
      * RedisTemplate Bean : Redis 서버와 상호작용 Config
      * 
      * key와 value의 직렬화 방식을 지정하여 Redis에 데이터를 저장하고 읽을 때 일관성을 유지합니다.
      *
      * @param connectionFactory Redis 서버와의 연결을 관리하는 팩토리
+     * @param redisValueSerializer 캐시 값 직렬화기
      * @return 설정된 RedisTemplate 인스턴스
      */
     @Bean
-    public RedisTemplate<String, Object> redisTemplate(RedisConnectionFactory connectionFactory) {
+    public RedisTemplate<String, Object> redisTemplate(RedisConnectionFactory connectionFactory,
+                                                       RedisSerializer<Object> redisValueSerializer) {
         RedisTemplate<String, Object> redisTemplate = new RedisTemplate<>();
 
         // 생성된 RedisTemplate에 Redis 서버와 연결을 담당할 ConnectionFactory 주입
@@ -30,15 +127,59 @@ public class RedisConfig {
         // Key 직렬화 - Redis키를 String 타입으로 저장 및 읽기
         redisTemplate.setKeySerializer(new StringRedisSerializer());
 
-        // Value 직렬화 - Redis값을 Object 타입으로 저장(자바 객체 JSON 형태로 직렬화)
-        redisTemplate.setValueSerializer(new GenericJackson2JsonRedisSerializer());
+        // Value 직렬화 - 등록된 타입은 바이너리, 그 외는 JSON (redisValueSerializer)
+        redisTemplate.setValueSerializer(redisValueSerializer);
 
         // Hash Key와 Hash Value도 직렬화 방식
         redisTemplate.setHashKeySerializer(new StringRedisSerializer());
-        redisTemplate.setHashValueSerializer(new GenericJackson2JsonRedisSerializer());
+        redisTemplate.setHashValueSerializer(redisValueSerializer);
         
         redisTemplate.afterPropertiesSet(); // 모든 속성이 설정된 후 초기화를 수행합니다.
         
         return redisTemplate;
     }
-}
\ No newline at end of file
+
+
+    /**
+     * ReactiveRedisTemplate Bean : Lettuce 비동기(논블로킹) 클라이언트 기반 RedisTemplate
+     *
+     * redisTemplate과 같은 직렬화 방식을 사용하므로 두 템플릿이 같은 키/값을 읽고 쓸 수 있습니다.
+     * 요청 스레드를 막지 않고, 동시에 보낸 명령은 하나의 커넥션에서 파이프라인으로 전송됩니다.
+     * (Spring Boot 기본 reactiveRedisTemplate(JDK 직렬화)을 대체)
+     *
+     * @param connectionFactory Redis 서버와의 연결을 관리하는 팩토리 (LettuceConnectionFactory)
+     * @param redisValueSerializer 캐시 값 직렬화기
+     * @return 설정된 ReactiveRedisTemplate 인스턴스
+     */
+    @Bean
+    public ReactiveRedisTemplate<String, Object> reactiveRedisTemplate(ReactiveRedisConnectionFactory connectionFactory,
+                                                                       RedisSerializer<Object> redisValueSerializer) {
+        StringRedisSerializer keySerializer = new StringRedisSerializer();
+
+        RedisSerializationContext<String, Object> serializationContext = RedisSerializationContext
+                .<String, Object>newSerializationContext(keySerializer)
+                .value(redisValueSerializer)
+                .hashKey(keySerializer)
+                .hashValue(redisValueSerializer)
+                .build();
+
+        return new ReactiveRedisTemplate<>(connectionFactory, serializationContext);
+    }
+
+
+    /**
+     * Redis pub/sub 메시지 리스너 컨테이너
+     * 
+     * 노드 간 로컬 캐시/필터 동기화 이벤트(블랙리스트 추가 등)를 수신하는 데 사용합니다.
+     * 각 컴포넌트가 addMessageListener()로 자신의 채널을 등록합니다.
+     *
+     * @param connectionFactory Redis 서버와의 연결을 관리하는 팩토리
+     * @return 리스너 컨테이너
+     */
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory connectionFactory) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        return container;
+    }
+}
\ No newline at end of file
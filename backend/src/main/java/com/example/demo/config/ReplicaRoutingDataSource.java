@@ -0,0 +1,257 @@
+package com.example.demo.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * 읽기 전용 트랜잭션을 복제본(replica)으로 보내는 라우팅 DataSource
+ *
+ * 트랜잭션의 읽기 전용 여부는 커넥션을 실제로 얻는 시점에야 확정되므로
+ * 반드시 LazyConnectionDataSourceProxy로 감싸서 사용합니다. (DataSourceRoutingConfig)
+ *
+ *  - 라우팅      : @Transactional(readOnly = true) -> 정상 복제본 중 라운드 로빈, 그 외 -> primary
+ *  - 복제 지연    : 주기적으로 복제본별 지연(ms)을 측정해 maxLagMillis를 넘거나 측정에 실패한 복제본은 제외
+ *                  마지막 성공 측정이 staleProbeMillis보다 오래되었으면(측정이 멈춤/밀림) 그 값도 믿지 않고 제외
+ *  - read-your-writes : 사용자가 쓰기 트랜잭션을 커밋한 뒤 readYourWritesMillis 동안은 그 사용자의 읽기도 primary
+ *                      (노드 로컬 기록, 다른 노드로 간 요청은 복제 지연 한도까지만 보장)
+ *  - 자동 대체    : 정상 복제본이 없거나 커넥션 획득에 실패하면 primary (실패한 복제본은 다음 측정까지 제외)
+ *  - 지표        : datasource.routing{route=primary|replica, reason=...}, datasource.replica.lag{replica=...}
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    static final String PRIMARY = "primary";
+
+    private final List<Replica> replicas = new ArrayList<>();
+    private final AtomicInteger next = new AtomicInteger();
+    private final Supplier<Long> currentUserId;
+    private final String lagQuery;
+    private final long maxLagMillis;
+    private final long staleProbeMillis;
+    private final Cache<Long, Boolean> recentWriters;
+
+    private final Counter primaryForWrite;
+    private final Counter primaryForReadYourWrites;
+    private final Counter primaryForNoHealthyReplica;
+    private final Counter primaryForReplicaError;
+    private final Counter replicaReads;
+
+    /**
+     * @param primary              쓰기/대체용 DataSource
+     * @param replicaDataSources   복제본 이름 -> DataSource
+     * @param currentUserId        현재 요청의 사용자 ID (인증 전이면 null)
+     * @param lagQuery             복제 지연(ms)을 숫자 하나로 돌려주는 쿼리 (행이 없거나 NULL이면 측정 불가로 보고 제외)
+     * @param maxLagMillis         이 지연을 넘은 복제본은 읽기에서 제외
+     * @param staleProbeMillis     마지막 성공 측정이 이보다 오래된 복제본은 읽기에서 제외
+     * @param readYourWritesMillis 쓰기 커밋 후 그 사용자의 읽기를 primary로 보내는 시간
+     */
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicaDataSources,
+                                    Supplier<Long> currentUserId, MeterRegistry meterRegistry,
+                                    String lagQuery, long maxLagMillis, long staleProbeMillis,
+                                    long readYourWritesMillis) {
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        replicaDataSources.forEach((name, dataSource) -> {
+            targets.put(name, dataSource);
+            Replica replica = new Replica(name, dataSource);
+            replicas.add(replica);
+            Gauge.builder("datasource.replica.lag", replica, r -> r.lagMillis)
+                    .tag("replica", name)
+                    .baseUnit("milliseconds")
+                    .register(meterRegistry);
+        });
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+
+        this.currentUserId = currentUserId;
+        this.lagQuery = lagQuery;
+        this.maxLagMillis = maxLagMillis;
+        this.staleProbeMillis = staleProbeMillis;
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMillis(readYourWritesMillis))
+                .build();
+
+        this.primaryForWrite = routing(meterRegistry, PRIMARY, "write");
+        this.primaryForReadYourWrites = routing(meterRegistry, PRIMARY, "read-your-writes");
+        this.primaryForNoHealthyReplica = routing(meterRegistry, PRIMARY, "no-healthy-replica");
+        this.primaryForReplicaError = routing(meterRegistry, PRIMARY, "replica-error");
+        this.replicaReads = routing(meterRegistry, "replica", "read-only");
+    }
+
+
+    /**
+     * 복제본 커넥션 획득에 실패하면 해당 복제본을 제외하고 primary로 대체합니다.
+     */
+    @Override
+    public Connection getConnection() throws SQLException {
+        Object key = determineCurrentLookupKey();
+        if (PRIMARY.equals(key)) {
+            return getPrimary().getConnection();
+        }
+        Replica replica = (Replica) key;
+        try {
+            return replica.dataSource.getConnection();
+        } catch (SQLException e) {
+            markUnhealthy(replica, e);
+            primaryForReplicaError.increment();
+            return getPrimary().getConnection();
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return getConnection();
+    }
+
+
+    /**
+     * 복제본별 지연을 측정해 읽기 대상 여부를 갱신합니다. (ReplicaLagMonitor 전용 스레드에서 주기 실행)
+     */
+    public void refreshReplicaLag() {
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.dataSource.getConnection();
+                 Statement statement = connection.createStatement()) {
+                statement.setQueryTimeout((int) Math.max(1L, TimeUnit.MILLISECONDS.toSeconds(staleProbeMillis)));
+                long lagMillis = Long.MAX_VALUE;
+                try (ResultSet resultSet = statement.executeQuery(lagQuery)) {
+                    if (resultSet.next()) {
+                        long measured = resultSet.getLong(1);
+                        // NULL(예: WAL 수신이 스트리밍 중이 아님)은 측정 불가 -> 제외
+                        if (!resultSet.wasNull()) {
+                            lagMillis = measured;
+                        }
+                    }
+                }
+                replica.lagMillis = lagMillis;
+                replica.probedAtMillis = System.currentTimeMillis();
+                boolean healthy = lagMillis <= maxLagMillis;
+                if (healthy != replica.healthy) {
+                    log.info("복제본 {} {} (지연 {}ms)", replica.name, healthy ? "읽기 재개" : "읽기 제외", lagMillis);
+                }
+                replica.healthy = healthy;
+            } catch (SQLException e) {
+                markUnhealthy(replica, e);
+            }
+        }
+    }
+
+
+    /**
+     * 사용자의 쓰기를 기록합니다. 이후 readYourWritesMillis 동안 그 사용자의 읽기는 primary로 갑니다.
+     */
+    public void markWrite(Long userId) {
+        recentWriters.put(userId, Boolean.TRUE);
+    }
+
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        Long userId = currentUserId.get();
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            primaryForWrite.increment();
+            registerWriteAfterCommit(userId);
+            return PRIMARY;
+        }
+        if (userId != null && recentWriters.getIfPresent(userId) != null) {
+            primaryForReadYourWrites.increment();
+            return PRIMARY;
+        }
+
+        Replica replica = pickHealthyReplica();
+        if (replica == null) {
+            primaryForNoHealthyReplica.increment();
+            return PRIMARY;
+        }
+        replicaReads.increment();
+        return replica;
+    }
+
+    @Override
+    protected DataSource determineTargetDataSource() {
+        Object key = determineCurrentLookupKey();
+        return key instanceof Replica replica ? replica.dataSource : getPrimary();
+    }
+
+
+    // 라운드 로빈으로 정상 복제본 선택 (모두 제외 상태면 null)
+    private Replica pickHealthyReplica() {
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), Math.max(size, 1));
+        long staleBefore = System.currentTimeMillis() - staleProbeMillis;
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (replica.healthy && replica.probedAtMillis >= staleBefore) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    // 쓰기 트랜잭션이 커밋되면 read-your-writes 기록 (롤백이면 기록하지 않음)
+    private void registerWriteAfterCommit(Long userId) {
+        if (userId == null || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                markWrite(userId);
+            }
+        });
+    }
+
+    private void markUnhealthy(Replica replica, SQLException e) {
+        if (replica.healthy) {
+            log.warn("복제본 {} 읽기 제외: {}", replica.name, e.toString());
+        }
+        replica.healthy = false;
+        replica.lagMillis = -1L;
+    }
+
+    private DataSource getPrimary() {
+        return getResolvedDefaultDataSource();
+    }
+
+    private static Counter routing(MeterRegistry meterRegistry, String route, String reason) {
+        return Counter.builder("datasource.routing")
+                .tag("route", route)
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    // 첫 지연 측정 전까지는 제외 상태 (기동 직후 지연된 복제본으로 읽지 않도록)
+    private static final class Replica {
+        private final String name;
+        private final DataSource dataSource;
+        private volatile boolean healthy = false;
+        private volatile long lagMillis = -1L;
+        private volatile long probedAtMillis = 0L; // 마지막 성공 측정 시각
+
+        private Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.example.demo.config;
 
 import com.example.demo.security.JwtAuthenticationFilter;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
@@ -42,9 +43,13 @@ public class SecurityConfig {
         "/webjars/**"
     };
 
+    // BCrypt cost (log rounds). 값을 올리면 다음 로그인 시 기존 해시가 자동으로 재해시됨
+    @Value("${security.password.bcrypt-strength:10}")
+    private int bcryptStrength;
+
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        return new BCryptPasswordEncoder(bcryptStrength);
     }
 
     @Bean
@@ -87,6 +92,8 @@ public class SecurityConfig {
                 .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll() 
                 // 공개 URLS에 정의된 경로들은 인증 없이 접근 허용
                 .requestMatchers(PUBLIC_URLS).permitAll()
+                // 관리자 API는 ROLE_ADMIN만 접근 허용
+                .requestMatchers("/api/admin/**").hasRole("ADMIN")
                 // 그 외 모든 요청은 인증된 사용자만 접근 허용
                 .anyRequest().authenticated()
             )
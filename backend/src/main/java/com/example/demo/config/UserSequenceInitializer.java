@@ -0,0 +1,78 @@
+package com.example.demo.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+
+/**
+ * ddl-auto로 스키마를 관리하는 로컬/개발 DB의 users_seq 보정 (운영은 Flyway V2가 같은 setval 수행)
+ *
+ * User.id가 IDENTITY에서 users_seq(allocationSize = 50)로 바뀌면서, 기존 DB에는 ddl-auto가 1부터 시작하는
+ * 시퀀스를 새로 만듭니다. 그대로 두면 새 가입이 기존 ID와 PK 충돌하므로, 시퀀스가 다음에 돌려줄 값이
+ * max(id) + 50 미만이면 그 값으로 올립니다. (pooled optimizer는 nextval 값을 블록의 끝으로 사용, 내리지는 않음)
+ *
+ * 모든 싱글톤 생성 직후(EntityManagerFactory의 스키마 갱신 이후, 웹 서버가 요청을 받기 전)에 실행됩니다.
+ * PostgreSQL에서만 동작하고 H2(dev 프로필, 인메모리)는 항상 새 DB이므로 건너뜁니다.
+ *
+ * user.sequence-align.enabled(기본 off, 로컬 application.properties에서만 켬)가 켜져 있고 Flyway가 꺼져 있을 때만 실행합니다.
+ * 빌드 중 CDS 학습 실행(-Pprod, spring.context.exit=onRefresh)은 DB에 접근하면 안 되므로 spring.context.exit가 있으면 항상 건너뜁니다.
+ * AOT 빌드에서도 판단이 바뀌도록 @ConditionalOnProperty 대신 실행 시점에 확인합니다.
+ */
+@Slf4j
+@Component
+public class UserSequenceInitializer implements SmartInitializingSingleton {
+
+    private static final long ALLOCATION_SIZE = 50;
+
+    private final DataSource dataSource;
+    private final boolean enabled;
+    private final boolean flywayEnabled;
+    private final String contextExit;
+
+    public UserSequenceInitializer(DataSource dataSource,
+                                   @Value("${user.sequence-align.enabled:false}") boolean enabled,
+                                   @Value("${spring.flyway.enabled:true}") boolean flywayEnabled,
+                                   @Value("${spring.context.exit:}") String contextExit) {
+        this.dataSource = dataSource;
+        this.enabled = enabled;
+        this.flywayEnabled = flywayEnabled;
+        this.contextExit = contextExit;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!enabled || flywayEnabled || StringUtils.hasText(contextExit) || !isPostgres()) {
+            return;
+        }
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        Long maxId = jdbc.queryForObject("SELECT COALESCE(MAX(id), 0) FROM users", Long.class);
+        // is_called면 다음 nextval은 last_value + increment, 아니면 last_value 그대로
+        Long nextValue = jdbc.queryForObject(
+                "SELECT CASE WHEN is_called THEN last_value + " + ALLOCATION_SIZE + " ELSE last_value END FROM users_seq",
+                Long.class);
+        long required = maxId + ALLOCATION_SIZE;
+        if (nextValue != null && nextValue >= required) {
+            return;
+        }
+        jdbc.queryForObject("SELECT setval('users_seq', ?, false)", Long.class, required);
+        log.info("users_seq 보정: 다음 값 {} -> {} (max(id) = {})", nextValue, required, maxId);
+    }
+
+    private boolean isPostgres() {
+        try {
+            String product = JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName);
+            return "PostgreSQL".equals(product);
+        } catch (MetaDataAccessException e) {
+            log.warn("DB 종류 확인 실패, users_seq 보정을 건너뜀: {}", e.toString());
+            return false;
+        }
+    }
+}
@@ -0,0 +1,256 @@
+package com.example.demo.config;
+
+import com.example.demo.common.ApiResponse;
+import com.example.demo.domain.Gender;
+import com.example.demo.domain.UserRole;
+import com.example.demo.dto.auth.AuthResponseDto;
+import com.example.demo.dto.users.ProfileResponse;
+import com.example.demo.dto.users.UserInfoDetailsResponse;
+import com.example.demo.repository.UserRepository;
+import com.example.demo.security.PasswordHasher;
+import com.example.demo.util.JwtUtils;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 기동 직후 워밍업 (JIT 컴파일, 쿼리 계획/커넥션, 직렬화기 캐시를 트래픽 전에 준비)
+ *
+ * ApplicationRunner는 ApplicationReadyEvent 전에 실행되므로, 워밍업이 끝나거나 제한 시간이 지날 때까지
+ * readiness 상태는 REFUSING_TRAFFIC (/actuator/health/readiness = OUT_OF_SERVICE)로 유지되고
+ * 로드 밸런서가 트래픽을 보내지 않습니다.
+ *
+ * 모든 반복은 부작용이 없는 호출만 사용합니다. (DB/Redis 쓰기 없음)
+ *  - 토큰      : Access Token 생성 + 검증 (서명을 바꾼 토큰의 검증 실패 경로 포함)
+ *  - 직렬화    : ApiResponse로 감싼 주요 응답 DTO의 JSON 직렬화
+ *  - DB       : 존재하지 않는 ID/email로 읽기 전용 프로젝션/엔티티 조회
+ *  - BCrypt   : PasswordHasher.matches (해시 전용 풀 경유, 비용이 크므로 bcrypt-iterations회만)
+ *  - 필터 체인 : 로컬 서버에 인증 없음/잘못된 토큰 요청 (JwtAuthenticationFilter -> 401)
+ *  - 지표      : app.warmup (Timer, outcome=completed|timeout|failed)
+ *
+ * warmup.enabled는 @ConditionalOnProperty 대신 실행 시점에 확인합니다. (AOT 빌드에서도 실행 시 끄고 켤 수 있도록)
+ */
+@Slf4j
+@Component
+public class WarmUpRunner implements ApplicationRunner {
+
+    private static final String WARMUP_EMAIL = "warmup@warmup.invalid";
+    // 실제 사용자와 겹치지 않는 ID (Hs256FastVerifier가 처리하는 18자리 이내 양수 -> 빠른 검증 경로도 워밍업)
+    private static final Long WARMUP_USER_ID = 999_999_999_999_999_999L;
+
+    private final JwtUtils jwtUtils;
+    private final ObjectMapper objectMapper;
+    private final UserRepository userRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final PasswordHasher passwordHasher;
+    private final Environment environment;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final int iterations;
+    private final int bcryptIterations;
+    private final long timeoutMillis;
+
+    // 제한 시간이 지나면 워밍업 스레드가 다음 반복 전에 멈추도록 표시
+    private volatile boolean stopped;
+
+    public WarmUpRunner(JwtUtils jwtUtils,
+                        ObjectMapper objectMapper,
+                        UserRepository userRepository,
+                        TransactionTemplate transactionTemplate,
+                        PasswordHasher passwordHasher,
+                        Environment environment,
+                        MeterRegistry meterRegistry,
+                        @Value("${warmup.enabled:true}") boolean enabled,
+                        @Value("${warmup.iterations:200}") int iterations,
+                        @Value("${warmup.bcrypt-iterations:5}") int bcryptIterations,
+                        @Value("${warmup.timeout-ms:30000}") long timeoutMillis) {
+        this.jwtUtils = jwtUtils;
+        this.objectMapper = objectMapper;
+        this.userRepository = userRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.readOnlyTransaction.setReadOnly(true);
+        this.passwordHasher = passwordHasher;
+        this.environment = environment;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.iterations = iterations;
+        this.bcryptIterations = bcryptIterations;
+        this.timeoutMillis = timeoutMillis;
+    }
+
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            return;
+        }
+        long start = System.nanoTime();
+        ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "warmup");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        String outcome = "completed";
+        Future<?> warmUp = executor.submit(this::warmUp);
+        try {
+            warmUp.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            outcome = "timeout";
+            stopped = true;
+            warmUp.cancel(true);
+        } catch (ExecutionException e) {
+            // 워밍업 실패로 기동을 막지는 않음 (Redis/DB 일시 장애 등은 헬스 체크가 판단)
+            outcome = "failed";
+            log.warn("워밍업 실패, 그대로 트래픽 수신 시작: {}", e.getCause().toString());
+        } catch (InterruptedException e) {
+            outcome = "failed";
+            Thread.currentThread().interrupt();
+        } finally {
+            executor.shutdownNow();
+        }
+
+        long elapsedNanos = System.nanoTime() - start;
+        Timer.builder("app.warmup")
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+        log.info("워밍업 {} ({}ms, 제한 {}ms)", outcome, TimeUnit.NANOSECONDS.toMillis(elapsedNanos), timeoutMillis);
+    }
+
+
+    private void warmUp() {
+        phase("token", this::warmUpTokens);
+        phase("serialization", this::warmUpSerialization);
+        phase("repository", this::warmUpRepository);
+        phase("bcrypt", this::warmUpPasswordHashing);
+        phase("filter", this::warmUpFilterChain);
+    }
+
+    private void phase(String name, Runnable phase) {
+        if (stopped) {
+            return;
+        }
+        long start = System.nanoTime();
+        phase.run();
+        log.debug("워밍업 {} 완료 ({}ms)", name, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    private void warmUpTokens() {
+        List<String> roles = List.of(UserRole.ROLE_USER.name());
+        for (int i = 0; i < iterations && !stopped; i++) {
+            String token = jwtUtils.generateAccessToken(WARMUP_USER_ID, WARMUP_EMAIL, roles);
+            jwtUtils.verify(token);
+            try {
+                jwtUtils.verify(tamper(token));
+            } catch (JwtException expected) {
+                // 서명 불일치 경로
+            }
+        }
+    }
+
+    private void warmUpSerialization() {
+        ProfileResponse profile = ProfileResponse.builder()
+                .nickname("warmup")
+                .profileImageUrl("https://warmup.invalid/profile.png")
+                .build();
+        UserInfoDetailsResponse details = UserInfoDetailsResponse.builder()
+                .email(WARMUP_EMAIL)
+                .nickname("warmup")
+                .gender(Gender.UNKNOWN)
+                .age(0)
+                .phoneNumber("000-0000-0000")
+                .role(UserRole.ROLE_USER)
+                .build();
+        AuthResponseDto tokens = new AuthResponseDto("access", "refresh");
+        try {
+            for (int i = 0; i < iterations && !stopped; i++) {
+                objectMapper.writeValueAsBytes(ApiResponse.ok("warmup", profile).getBody());
+                objectMapper.writeValueAsBytes(ApiResponse.ok("warmup", details).getBody());
+                objectMapper.writeValueAsBytes(ApiResponse.ok("warmup", tokens).getBody());
+                objectMapper.writeValueAsBytes(ApiResponse.ok("warmup", Map.of(WARMUP_USER_ID, profile)).getBody());
+            }
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // 존재하지 않는 ID/email 조회 (읽기 전용 트랜잭션, 결과 없음)
+    private void warmUpRepository() {
+        int queryIterations = Math.max(1, iterations / 10);
+        for (int i = 0; i < queryIterations && !stopped; i++) {
+            readOnlyTransaction.executeWithoutResult(status -> {
+                userRepository.findByEmail(WARMUP_EMAIL);
+                userRepository.existsByEmail(WARMUP_EMAIL);
+                userRepository.findProfileViewById(WARMUP_USER_ID);
+                userRepository.findProfileViewsByIdIn(List.of(WARMUP_USER_ID));
+                userRepository.findDetailsViewById(WARMUP_USER_ID);
+                userRepository.findById(WARMUP_USER_ID);
+            });
+        }
+    }
+
+    private void warmUpPasswordHashing() {
+        String encoded = passwordHasher.encode("warmup-password");
+        for (int i = 0; i < bcryptIterations && !stopped; i++) {
+            passwordHasher.matches("warmup-password", encoded);
+        }
+    }
+
+    // 로컬 서버로 보호된 API 호출 -> 보안 필터 체인/JWT 필터/예외 처리 경로 (컨트롤러까지 가지 않고 401)
+    private void warmUpFilterChain() {
+        String port = environment.getProperty("local.server.port");
+        if (port == null) {
+            return; // 웹 서버 없이 실행된 경우
+        }
+        URI uri = URI.create("http://localhost:" + port + "/api/user/profile");
+        String tamperedToken = tamper(jwtUtils.generateAccessToken(WARMUP_USER_ID, WARMUP_EMAIL,
+                List.of(UserRole.ROLE_USER.name())));
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+        HttpRequest anonymous = HttpRequest.newBuilder(uri).GET().build();
+        HttpRequest invalidToken = HttpRequest.newBuilder(uri).header("Authorization", "Bearer " + tamperedToken).GET().build();
+
+        int requestIterations = Math.max(1, iterations / 10);
+        try {
+            for (int i = 0; i < requestIterations && !stopped; i++) {
+                client.send(anonymous, HttpResponse.BodyHandlers.discarding());
+                client.send(invalidToken, HttpResponse.BodyHandlers.discarding());
+            }
+        } catch (IOException e) {
+            log.debug("워밍업 요청 실패: {}", e.toString());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // 서명 첫 문자를 바꾼 토큰 (형식은 같고 서명만 불일치)
+    private static String tamper(String token) {
+        int signature = token.lastIndexOf('.') + 1;
+        char replaced = token.charAt(signature) == 'A' ? 'B' : 'A';
+        return token.substring(0, signature) + replaced + token.substring(signature + 1);
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.demo.controller;
+
+import com.example.demo.common.ApiResponse;
+import com.example.demo.dto.admin.UserImportResponse;
+import com.example.demo.service.UserImportService;
+import io.swagger.v3.oas.annotations.Operation;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+
+@RestController
+@RequestMapping("/api/admin/users")
+@RequiredArgsConstructor
+public class AdminUserController {
+
+    private static final String TEXT_CSV_VALUE = "text/csv";
+
+    private final UserImportService userImportService;
+
+    /**
+     * 회원 일괄 등록 API (관리자 전용).
+     * 요청 본문을 스트림으로 읽어 일정 행 수 단위로 저장하며, 잘못된 행은 건너뛰고 줄 번호와 사유를 돌려줍니다.
+     *
+     * @param request 요청 본문 - text/csv(첫 줄 헤더) 또는 application/x-ndjson(한 줄에 JSON 객체 하나), UTF-8
+     * @return 전체/성공/실패 행 수와 행별 오류 목록
+     */
+    @PostMapping(value = "/import", consumes = {TEXT_CSV_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    @Operation(summary = "회원 일괄 등록", description = "CSV 또는 NDJSON으로 여러 사용자를 한 번에 등록합니다. (ROLE_ADMIN)")
+    public ResponseEntity<ApiResponse<UserImportResponse>> importUsers(HttpServletRequest request) throws IOException {
+
+        UserImportService.Format format = MediaType.APPLICATION_NDJSON.isCompatibleWith(MediaType.parseMediaType(request.getContentType()))
+                ? UserImportService.Format.NDJSON
+                : UserImportService.Format.CSV;
+        UserImportResponse result = userImportService.importUsers(request.getInputStream(), format);
+
+        return ApiResponse.ok("회원 일괄 등록 완료", result);
+    }
+}
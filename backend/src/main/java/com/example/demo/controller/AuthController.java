@@ -3,6 +3,7 @@ package com.example.demo.controller;
 import com.example.demo.common.ApiResponse;
 import com.example.demo.dto.auth.*;
 import com.example.demo.service.AuthService;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import lombok.RequiredArgsConstructor;
@@ -26,14 +27,18 @@ public class AuthController {
      * 사용자 로그인 API.
      * 아이디(이메일)와 비밀번호를 통해 사용자를 인증하고, Access Token과 Refresh Token을 발급합니다.
      *
+     * 계정/IP별 시도 횟수를 초과하면 429 (Retry-After)로 거절합니다.
+     *
      * @param request 로그인 요청에 필요한 아이디(이메일)와 비밀번호를 담은 DTO
+     * @param httpRequest 클라이언트 IP 확인용 (프록시 뒤라면 server.forward-headers-strategy 설정 필요)
      * @return 로그인 성공 시 발급된 Access Token 및 Refresh Token 정보를 포함하는 응답
      */
     @PostMapping("/login")
     @Operation(summary = "사용자 로그인", description = "아이디/비밀번호를 통해 로그인하고 JWT를 반환합니다.")
-    public ResponseEntity<ApiResponse<AuthResponseDto>> login(@RequestBody LoginRequest loginRequest) {
+    public ResponseEntity<ApiResponse<AuthResponseDto>> login(@RequestBody LoginRequest loginRequest,
+                                                              HttpServletRequest httpRequest) {
 
-        AuthResponseDto response = authService.login(loginRequest);
+        AuthResponseDto response = authService.login(loginRequest, httpRequest.getRemoteAddr());
 
         return ApiResponse.ok("로그인 성공", response);
     }
@@ -44,14 +49,17 @@ public class AuthController {
      * 현재 로그인된 사용자의 Refresh Token을 Redis에서 삭제하여 세션을 무효화합니다.
      * Security Context도 함께 초기화됩니다.
      *
+     * @param authorizationHeader HTTP 요청 헤더의 Authorization 필드 값 (Bearer AccessToken, 선택)
      * @param requestDto Refresh Token을 포함하는 요청 DTO.
      * @return 로그아웃 성공 메시지를 포함하는 응답
      */
     @PostMapping("/logout")
-    @Operation(summary = "사용자 로그아웃", description = "refreshToken을 요청 본문에 담아 세션을 무효화하여 로그아웃 처리합니다.")
-    public ResponseEntity<ApiResponse<Void>> logout(@RequestBody LogoutRequest logoutRequest) {
+    @Operation(summary = "사용자 로그아웃", description = "refreshToken을 요청 본문에 담아 세션을 무효화하고, Authorization 헤더의 accessToken은 만료 시각까지 차단합니다.")
+    public ResponseEntity<ApiResponse<Void>> logout(
+            @RequestHeader(value = "Authorization", required = false) String authorizationHeader,
+            @RequestBody LogoutRequest logoutRequest) {
         
-        authService.logout(logoutRequest);
+        authService.logout(logoutRequest, authorizationHeader);
 
         return ApiResponse.ok("로그아웃 성공");
     }
@@ -0,0 +1,73 @@
+package com.example.demo.controller;
+
+import com.example.demo.common.ApiResponse;
+import com.example.demo.dto.matching.MatchRequest;
+import com.example.demo.dto.matching.MatchResponse;
+import com.example.demo.dto.matching.MatchStatusResponse;
+import com.example.demo.security.CustomUserDetails;
+import com.example.demo.service.MatchingService;
+import io.swagger.v3.oas.annotations.Operation;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/matchings")
+@RequiredArgsConstructor
+public class MatchingController {
+
+    private final MatchingService matchingService;
+
+    /**
+     * 매칭 요청 API.
+     * 같은 지역, 음식, 인원을 고른 사용자들과의 매칭 대기열에 등록합니다.
+     *
+     * @param userDetails 현재 인증된 사용자의 CustomUserDetails 객체에서 ID를 추출하기 위함.
+     * @param matchRequest 그룹 인원(groupSize), 지역(region), 음식(food).
+     * @return 발급된 매칭 ID와 상태 (인원이 이미 모여 있으면 바로 MATCHED).
+     */
+    @PostMapping("/wait")
+    @Operation(summary = "매칭 요청", description = "지역/음식/인원이 같은 사용자들과의 매칭 대기열에 등록합니다.")
+    public ResponseEntity<ApiResponse<MatchResponse>> requestMatching(@AuthenticationPrincipal CustomUserDetails userDetails,
+                                                                      @RequestBody MatchRequest matchRequest) {
+        MatchResponse matchResponse = matchingService.requestMatching(userDetails.getId(), matchRequest);
+
+        return ApiResponse.ok("매칭 요청 완료", matchResponse);
+    }
+
+
+    /**
+     * 내 매칭 상태 조회 API.
+     * 현재 로그인된 사용자의 최근 매칭 요청 상태(PENDING, MATCHED, CANCELED)를 조회합니다.
+     *
+     * @param userDetails 현재 인증된 사용자의 CustomUserDetails 객체에서 ID를 추출하기 위함.
+     * @return 매칭 상태와 (MATCHED이면) 그룹 구성원 ID 목록.
+     */
+    @GetMapping("/status")
+    @Operation(summary = "내 매칭 상태 조회", description = "현재 로그인된 사용자의 최근 매칭 요청 상태를 조회합니다.")
+    public ResponseEntity<ApiResponse<MatchStatusResponse>> getMyMatchingStatus(@AuthenticationPrincipal CustomUserDetails userDetails) {
+
+        MatchStatusResponse statusResponse = matchingService.getMyMatchingStatus(userDetails.getId());
+
+        return ApiResponse.ok("매칭 상태 조회 성공", statusResponse);
+    }
+
+
+    /**
+     * 매칭 요청 취소 API.
+     * 대기 중인 본인의 매칭 요청을 취소합니다. (이미 매칭된 요청은 취소할 수 없음)
+     *
+     * @param userDetails 현재 인증된 사용자의 CustomUserDetails 객체에서 ID를 추출하기 위함.
+     * @param matchId 취소할 매칭 요청 ID.
+     * @return 취소 완료 메시지.
+     */
+    @DeleteMapping("/{matchId}")
+    @Operation(summary = "매칭 요청 취소", description = "대기 중인 본인의 매칭 요청을 취소합니다.")
+    public ResponseEntity<ApiResponse<Void>> cancelMatching(@AuthenticationPrincipal CustomUserDetails userDetails,
+                                                            @PathVariable Long matchId) {
+        matchingService.cancelMatching(userDetails.getId(), matchId);
+
+        return ApiResponse.ok("매칭 요청이 취소되었습니다.");
+    }
+}
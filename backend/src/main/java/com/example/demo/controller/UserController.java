@@ -13,11 +13,16 @@ import com.example.demo.dto.users.ProfileUpdateRequest;
 import com.example.demo.dto.users.UserInfoDetailsResponse;
 import com.example.demo.dto.users.ChangePasswordRequest;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.context.request.WebRequest;
 import io.swagger.v3.oas.annotations.Operation;
 import lombok.RequiredArgsConstructor;
 
+import java.util.List;
+import java.util.Map;
+
 @RestController
 @RequestMapping("/api/user") 
 @RequiredArgsConstructor
@@ -47,15 +52,38 @@ public class UserController {
      * 현재 로그인된 사용자의 프로필 정보(닉네임, 프로필 이미지 URL)를 조회합니다.
      *
      * @param userDetails 현재 인증된 사용자의 CustomUserDetails 객체에서 ID를 추출하기 위함.
-     * @return 조회된 사용자 프로필 정보를 담은 DTO.
+     * @param webRequest If-None-Match 비교용 (캐시된 버전과 같으면 DB 조회 없이 304).
+     * @return 조회된 사용자 프로필 정보를 담은 DTO (ETag 포함).
      */
     @GetMapping("/profile")
     @Operation(summary = "회원 프로필 조회", description = "현재 로그인된 사용자의 프로필 정보를 조회합니다.")
-    public ResponseEntity<ApiResponse<ProfileResponse>> getProfile(@AuthenticationPrincipal CustomUserDetails userDetails) {
-    
-        ProfileResponse profileResponse = userService.getProfile(userDetails.getId());
-    
-        return ApiResponse.ok("프로필 조회 성공", profileResponse);
+    public ResponseEntity<ApiResponse<ProfileResponse>> getProfile(@AuthenticationPrincipal CustomUserDetails userDetails,
+                                                                   WebRequest webRequest) {
+        Long userId = userDetails.getId();
+        if (isNotModified(userId, webRequest)) {
+            return null; // 304 Not Modified (응답은 checkNotModified에서 처리됨)
+        }
+
+        ProfileResponse profileResponse = userService.getProfile(userId);
+
+        return ApiResponse.ok("프로필 조회 성공", profileResponse, userETag(userId, profileResponse.getVersion()));
+    }
+
+
+    /**
+     * 여러 회원 프로필 일괄 조회 API.
+     * 채팅 참여자, 매칭 상대 등 여러 사용자의 닉네임과 프로필 이미지 URL을 한 번에 조회합니다.
+     *
+     * @param ids 조회할 사용자 ID 목록 (예: ?ids=1,2,3)
+     * @return 사용자 ID -> 프로필 정보 (존재하지 않는 사용자는 제외)
+     */
+    @GetMapping("/profiles")
+    @Operation(summary = "여러 회원 프로필 조회", description = "사용자 ID 목록(ids=1,2,3)으로 여러 사용자의 프로필 정보를 한 번에 조회합니다.")
+    public ResponseEntity<ApiResponse<Map<Long, ProfileResponse>>> getProfiles(@RequestParam List<Long> ids) {
+
+        Map<Long, ProfileResponse> profiles = userService.getProfiles(ids);
+
+        return ApiResponse.ok("프로필 일괄 조회 성공", profiles);
     }
 
 
@@ -118,15 +146,22 @@ public class UserController {
      * 이 API는 민감 정보를 포함하므로 주의하여 사용해야 합니다.
      *
      * @param userDetails 현재 인증된 사용자의 CustomUserDetails 객체에서 ID를 추출하기 위함.
-     * @return 조회된 사용자 상세 정보를 담은 DTO.
+     * @param webRequest If-None-Match 비교용 (캐시된 버전과 같으면 DB 조회 없이 304).
+     * @return 조회된 사용자 상세 정보를 담은 DTO (ETag 포함).
      */
     @GetMapping("/me/details")
     @Operation(summary = "사용자 상세 정보 조회", description = "현재 로그인한 사용자의 모든 상세 프로필 정보를 반환합니다. 전화번호, 이메일 등 민감 정보 포함.")
-    public ResponseEntity<ApiResponse<UserInfoDetailsResponse>> getUserDetails(@AuthenticationPrincipal CustomUserDetails userDetails) {
+    public ResponseEntity<ApiResponse<UserInfoDetailsResponse>> getUserDetails(@AuthenticationPrincipal CustomUserDetails userDetails,
+                                                                               WebRequest webRequest) {
+        Long userId = userDetails.getId();
+        if (isNotModified(userId, webRequest)) {
+            return null; // 304 Not Modified (응답은 checkNotModified에서 처리됨)
+        }
 
-        UserInfoDetailsResponse userDetailsResponse = userService.getUserDetails(userDetails.getId());
+        UserInfoDetailsResponse userDetailsResponse = userService.getUserDetails(userId);
 
-        return ApiResponse.ok("사용자 상세 정보 조회 성공", userDetailsResponse);
+        return ApiResponse.ok("사용자 상세 정보 조회 성공", userDetailsResponse,
+                userETag(userId, userDetailsResponse.getVersion()));
     }
 
 
@@ -164,4 +199,25 @@ public class UserController {
     
         return ApiResponse.ok("회원 탈퇴가 완료되었습니다.");
     }
-}
\ No newline at end of file
+
+
+    // 프로필/상세 정보는 모두 User.version으로 바뀌므로 같은 형식의 강한 ETag 사용
+    private static String userETag(Long userId, long version) {
+        return "\"u" + userId + "-v" + version + "\"";
+    }
+
+    // If-None-Match가 있을 때만 캐시된 버전(L1 -> Redis)과 비교, 캐시에 없거나 다르면 전체 조회로 진행
+    // (일치할 때만 checkNotModified 호출 -> 불일치 시 이전 ETag 헤더가 응답에 남지 않음)
+    private boolean isNotModified(Long userId, WebRequest webRequest) {
+        String ifNoneMatch = webRequest.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        Long cachedVersion = userService.getCachedVersion(userId);
+        if (cachedVersion == null) {
+            return false;
+        }
+        String eTag = userETag(userId, cachedVersion);
+        return ifNoneMatch.contains(eTag) && webRequest.checkNotModified(eTag);
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.demo.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 매칭 음식 종류
+ */
+@AllArgsConstructor
+@Getter
+public enum Food {
+    KOREAN("한식"),
+    CHINESE("중식"),
+    JAPANESE("일식"),
+    WESTERN("양식"),
+    FASTFOOD("패스트푸드"),
+    CAFE("카페"),
+    MEXICAN("멕시코 음식"),
+    INDIAN("인도 음식"),
+    THAI("태국 음식"),
+    VIETNAMESE("베트남 음식");
+
+    private final String description;
+}
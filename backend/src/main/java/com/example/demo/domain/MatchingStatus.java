@@ -0,0 +1,13 @@
+package com.example.demo.domain;
+
+/**
+ * 매칭 요청 상태
+ */
+public enum MatchingStatus {
+    /** 같은 조건의 요청이 모이기를 기다리는 중 */
+    PENDING,
+    /** 그룹 구성 완료 */
+    MATCHED,
+    /** 사용자 취소 또는 대기 시간 초과 */
+    CANCELED
+}
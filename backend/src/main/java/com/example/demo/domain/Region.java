@@ -0,0 +1,30 @@
+package com.example.demo.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 매칭 지역 (시/도 단위)
+ */
+@AllArgsConstructor
+@Getter
+public enum Region {
+    SEOUL("서울"),
+    BUSAN("부산"),
+    DAEGU("대구"),
+    INCHEON("인천"),
+    GWANGJU("광주"),
+    DAEJEON("대전"),
+    ULSAN("울산"),
+    GYEONGGI("경기"),
+    GANGWON("강원"),
+    CHUNGBUK("충북"),
+    CHUNGNAM("충남"),
+    JEONBUK("전북"),
+    JEONNAM("전남"),
+    GYEONGBUK("경북"),
+    GYEONGNAM("경남"),
+    JEJU("제주");
+
+    private final String description;
+}
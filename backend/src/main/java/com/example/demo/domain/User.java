@@ -1,23 +1,40 @@
 package com.example.demo.domain;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
+import org.hibernate.annotations.SQLRestriction;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 
+import java.time.LocalDateTime;
+
 @Entity // JPA 엔티티(=DB 테이블과 매핑) 
 @Table(name = "users")
+@Cacheable // 2차 캐시 (CaffeineRegionFactory, id -> 엔티티 / email -> id)
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = User.CACHE_REGION)
+@NaturalIdCache(region = User.EMAIL_CACHE_REGION)
+@SQLRestriction("deleted_at is null") // 탈퇴(tombstone) 회원은 모든 엔티티/JPQL 조회에서 제외, 실제 삭제는 WithdrawnUserPurgeJob
 @Getter 
 @NoArgsConstructor 
 @AllArgsConstructor 
 @Builder 
 public class User {
 
+    public static final String CACHE_REGION = "users";
+    public static final String EMAIL_CACHE_REGION = "users-email";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
-    private Long id; // 회원 고유 식별 번호 (auto-incremental)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "users_seq", allocationSize = 50)
+    private Long id; // 회원 고유 식별 번호 (시퀀스를 50개 단위로 할당받아 INSERT 배치 가능)
 
+    @NaturalId(mutable = true) // email 변경 가능, UserRepository.findByEmail은 natural id 캐시로 조회
     @Column(nullable = false, unique = true, length = 100) 
     private String email; // 로그인 ID 겸 email 주소
 
@@ -44,8 +61,24 @@ public class User {
     @Column(nullable = false, length = 20) // DB 컬럼 설정
     private UserRole role; // 사용자 권한 (ex: ROLE_USER, ROLE_ADMIN)
 
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private long version; // 낙관적 잠금 겸 캐시 버전 (수정 시마다 flush 시점에 1 증가)
+
+    private LocalDateTime deletedAt; // 탈퇴 시각 (null이면 정상 회원)
 
 
+
+    /**
+     * 탈퇴 처리 (tombstone). 행은 남겨 두고 백그라운드 정리 작업이 삭제합니다.
+     * email은 유니크 제약이 있으므로 바로 재가입할 수 있도록 탈퇴용 주소로 바꿉니다.
+     */
+    public void markWithdrawn(LocalDateTime now) {
+        this.deletedAt = now;
+        this.email = "withdrawn-" + this.id + "@deleted.invalid";
+    }
+
     public void updateProfile(String nickname, String profileImageUrl) {
         if (nickname == null || nickname.trim().isEmpty()) {
             throw new IllegalArgumentException("닉네임은 필수 입력 항목입니다.");
@@ -0,0 +1,15 @@
+package com.example.demo.dto.admin;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 등록하지 못한 행 (입력 파일의 줄 번호 기준, 1부터 시작)
+ */
+@Getter
+@AllArgsConstructor
+public class UserImportError {
+    private final long line;
+    private final String email;
+    private final String reason;
+}
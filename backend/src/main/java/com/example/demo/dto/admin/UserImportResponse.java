@@ -0,0 +1,20 @@
+package com.example.demo.dto.admin;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * 회원 일괄 등록 결과
+ * errors는 최대 admin.user-import.max-reported-errors개까지만 담고, 넘으면 errorsTruncated = true
+ */
+@Getter
+@Builder
+public class UserImportResponse {
+    private final long total;
+    private final long imported;
+    private final long failed;
+    private final List<UserImportError> errors;
+    private final boolean errorsTruncated;
+}
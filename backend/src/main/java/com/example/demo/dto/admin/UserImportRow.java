@@ -0,0 +1,21 @@
+package com.example.demo.dto.admin;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 회원 일괄 등록의 한 행 (CSV 한 줄 또는 NDJSON 객체 하나, 필드는 SignupRequest와 동일)
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserImportRow {
+    private String email;
+    private String password;
+    private String nickname;
+    private String gender;
+    private Integer age;
+    private String phoneNumber;
+    private String profileImageUrl;
+}
@@ -13,4 +13,5 @@ import lombok.NoArgsConstructor;
 public class LoginRequest {
     private String email;
     private String password;
+    private String deviceId; // 선택값. 없으면 로그인마다 새 세션(기기)으로 취급
 }
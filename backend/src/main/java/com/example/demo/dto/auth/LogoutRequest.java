@@ -12,4 +12,5 @@ import lombok.NoArgsConstructor;
 @Builder
 public class LogoutRequest {
     private String refreshToken;
+    private boolean allDevices; // true면 모든 기기에서 로그아웃
 }
@@ -0,0 +1,16 @@
+package com.example.demo.dto.matching;
+
+import com.example.demo.domain.Food;
+import com.example.demo.domain.Region;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class MatchRequest {
+    private Integer groupSize;
+    private Region region;
+    private Food food;
+}
@@ -0,0 +1,15 @@
+package com.example.demo.dto.matching;
+
+import com.example.demo.domain.MatchingStatus;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Builder
+public class MatchResponse {
+    private final Long matchId;
+    private final MatchingStatus status;
+    private final LocalDateTime createdAt;
+}
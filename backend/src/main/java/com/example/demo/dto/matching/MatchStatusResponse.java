@@ -0,0 +1,28 @@
+package com.example.demo.dto.matching;
+
+import com.example.demo.domain.Food;
+import com.example.demo.domain.MatchingStatus;
+import com.example.demo.domain.Region;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 내 매칭 상태 (matchedUserIds는 MATCHED일 때만 채워짐, 본인 포함)
+ * 대기 시간 초과로 취소된 요청은 status = CANCELED, timedOut = true
+ */
+@Getter
+@Builder
+public class MatchStatusResponse {
+    private final Long matchId;
+    private final MatchingStatus status;
+    private final Region region;
+    private final Food food;
+    private final Integer groupSize;
+    private final LocalDateTime createdAt;
+    private final LocalDateTime matchedAt;
+    private final List<Long> matchedUserIds;
+    private final boolean timedOut;
+}
@@ -1,12 +1,14 @@
 package com.example.demo.dto.users;
 
 import com.example.demo.domain.User;
+import com.example.demo.repository.UserProfileView;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.AccessLevel; // <--- 이 라인을 추가해야 합니다.
 import lombok.extern.jackson.Jacksonized;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 
 @Getter
 @Builder
@@ -18,10 +20,22 @@ public class ProfileResponse implements java.io.Serializable {
     private final String nickname;
     private final String profileImageUrl;
 
+    @JsonIgnore
+    private final long version; // User.version (캐시 덮어쓰기 순서 판단용, 응답 본문에는 미포함)
+
     public static ProfileResponse from(User user) {
         return ProfileResponse.builder()
                 .nickname(user.getNickname())
                 .profileImageUrl(user.getProfileImageUrl())
+                .version(user.getVersion())
+                .build();
+    }
+
+    public static ProfileResponse from(UserProfileView view) {
+        return ProfileResponse.builder()
+                .nickname(view.getNickname())
+                .profileImageUrl(view.getProfileImageUrl())
+                .version(view.getVersion())
                 .build();
     }
 }
@@ -0,0 +1,51 @@
+package com.example.demo.dto.users;
+
+import com.example.demo.util.CompactCodec;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * ProfileResponse 캐시 값 코덱 (CompactRedisSerializer)
+ *
+ * ProfileResponse에 필드를 추가하면 version을 올리고 read()에서 이전 버전도 처리해야 합니다.
+ *
+ *  - v1 : nickname, profileImageUrl
+ *  - v2 : + version (User.version)
+ */
+public class ProfileResponseCodec implements CompactCodec<ProfileResponse> {
+
+    public static final int TAG = 1;
+
+    @Override
+    public int tag() {
+        return TAG;
+    }
+
+    @Override
+    public int version() {
+        return 2;
+    }
+
+    @Override
+    public Class<ProfileResponse> type() {
+        return ProfileResponse.class;
+    }
+
+    @Override
+    public void write(ProfileResponse value, DataOutput out) throws IOException {
+        CompactCodec.writeString(out, value.getNickname());
+        CompactCodec.writeString(out, value.getProfileImageUrl());
+        CompactCodec.writeVarLong(out, value.getVersion());
+    }
+
+    @Override
+    public ProfileResponse read(DataInput in, int version) throws IOException {
+        return ProfileResponse.builder()
+                .nickname(CompactCodec.readString(in))
+                .profileImageUrl(CompactCodec.readString(in))
+                .version(version >= 2 ? CompactCodec.readVarLong(in) : 0L)
+                .build();
+    }
+}
@@ -3,6 +3,8 @@ package com.example.demo.dto.users;
 import com.example.demo.domain.Gender;
 import com.example.demo.domain.User;
 import com.example.demo.domain.UserRole;
+import com.example.demo.repository.UserDetailsView;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.Builder;
 import lombok.Getter;
 
@@ -17,6 +19,10 @@ public class UserInfoDetailsResponse {
     private final String profileImageUrl;
     private final UserRole role;
 
+    // ETag 생성용 (응답 본문에는 포함하지 않음)
+    @JsonIgnore
+    private final long version;
+
     public static UserInfoDetailsResponse from(User user) {
         return UserInfoDetailsResponse.builder()
                 .email(user.getEmail())
@@ -26,6 +32,20 @@ public class UserInfoDetailsResponse {
                 .phoneNumber(user.getPhoneNumber())
                 .profileImageUrl(user.getProfileImageUrl())
                 .role(user.getRole())
+                .version(user.getVersion())
+                .build();
+    }
+
+    public static UserInfoDetailsResponse from(UserDetailsView view) {
+        return UserInfoDetailsResponse.builder()
+                .email(view.getEmail())
+                .nickname(view.getNickname())
+                .gender(view.getGender())
+                .age(view.getAge())
+                .phoneNumber(view.getPhoneNumber())
+                .profileImageUrl(view.getProfileImageUrl())
+                .role(view.getRole())
+                .version(view.getVersion())
                 .build();
     }
-} 
\ No newline at end of file
+} 
\ No newline at end of file
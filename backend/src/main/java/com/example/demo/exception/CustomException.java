@@ -11,4 +11,12 @@ public class CustomException extends RuntimeException {
         super(errorCode.getMessage());
         this.errorCode = errorCode;
     }
+
+    /**
+     * 과부하 거절처럼 자주, 예상된 경로에서 발생하는 예외는 스택 트레이스를 생략해 비용을 줄입니다.
+     */
+    protected CustomException(ErrorCode errorCode, boolean writableStackTrace) {
+        super(errorCode.getMessage(), null, false, writableStackTrace);
+        this.errorCode = errorCode;
+    }
 }
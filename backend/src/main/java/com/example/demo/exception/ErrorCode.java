@@ -26,9 +26,21 @@ public enum ErrorCode {
 
     MATCHING_TIMEOUT(HttpStatus.REQUEST_TIMEOUT, "매칭 대기시간이 초과되었습니다."),
 
+    MATCHING_NOT_FOUND(HttpStatus.NOT_FOUND, "매칭 요청을 찾을 수 없습니다."),
+
+    MATCHING_ALREADY_WAITING(HttpStatus.CONFLICT, "이미 매칭을 기다리고 있습니다."),
+
+    MATCHING_ALREADY_MATCHED(HttpStatus.CONFLICT, "이미 매칭이 완료되었습니다."),
+
     CHAT_ROOM_NOT_FOUND(HttpStatus.NOT_FOUND, "채팅방이 존재하지 않습니다."),
 
-    MESSAGE_SEND_FAILED(HttpStatus.INTERNAL_SERVER_ERROR, "메시지 전송이 실패했습니다.");
+    MESSAGE_SEND_FAILED(HttpStatus.INTERNAL_SERVER_ERROR, "메시지 전송이 실패했습니다."),
+
+    PASSWORD_HASHING_BUSY(HttpStatus.SERVICE_UNAVAILABLE, "요청이 많아 잠시 후 다시 시도해 주세요."),
+
+    TOO_MANY_LOGIN_ATTEMPTS(HttpStatus.TOO_MANY_REQUESTS, "로그인 시도가 너무 많습니다. 잠시 후 다시 시도해 주세요."),
+
+    REDIS_UNAVAILABLE(HttpStatus.SERVICE_UNAVAILABLE, "일시적으로 요청을 처리할 수 없습니다. 잠시 후 다시 시도해 주세요.");
 
     
 
@@ -1,16 +1,25 @@
 package com.example.demo.exception;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
+import java.util.EnumMap;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
+    // 거절 응답(429/503)은 폭주 상황에서 대량으로 나가므로 ErrorCode별 본문을 미리 인코딩해 둠
+    private static final Map<ErrorCode, byte[]> PREENCODED_BODIES = preencodeBodies();
+
     @ExceptionHandler(CustomException.class)
     public ResponseEntity<Map<String, Object>> handleCustomException(CustomException e) {
         Map<String, Object> body = new HashMap<>();
@@ -19,6 +28,14 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(e.getErrorCode().getStatus()).body(body);
     }
 
+    @ExceptionHandler(RetryLaterException.class)
+    public ResponseEntity<byte[]> handleRetryLaterException(RetryLaterException e) {
+        return ResponseEntity.status(e.getErrorCode().getStatus())
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(PREENCODED_BODIES.get(e.getErrorCode()));
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<Map<String, Object>> handleValidationException(MethodArgumentNotValidException e) {
         Map<String, Object> body = new HashMap<>();
@@ -34,4 +51,20 @@ public class GlobalExceptionHandler {
         body.put("message", e.getMessage());
         return ResponseEntity.internalServerError().body(body);
     }
+
+    private static Map<ErrorCode, byte[]> preencodeBodies() {
+        ObjectMapper objectMapper = new ObjectMapper();
+        Map<ErrorCode, byte[]> bodies = new EnumMap<>(ErrorCode.class);
+        for (ErrorCode errorCode : ErrorCode.values()) {
+            Map<String, Object> body = new LinkedHashMap<>();
+            body.put("error", errorCode.name());
+            body.put("message", errorCode.getMessage());
+            try {
+                bodies.put(errorCode, objectMapper.writeValueAsBytes(body));
+            } catch (JsonProcessingException ex) {
+                throw new IllegalStateException(ex);
+            }
+        }
+        return bodies;
+    }
 }
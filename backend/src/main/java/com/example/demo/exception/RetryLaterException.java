@@ -0,0 +1,19 @@
+package com.example.demo.exception;
+
+import lombok.Getter;
+
+/**
+ * 일시적 과부하로 요청을 거절할 때 사용하는 예외 (Retry-After 헤더와 함께 응답)
+ *
+ * 부하가 높을 때 대량으로 발생하므로 스택 트레이스를 만들지 않습니다.
+ */
+@Getter
+public class RetryLaterException extends CustomException {
+
+    private final long retryAfterSeconds;
+
+    public RetryLaterException(ErrorCode errorCode, long retryAfterSeconds) {
+        super(errorCode, false);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
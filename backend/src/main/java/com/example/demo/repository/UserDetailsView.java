@@ -0,0 +1,26 @@
+package com.example.demo.repository;
+
+import com.example.demo.domain.Gender;
+import com.example.demo.domain.UserRole;
+
+/**
+ * 상세 정보 조회용 프로젝션 (UserInfoDetailsResponse 필드, 비밀번호 해시 제외)
+ */
+public interface UserDetailsView {
+
+    String getEmail();
+
+    String getNickname();
+
+    Gender getGender();
+
+    int getAge();
+
+    String getPhoneNumber();
+
+    String getProfileImageUrl();
+
+    UserRole getRole();
+
+    long getVersion();
+}
@@ -0,0 +1,17 @@
+package com.example.demo.repository;
+
+/**
+ * 프로필 조회용 프로젝션 (ProfileResponse 필드 + id)
+ *
+ * 필요한 컬럼만 조회하므로 엔티티(비밀번호 해시 포함)를 만들거나 영속성 컨텍스트에 올리지 않습니다.
+ */
+public interface UserProfileView {
+
+    Long getId();
+
+    String getNickname();
+
+    String getProfileImageUrl();
+
+    long getVersion();
+}
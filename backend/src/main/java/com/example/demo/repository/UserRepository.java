@@ -1,15 +1,43 @@
 package com.example.demo.repository;
 import com.example.demo.domain.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 
-public interface UserRepository extends JpaRepository<User, Long> {
+public interface UserRepository extends JpaRepository<User, Long>, UserRepositoryCustom {
         
-    // email로 회원 검색(로그인 ID)
-    Optional<User> findByEmail(String email);
+    // email로 회원 검색(로그인 ID)은 UserRepositoryCustom.findByEmail (natural id 캐시)
 
     // phone으로 회원 검색
     Optional<User> findByPhoneNumber(String phoneNumber);
 
-}
\ No newline at end of file
+    // email 중복 확인 (엔티티를 읽지 않고 존재 여부만 조회)
+    boolean existsByEmail(String email);
+
+    // 일괄 등록 시 이미 가입된 email 확인 (IN 쿼리 1회)
+    @Query("select u.email from User u where u.email in :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+
+    // ===== 읽기 전용 프로젝션 (필요한 컬럼만 조회, 엔티티/스냅샷 생성 없음) =====
+
+    // 프로필 조회 (캐시 미스 시)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    Optional<UserProfileView> findProfileViewById(Long id);
+
+    // 여러 사용자 프로필 조회 (IN 쿼리 1회)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    List<UserProfileView> findProfileViewsByIdIn(Collection<Long> ids);
+
+    // 상세 정보 조회
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    Optional<UserDetailsView> findDetailsViewById(Long id);
+
+}
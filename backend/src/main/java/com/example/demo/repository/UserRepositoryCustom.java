@@ -0,0 +1,14 @@
+package com.example.demo.repository;
+
+import com.example.demo.domain.User;
+
+import java.util.Optional;
+
+/**
+ * UserRepository 직접 구현 메서드 (UserRepositoryCustomImpl)
+ */
+public interface UserRepositoryCustom {
+
+    // email로 회원 검색(로그인 ID) - natural id 캐시 -> 2차 캐시 -> DB 순서
+    Optional<User> findByEmail(String email);
+}
@@ -0,0 +1,51 @@
+package com.example.demo.repository;
+
+import com.example.demo.domain.User;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.cache.spi.access.NaturalIdDataAccess;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+
+import java.util.Optional;
+
+@RequiredArgsConstructor
+public class UserRepositoryCustomImpl implements UserRepositoryCustom {
+
+    private final EntityManager entityManager;
+
+    /**
+     * email(natural id)로 회원을 조회합니다.
+     * email -> id는 natural id 캐시, id -> 엔티티는 2차 캐시에서 찾고 없을 때만 DB를 조회합니다.
+     *
+     * 다른 노드에서 email이 바뀐 직후에는 이 노드의 natural id 캐시에 이전 email이 남아 있을 수 있으므로
+     * 읽은 엔티티의 email이 요청과 다르면 그 email의 natural id 캐시 항목만 지우고 DB로 다시 확인합니다.
+     * (영역 전체를 비우면 다른 회원의 email -> id 캐시까지 모든 노드에서 사라짐)
+     */
+    @Override
+    public Optional<User> findByEmail(String email) {
+        SessionImplementor session = entityManager.unwrap(SessionImplementor.class);
+        User user = session.bySimpleNaturalId(User.class).load(email);
+        if (user != null && !email.equals(user.getEmail())) {
+            evictNaturalIdCacheEntry(session, email);
+            user = entityManager.createQuery("select u from User u where u.email = :email", User.class)
+                    .setParameter("email", email)
+                    .getResultStream()
+                    .findFirst()
+                    .orElse(null);
+        }
+        return Optional.ofNullable(user)
+                .filter(found -> email.equals(found.getEmail()) && found.getDeletedAt() == null);
+    }
+
+    // email 하나의 natural id(email -> id) 2차 캐시 항목 제거
+    private static void evictNaturalIdCacheEntry(SessionImplementor session, String email) {
+        EntityPersister persister = session.getFactory().getMappingMetamodel().getEntityDescriptor(User.class);
+        NaturalIdDataAccess cacheAccess = persister.getNaturalIdCacheAccessStrategy();
+        if (cacheAccess == null) {
+            return;
+        }
+        Object naturalId = persister.getNaturalIdMapping().normalizeInput(email);
+        cacheAccess.evict(cacheAccess.generateCacheKey(naturalId, persister, session));
+    }
+}
@@ -2,6 +2,8 @@ package com.example.demo.security;
 
 import com.example.demo.service.JwtRedisService;
 import com.example.demo.util.JwtUtils;
+import com.example.demo.util.TokenDigests;
+import com.example.demo.util.VerifiedClaims;
 import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -27,11 +29,11 @@ import java.util.Arrays;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     /**
-     * JwtUtils : 토큰 파싱, 유효성 검사를 담당하는 유틸 클래스(토큰 관련 예외 처리도 여기에서 담당)
+     * VerifiedTokenCache : JwtUtils 검증 결과 캐시 (토큰 파싱, 유효성 검사는 JwtUtils가 담당)
      * jwtRedisService
      */ 
-    private final JwtUtils jwtUtil;
     private final JwtRedisService jwtRedisService;
+    private final VerifiedTokenCache verifiedTokenCache;
 
     // JWT 인증 필터 건너뛸 엔드포인트 작성(AccessToken을 들고 있는 경우만 필터링)
     private static final List<String> EXCLUDE_URLS = Arrays.asList(
@@ -46,9 +48,9 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     );
 
     
-    public JwtAuthenticationFilter(JwtUtils jwtUtil, JwtRedisService jwtRedisService) {
-        this.jwtUtil = jwtUtil;
+    public JwtAuthenticationFilter(JwtRedisService jwtRedisService, VerifiedTokenCache verifiedTokenCache) {
         this.jwtRedisService = jwtRedisService;
+        this.verifiedTokenCache = verifiedTokenCache;
 
     }
 
@@ -105,14 +107,23 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             // authHeader에서 'Bearer' 접두어를 제거하고 토큰 본문만 반환 
             String token = JwtUtils.extractTokenFrom(authHeader);
 
-            // 토큰 유효성 검사
-            jwtUtil.validation(token);
+            // 토큰 다이제스트 (검증 캐시 키, 블랙리스트 키로 공용)
+            String tokenDigest = TokenDigests.sha256(token);
 
-            // --- AccessToken 블랙리스트 확인 로직 (Redis 도입 시 추가) ---
-            // 이 곳에 RedisService를 주입받아 isAccessTokenBlacklisted(token)을 호출하여
-            // 토큰이 블랙리스트에 있다면 throw new JwtException("Blacklisted token"); 처리.
-            // 예시:
-            if (jwtRedisService.isAccessTokenBlacklisted(token)) {
+            // 토큰 유효성 검사 (서명/만료 검증과 클레임 추출을 한 번의 파싱으로 처리)
+            // 이미 검증된 토큰이면 캐시에서 바로 클레임을 꺼냄 (폐기 확인은 아래에서 매번 수행)
+            VerifiedClaims claims = verifiedTokenCache.verify(token, tokenDigest);
+
+            // Refresh Token(did 클레임 보유)은 재발급/로그아웃 전용 - Bearer 인증에 사용 불가
+            // (워터마크는 Access Token 수명만큼만 보관되므로 여기서 막지 않으면 폐기 후에도 통과)
+            if (claims.deviceId() != null) {
+                throw new JwtException("Refresh token used as access token");
+            }
+
+            // --- AccessToken 폐기 확인 로직 ---
+            // 사용자 워터마크(비밀번호/이메일 변경, 탈퇴) 또는 개별 블랙리스트(로그아웃)에 걸리면
+            // throw new JwtException("Blacklisted token"); 처리.
+            if (jwtRedisService.isAccessTokenRevoked(tokenDigest, claims)) {
                 throw new JwtException("Blacklisted token");
             }
              
@@ -127,13 +138,8 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
              * 컨트롤러 등에서 @AuthenticationPrincipal을 통해 인증 유저 객체에 접근 가능
              */
                 
-            //토큰에서 사용자 정보 추출
-            Long userId = jwtUtil.getUserIdFromToken(token);
-            String email = jwtUtil.getEmailFromToken(token);
-            List<String> roles = jwtUtil.getRolesFromToken(token);
-
-            // CustomUserDetails 생성
-            CustomUserDetails userDetails = new CustomUserDetails(userId, email, roles);
+            // 검증된 클레임으로 CustomUserDetails 생성 (토큰 재파싱 없음)
+            CustomUserDetails userDetails = new CustomUserDetails(claims.userId(), claims.email(), claims.roles());
 
             // 인증 객체 생성(Principal = userDetails, Credential = null, Authorities = 권한 목록)
             UsernamePasswordAuthenticationToken authentication = 
@@ -0,0 +1,255 @@
+package com.example.demo.security;
+
+import com.example.demo.exception.ErrorCode;
+import com.example.demo.exception.RetryLaterException;
+import com.example.demo.util.TokenDigests;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 로그인 무차별 대입(Credential Stuffing) 방어
+ *
+ * 로그인 1회는 DB 조회 + BCrypt 비교로 서비스에서 가장 비싼 작업이므로,
+ * 계정(이메일)과 클라이언트 IP 기준으로 시도 횟수를 제한해 DB/BCrypt 전에 거절합니다.
+ *
+ *  - 카운터     : Redis 슬라이딩 윈도우 (직전/현재 고정 윈도우 가중 합), Lua 스크립트 1회로 판정
+ *  - 점진 잠금   : 한도 초과 시 잠금, 반복될수록 잠금 시간 증가 (base * multiplier^(n-1), 최대 max)
+ *  - 로컬 경로   : 잠금 상태와 노드 내 시도 횟수를 로컬에 보관해, 이미 잠긴/명백히 초과한 키는 Redis 없이 거절
+ *  - 거절 비용   : 스택 트레이스 없는 RetryLaterException (429 + Retry-After, 본문은 미리 인코딩)
+ *  - 장애 시     : Redis 오류/지연 시 로그인 자체를 막지 않도록 허용 (fail-open)
+ *  - 지표       : login.guard.attempts{result=admitted|rejected|error, scope=account|ip|none}
+ */
+@Slf4j
+@Component
+public class LoginAttemptGuard {
+
+    private static final String KEY_PREFIX = "loginGuard:";
+    private static final String SCOPE_ACCOUNT = "account";
+    private static final String SCOPE_IP = "ip";
+
+    /**
+     * 슬라이딩 윈도우 카운터 + 점진 잠금 스크립트
+     * KEYS[1]=직전 윈도우, KEYS[2]=현재 윈도우, KEYS[3]=잠금, KEYS[4]=잠금 횟수
+     * ARGV[1]=한도, ARGV[2]=윈도우(ms), ARGV[3]=현재 윈도우 경과(ms),
+     * ARGV[4]=기본 잠금(ms), ARGV[5]=배수, ARGV[6]=최대 잠금(ms), ARGV[7]=잠금 횟수 보관(ms)
+     * 허용이면 0, 잠금 중이거나 이번 시도로 잠기면 남은 잠금 시간(ms)을 반환
+     */
+    private static final RedisScript<Long> ATTEMPT_SCRIPT = RedisScript.of("""
+            local locked = redis.call('PTTL', KEYS[3])
+            if locked > 0 then
+              return locked
+            end
+            local window = tonumber(ARGV[2])
+            local current = redis.call('INCR', KEYS[2])
+            if current == 1 then
+              redis.call('PEXPIRE', KEYS[2], window * 2)
+            end
+            local previous = tonumber(redis.call('GET', KEYS[1]) or '0')
+            local estimate = previous * (window - tonumber(ARGV[3])) / window + current
+            if estimate <= tonumber(ARGV[1]) then
+              return 0
+            end
+            local strikes = redis.call('INCR', KEYS[4])
+            redis.call('PEXPIRE', KEYS[4], ARGV[7])
+            local lockMillis = math.floor(math.min(tonumber(ARGV[4]) * tonumber(ARGV[5]) ^ (strikes - 1), tonumber(ARGV[6])))
+            redis.call('SET', KEYS[3], '1', 'PX', lockMillis)
+            return lockMillis
+            """, Long.class);
+
+    private final ReactiveStringRedisTemplate reactiveStringRedisTemplate;
+    private final boolean enabled;
+    private final long windowMillis;
+    private final int accountMaxAttempts;
+    private final int ipMaxAttempts;
+    private final long lockoutBaseMillis;
+    private final double lockoutMultiplier;
+    private final long lockoutMaxMillis;
+    private final long strikeTtlMillis;
+    private final long redisTimeoutMillis;
+
+    // 로컬 경로: 키 -> 잠금 해제 시각(epoch millis), 키 -> 노드 내 현재 윈도우 시도 횟수
+    private final Cache<String, Long> localLocks;
+    private final Cache<String, LocalWindow> localWindows;
+
+    private final Counter admittedCounter;
+    private final Counter accountRejectedCounter;
+    private final Counter ipRejectedCounter;
+    private final Counter errorCounter;
+
+    public LoginAttemptGuard(ReactiveStringRedisTemplate reactiveStringRedisTemplate,
+                             MeterRegistry meterRegistry,
+                             @Value("${security.login-guard.enabled:true}") boolean enabled,
+                             @Value("${security.login-guard.window-seconds:60}") long windowSeconds,
+                             @Value("${security.login-guard.account-max-attempts:10}") int accountMaxAttempts,
+                             @Value("${security.login-guard.ip-max-attempts:100}") int ipMaxAttempts,
+                             @Value("${security.login-guard.lockout-base-seconds:30}") long lockoutBaseSeconds,
+                             @Value("${security.login-guard.lockout-multiplier:2}") double lockoutMultiplier,
+                             @Value("${security.login-guard.lockout-max-seconds:3600}") long lockoutMaxSeconds,
+                             @Value("${security.login-guard.strike-ttl-seconds:86400}") long strikeTtlSeconds,
+                             @Value("${security.login-guard.redis-timeout-ms:200}") long redisTimeoutMillis,
+                             @Value("${security.login-guard.local-max-keys:100000}") long localMaxKeys) {
+        this.reactiveStringRedisTemplate = reactiveStringRedisTemplate;
+        this.enabled = enabled;
+        this.windowMillis = TimeUnit.SECONDS.toMillis(windowSeconds);
+        this.accountMaxAttempts = accountMaxAttempts;
+        this.ipMaxAttempts = ipMaxAttempts;
+        this.lockoutBaseMillis = TimeUnit.SECONDS.toMillis(lockoutBaseSeconds);
+        this.lockoutMultiplier = lockoutMultiplier;
+        this.lockoutMaxMillis = TimeUnit.SECONDS.toMillis(lockoutMaxSeconds);
+        this.strikeTtlMillis = TimeUnit.SECONDS.toMillis(strikeTtlSeconds);
+        this.redisTimeoutMillis = redisTimeoutMillis;
+
+        this.localLocks = Caffeine.newBuilder()
+                .maximumSize(localMaxKeys)
+                .expireAfterWrite(Duration.ofMillis(lockoutMaxMillis))
+                .build();
+        this.localWindows = Caffeine.newBuilder()
+                .maximumSize(localMaxKeys)
+                .expireAfterWrite(Duration.ofMillis(windowMillis))
+                .build();
+
+        this.admittedCounter = attempts(meterRegistry, "admitted", "none");
+        this.accountRejectedCounter = attempts(meterRegistry, "rejected", SCOPE_ACCOUNT);
+        this.ipRejectedCounter = attempts(meterRegistry, "rejected", SCOPE_IP);
+        this.errorCounter = attempts(meterRegistry, "error", "none");
+    }
+
+
+    /**
+     * 로그인 시도를 허용할지 판정합니다. (DB 조회/BCrypt 이전에 호출)
+     *
+     * @param email    로그인 요청 이메일
+     * @param clientIp 클라이언트 IP
+     * @throws RetryLaterException 계정 또는 IP가 한도를 넘었거나 잠금 중일 때 (429 + Retry-After)
+     */
+    public void checkAttempt(String email, String clientIp) {
+        if (!enabled) {
+            return;
+        }
+        String accountKey = accountKey(email);
+        String ipKey = KEY_PREFIX + "{i:" + clientIp + "}";
+        long now = System.currentTimeMillis();
+
+        // 1. 로컬 경로 (Redis 호출 없음)
+        rejectIfLockedLocally(accountKey, SCOPE_ACCOUNT, now);
+        rejectIfLockedLocally(ipKey, SCOPE_IP, now);
+        rejectIfOverLocally(accountKey, accountMaxAttempts, SCOPE_ACCOUNT, now);
+        rejectIfOverLocally(ipKey, ipMaxAttempts, SCOPE_IP, now);
+
+        // 2. Redis 판정 (계정/IP 스크립트를 동시에 보내 한 번의 파이프라인으로 처리)
+        long[] lockMillis;
+        try {
+            lockMillis = Mono.zip(attempt(accountKey, accountMaxAttempts, now), attempt(ipKey, ipMaxAttempts, now))
+                    .map(results -> new long[] { results.getT1(), results.getT2() })
+                    .toFuture()
+                    .get(redisTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            errorCounter.increment();
+            admittedCounter.increment();
+            return;
+        } catch (Exception e) {
+            log.warn("로그인 시도 제한 확인 실패, 허용 처리: {}", e.toString());
+            errorCounter.increment();
+            admittedCounter.increment();
+            return;
+        }
+
+        rejectIfLocked(accountKey, lockMillis[0], SCOPE_ACCOUNT, now);
+        rejectIfLocked(ipKey, lockMillis[1], SCOPE_IP, now);
+        admittedCounter.increment();
+    }
+
+
+    /**
+     * 로그인 성공 시 계정의 시도 횟수와 잠금 횟수를 초기화합니다. (fire-and-forget)
+     * IP 카운터는 유지합니다. (한 IP에서 여러 계정을 시도하는 공격 대비)
+     *
+     * @param email 로그인에 성공한 이메일
+     */
+    public void recordSuccess(String email) {
+        if (!enabled) {
+            return;
+        }
+        String accountKey = accountKey(email);
+        localWindows.invalidate(accountKey);
+
+        long bucket = System.currentTimeMillis() / windowMillis;
+        reactiveStringRedisTemplate.delete(accountKey + ":w:" + (bucket - 1), accountKey + ":w:" + bucket, accountKey + ":strikes")
+                .subscribe(deleted -> { }, e -> log.warn("로그인 시도 카운터 초기화 실패: {}", e.toString()));
+    }
+
+
+    // 이메일은 길이가 제한되지 않으므로 다이제스트로 키를 만듦 (대소문자/공백 정규화)
+    private static String accountKey(String email) {
+        String normalized = email == null ? "" : email.trim().toLowerCase(Locale.ROOT);
+        return KEY_PREFIX + "{a:" + TokenDigests.sha256(normalized) + "}";
+    }
+
+    private Mono<Long> attempt(String key, int maxAttempts, long now) {
+        long bucket = now / windowMillis;
+        List<String> keys = List.of(key + ":w:" + (bucket - 1), key + ":w:" + bucket, key + ":lock", key + ":strikes");
+        List<String> args = List.of(Integer.toString(maxAttempts), Long.toString(windowMillis),
+                Long.toString(now % windowMillis), Long.toString(lockoutBaseMillis),
+                Double.toString(lockoutMultiplier), Long.toString(lockoutMaxMillis), Long.toString(strikeTtlMillis));
+        return reactiveStringRedisTemplate.execute(ATTEMPT_SCRIPT, keys, args).next().defaultIfEmpty(0L);
+    }
+
+    private void rejectIfLockedLocally(String key, String scope, long now) {
+        Long lockedUntil = localLocks.getIfPresent(key);
+        if (lockedUntil != null && lockedUntil > now) {
+            throw reject(scope, lockedUntil - now);
+        }
+    }
+
+    // 노드 내 시도 횟수만으로도 한도를 넘었다면 전체 합계는 당연히 넘었으므로 Redis 없이 거절
+    private void rejectIfOverLocally(String key, int maxAttempts, String scope, long now) {
+        long bucket = now / windowMillis;
+        LocalWindow window = localWindows.asMap().compute(key,
+                (k, current) -> current == null || current.bucket() != bucket ? new LocalWindow(bucket, 1) : current.next());
+        if (window.count() > maxAttempts) {
+            throw reject(scope, windowMillis - now % windowMillis);
+        }
+    }
+
+    private void rejectIfLocked(String key, long lockMillis, String scope, long now) {
+        if (lockMillis > 0) {
+            localLocks.put(key, now + lockMillis);
+            throw reject(scope, lockMillis);
+        }
+    }
+
+    private RetryLaterException reject(String scope, long retryAfterMillis) {
+        (SCOPE_ACCOUNT.equals(scope) ? accountRejectedCounter : ipRejectedCounter).increment();
+        long retryAfterSeconds = Math.max(1L, TimeUnit.MILLISECONDS.toSeconds(retryAfterMillis + 999L));
+        return new RetryLaterException(ErrorCode.TOO_MANY_LOGIN_ATTEMPTS, retryAfterSeconds);
+    }
+
+    private static Counter attempts(MeterRegistry meterRegistry, String result, String scope) {
+        return Counter.builder("login.guard.attempts")
+                .tag("result", result)
+                .tag("scope", scope)
+                .register(meterRegistry);
+    }
+
+
+    // 노드 내 고정 윈도우 시도 횟수 (불변, compute로 교체)
+    private record LocalWindow(long bucket, int count) {
+        LocalWindow next() {
+            return new LocalWindow(bucket, count + 1);
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package com.example.demo.security;
+
+import com.example.demo.exception.CustomException;
+import com.example.demo.exception.ErrorCode;
+import com.example.demo.exception.RetryLaterException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 비밀번호 해시(BCrypt) 전용 실행기
+ *
+ * BCrypt는 의도적으로 느린 CPU 작업이므로 Tomcat 요청 스레드에서 직접 돌리면
+ * 로그인 폭주 시 다른 API까지 스레드가 고갈됩니다.
+ * 해시 작업을 CPU 코어 수 크기의 전용 풀 + 제한된 큐로 격리하고,
+ * 큐가 가득 차면 즉시 503 + Retry-After로 거절합니다. (Admission Control)
+ *
+ *  - 일괄 해시 : 회원 일괄 등록(encodeAll)은 별도 풀(security.password.import-threads)에서 실행해
+ *              로그인/회원가입 해시 풀을 점유하지 않음 (큐가 차면 호출 스레드가 직접 해시 -> 자연스러운 배압)
+ *  - 지표 : password.hash (Timer, op=matches|encode), password.hash.queue.depth,
+ *           password.hash.active, password.hash.rejected
+ */
+@Component
+public class PasswordHasher {
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final ThreadPoolExecutor importExecutor;
+    private final long timeoutMillis;
+    private final long retryAfterSeconds;
+
+    private final Timer matchesTimer;
+    private final Timer encodeTimer;
+    private final Counter rejectedCounter;
+
+    public PasswordHasher(PasswordEncoder passwordEncoder,
+                          MeterRegistry meterRegistry,
+                          @Value("${security.password.hash-threads:0}") int threads,
+                          @Value("${security.password.hash-queue-capacity:64}") int queueCapacity,
+                          @Value("${security.password.hash-timeout-ms:5000}") long timeoutMillis,
+                          @Value("${security.password.retry-after-seconds:1}") long retryAfterSeconds,
+                          @Value("${security.password.import-threads:0}") int importThreads) {
+        this.passwordEncoder = passwordEncoder;
+        this.timeoutMillis = timeoutMillis;
+        this.retryAfterSeconds = retryAfterSeconds;
+
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger sequence = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hash-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        // 일괄 해시 풀 : 기본은 코어 수의 절반 (나머지는 로그인 등 요청 처리용)
+        int importPoolSize = importThreads > 0 ? importThreads : Math.max(1, poolSize / 2);
+        AtomicInteger importSequence = new AtomicInteger();
+        this.importExecutor = new ThreadPoolExecutor(importPoolSize, importPoolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(importPoolSize * 4),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-import-hash-" + importSequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+
+        this.matchesTimer = Timer.builder("password.hash").tag("op", "matches").register(meterRegistry);
+        this.encodeTimer = Timer.builder("password.hash").tag("op", "encode").register(meterRegistry);
+        this.rejectedCounter = Counter.builder("password.hash.rejected").register(meterRegistry);
+        Gauge.builder("password.hash.queue.depth", executor, e -> e.getQueue().size()).register(meterRegistry);
+        Gauge.builder("password.hash.active", executor, ThreadPoolExecutor::getActiveCount).register(meterRegistry);
+    }
+
+    /**
+     * 원문 비밀번호와 저장된 해시가 일치하는지 확인합니다.
+     *
+     * @throws RetryLaterException 해시 풀이 포화 상태일 때 (503)
+     */
+    public boolean matches(String rawPassword, String encodedPassword) {
+        return submit(() -> matchesTimer.record(() -> passwordEncoder.matches(rawPassword, encodedPassword)));
+    }
+
+    /**
+     * 원문 비밀번호를 해시합니다.
+     *
+     * @throws RetryLaterException 해시 풀이 포화 상태일 때 (503)
+     */
+    public String encode(String rawPassword) {
+        return submit(() -> encodeTimer.record(() -> passwordEncoder.encode(rawPassword)));
+    }
+
+    /**
+     * 여러 비밀번호를 일괄 해시 전용 풀에서 병렬로 해시합니다. (회원 일괄 등록용, 모두 끝날 때까지 대기)
+     *
+     * @param rawPasswords 원문 비밀번호 목록
+     * @return 입력 순서와 같은 해시 목록
+     */
+    public List<String> encodeAll(List<String> rawPasswords) {
+        List<Future<String>> futures = new ArrayList<>(rawPasswords.size());
+        for (String rawPassword : rawPasswords) {
+            futures.add(importExecutor.submit(() -> encodeTimer.record(() -> passwordEncoder.encode(rawPassword))));
+        }
+
+        List<String> encoded = new ArrayList<>(futures.size());
+        try {
+            for (Future<String> future : futures) {
+                encoded.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            futures.forEach(future -> future.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new CustomException(ErrorCode.INTERNAL_ERROR);
+        } catch (ExecutionException e) {
+            futures.forEach(future -> future.cancel(true));
+            throw new CustomException(ErrorCode.INTERNAL_ERROR);
+        }
+        return encoded;
+    }
+
+    /**
+     * 저장된 해시의 cost가 현재 설정(security.password.bcrypt-strength)보다 낮아 재해시가 필요한지 여부
+     */
+    public boolean needsRehash(String encodedPassword) {
+        return passwordEncoder.upgradeEncoding(encodedPassword);
+    }
+
+
+    private <T> T submit(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            rejectedCounter.increment();
+            throw new RetryLaterException(ErrorCode.PASSWORD_HASHING_BUSY, retryAfterSeconds);
+        }
+
+        try {
+            return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            rejectedCounter.increment();
+            throw new RetryLaterException(ErrorCode.PASSWORD_HASHING_BUSY, retryAfterSeconds);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new CustomException(ErrorCode.INTERNAL_ERROR);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new CustomException(ErrorCode.INTERNAL_ERROR);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+        importExecutor.shutdown();
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.demo.security;
+
+import com.example.demo.util.JwtUtils;
+import com.example.demo.util.VerifiedClaims;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 서명 검증이 끝난 Access Token 캐시
+ *
+ * 같은 토큰이 수명 동안 수백 번 재전송되므로, 토큰 다이제스트를 키로
+ * 검증된 클레임을 보관해 HS256 검증과 클레임 디코딩을 생략합니다.
+ *
+ *  - 크기 제한 : jwt.verified-cache.max-size (초과 시 Caffeine 정책으로 제거)
+ *  - 만료     : 각 엔트리는 토큰 자신의 exp 시각에 만료
+ *  - 폐기     : 캐시는 "서명 검증" 결과만 보관. 블랙리스트 확인은 호출 측(필터)에서 매 요청 수행
+ *  - 지표     : cache.gets{result=hit|miss}, cache.evictions 등 (name=jwtVerifiedTokens)
+ */
+@Component
+public class VerifiedTokenCache {
+
+    private final JwtUtils jwtUtils;
+    private final Cache<String, VerifiedClaims> cache;
+
+    public VerifiedTokenCache(JwtUtils jwtUtils,
+                              MeterRegistry meterRegistry,
+                              @Value("${jwt.verified-cache.max-size:10000}") long maxSize) {
+        this.jwtUtils = jwtUtils;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new ExpireAtTokenExp())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "jwtVerifiedTokens");
+    }
+
+    /**
+     * 캐시를 먼저 조회하고, 없으면 JwtUtils로 검증한 뒤 결과를 캐시에 저장합니다.
+     *
+     * @param token  : 접두어("bearer") 제거한 실제 토큰 문자열
+     * @param digest : 토큰 다이제스트 (TokenDigests.sha256), 블랙리스트 확인과 공유하기 위해 호출 측에서 계산
+     * @return 검증된 클레임
+     * @throws JwtException : 유효하지 않은 토큰일 경우 (실패 결과는 캐시하지 않음)
+     */
+    public VerifiedClaims verify(String token, String digest) throws JwtException {
+        VerifiedClaims cached = cache.getIfPresent(digest);
+        if (cached != null) {
+            return cached;
+        }
+
+        VerifiedClaims claims = jwtUtils.verify(token);
+        cache.put(digest, claims);
+        return claims;
+    }
+
+
+    // 엔트리 만료 시각 = 토큰 exp (이미 지난 경우 즉시 만료)
+    private static final class ExpireAtTokenExp implements Expiry<String, VerifiedClaims> {
+
+        @Override
+        public long expireAfterCreate(String key, VerifiedClaims claims, long currentTime) {
+            long remainingMillis = claims.remainingMillis(System.currentTimeMillis());
+            return TimeUnit.MILLISECONDS.toNanos(remainingMillis);
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, VerifiedClaims claims, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, claims, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, VerifiedClaims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -14,20 +14,25 @@ public interface AuthService {
 
     /**
      * 사용자를 인증하고 Access Token 및 Refresh Token을 발급합니다.
+     * 계정/IP별 시도 횟수 제한을 DB 조회와 비밀번호 검증보다 먼저 적용합니다.
      *
      * @param request 로그인 요청에 필요한 사용자 이메일과 비밀번호를 담은 DTO.
+     * @param clientIp 요청한 클라이언트 IP (시도 횟수 제한 키)
      * @return 로그인 성공 시 발급된 Access Token과 Refresh Token 정보를 담은 DTO.
      */
-    AuthResponseDto login(LoginRequest loginRequest);
+    AuthResponseDto login(LoginRequest loginRequest, String clientIp);
 
         
     /**
      * 현재 로그인된 사용자를 로그아웃 처리합니다.
-     * Redis에 저장된 해당 사용자의 Refresh Token을 무효화합니다.
+     * Redis에 저장된 해당 기기(세션)의 Refresh Token을 무효화합니다.
+     * allDevices=true면 해당 사용자의 모든 기기 세션을 무효화합니다.
+     * Authorization 헤더로 Access Token이 함께 오면 만료 시각까지 블랙리스트에 등록합니다.
      *
-     * @param userId 로그아웃할 사용자의 고유 ID.
+     * @param logoutRequest 로그아웃할 기기의 Refresh Token과 전체 기기 여부.
+     * @param authorizationHeader HTTP 요청 헤더의 `Authorization` 필드 값 (Bearer Access Token, 없으면 null).
      */
-    void logout(LogoutRequest logoutRequest);
+    void logout(LogoutRequest logoutRequest, String authorizationHeader);
 
 
     /**
@@ -0,0 +1,260 @@
+package com.example.demo.service;
+
+import com.example.demo.util.BloomFilter;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.SubscriptionListener;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Redis 토큰 폐기(revocation) 상태의 로컬 사본
+ *
+ * 1. 블랙리스트 Bloom Filter
+ *    블랙리스트에 오르는 토큰은 거의 없으므로, 대부분의 요청은 "블랙리스트 아님"을
+ *    이 필터만으로 확정하고 Redis EXISTS 왕복을 생략합니다.
+ *    "있을 수도 있음"인 경우에만 JwtRedisService가 Redis로 재확인합니다.
+ *
+ * 2. 사용자별 revoked-before 워터마크
+ *    "이 시각 이전에 발급된 토큰은 무효" 값을 userId -> epoch millis 맵으로 보관해 O(1)로 확인합니다.
+ *
+ *  - 노드 간 전파 : Redis pub/sub 채널(REVOCATION_CHANNEL)로 "t:{digest}", "u:{userId}:{epochMillis}" 전파
+ *  - 초기화      : 기동 완료 시 Redis SCAN으로 전체 재구성
+ *  - 주기적 재구성 : Bloom Filter는 삭제가 불가하므로 만료된 키를 비우기 위해 주기적으로 새로 구성
+ *  - 재구성 전에는 ready=false 이므로 호출 측은 Redis로 직접 확인해야 함
+ *  - 재동기화    : 구독이 끊겼다가 다시 맺어지면(Lettuce 재연결 후 재구독, 컨테이너 복구) 그 사이 놓친 이벤트가 있을 수
+ *                 있으므로 ready=false로 돌리고 바로 재구성합니다. 끊긴 동안의 누락은 재구독 시점 또는 다음 주기적
+ *                 재구성까지만 남으므로, 재구성 주기는 Access Token 수명보다 충분히 짧게 둡니다.
+ *  - 발행 실패   : 상태는 이미 Redis에 기록된 뒤이므로 요청을 실패시키지 않고 로그만 남김 (다른 노드는 재구성으로 반영)
+ */
+@Slf4j
+@Component
+public class BlacklistMirror implements MessageListener, SubscriptionListener {
+
+    public static final String REVOCATION_CHANNEL = "revocation:events";
+    public static final String BLACKLIST_PREFIX = "blacklist:";
+    public static final String REVOKED_BEFORE_PREFIX = "revokedBefore:";
+
+    private static final String TOKEN_EVENT = "t:";
+    private static final String USER_EVENT = "u:";
+    private static final int SCAN_BATCH = 500;
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final long expectedInsertions;
+    private final double falsePositiveRate;
+
+    private volatile BloomFilter current;
+    private volatile Map<Long, Long> revokedBefore = new ConcurrentHashMap<>();
+    // 재구성 중 들어온 추가분을 새 필터/맵에도 반영
+    private volatile BloomFilter rebuildingFilter;
+    private volatile Map<Long, Long> rebuildingRevokedBefore;
+    private volatile boolean ready = false;
+    // 첫 구독 이후의 구독 알림은 재구독으로 보고 재동기화
+    private final AtomicBoolean subscribedOnce = new AtomicBoolean();
+    private final ExecutorService resyncExecutor;
+
+    public BlacklistMirror(StringRedisTemplate stringRedisTemplate,
+                           RedisMessageListenerContainer listenerContainer,
+                           @Value("${jwt.blacklist-filter.expected-insertions:100000}") long expectedInsertions,
+                           @Value("${jwt.blacklist-filter.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveRate = falsePositiveRate;
+        this.current = new BloomFilter(expectedInsertions, falsePositiveRate);
+        this.resyncExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "blacklist-mirror-resync");
+            thread.setDaemon(true);
+            return thread;
+        });
+        listenerContainer.addMessageListener(this, new ChannelTopic(REVOCATION_CHANNEL));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        resyncExecutor.shutdownNow();
+    }
+
+    /**
+     * 로컬 사본이 Redis 상태를 반영하고 있는지 여부 (초기 재구성 완료 후 true)
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * 블랙리스트에 있을 수도 있으면 true, 확실히 없으면 false.
+     *
+     * @param tokenDigest 토큰 다이제스트 (TokenDigests.sha256)
+     */
+    public boolean mightContain(String tokenDigest) {
+        return current.mightContain(tokenDigest);
+    }
+
+    /**
+     * 사용자의 revoked-before 워터마크 (epoch millis). 없으면 0.
+     * 이 시각보다 먼저 발급된(iatms < watermark) Access Token은 폐기된 것으로 봅니다.
+     */
+    public long revokedBefore(Long userId) {
+        Long watermark = revokedBefore.get(userId);
+        return watermark == null ? 0L : watermark;
+    }
+
+    /**
+     * 블랙리스트 추가를 로컬에 반영하고 다른 노드에 전파합니다.
+     */
+    public void publishBlacklisted(String tokenDigest) {
+        addToken(tokenDigest);
+        publish(TOKEN_EVENT + tokenDigest);
+    }
+
+    /**
+     * 워터마크 갱신을 로컬에 반영하고 다른 노드에 전파합니다.
+     */
+    public void publishRevokedBefore(Long userId, long epochMillis) {
+        putWatermark(userId, epochMillis);
+        publish(USER_EVENT + userId + ":" + epochMillis);
+    }
+
+    /** 다른 노드(또는 자기 자신)가 발행한 폐기 이벤트 수신 */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String event = new String(message.getBody(), StandardCharsets.UTF_8);
+        try {
+            if (event.startsWith(TOKEN_EVENT)) {
+                addToken(event.substring(TOKEN_EVENT.length()));
+            } else if (event.startsWith(USER_EVENT)) {
+                int sep = event.lastIndexOf(':');
+                putWatermark(Long.valueOf(event.substring(USER_EVENT.length(), sep)),
+                             Long.parseLong(event.substring(sep + 1)));
+            }
+        } catch (RuntimeException e) {
+            log.warn("알 수 없는 폐기 이벤트 무시: {}", event);
+        }
+    }
+
+    /** 폐기 채널 구독 완료 (재연결 후 재구독 포함) */
+    @Override
+    public void onChannelSubscribed(byte[] channel, long count) {
+        if (!REVOCATION_CHANNEL.equals(new String(channel, StandardCharsets.UTF_8))) {
+            return;
+        }
+        if (!subscribedOnce.compareAndSet(false, true)) {
+            log.info("폐기 채널 재구독, 놓친 이벤트 반영을 위해 로컬 사본 재구성");
+            requestResync();
+        }
+    }
+
+    /** 폐기 채널 구독 해제 - 이후 이벤트를 받지 못하므로 재구독/재구성 전까지 Redis로 직접 확인 */
+    @Override
+    public void onChannelUnsubscribed(byte[] channel, long count) {
+        if (REVOCATION_CHANNEL.equals(new String(channel, StandardCharsets.UTF_8))) {
+            ready = false;
+        }
+    }
+
+
+    /**
+     * Redis SCAN으로 블랙리스트/워터마크를 다시 읽어 새 사본으로 교체합니다.
+     * 기동 완료 시 1회, 재구독 시, 그리고 jwt.blacklist-filter.rebuild-interval-ms 주기로 실행됩니다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${jwt.blacklist-filter.rebuild-interval-ms:60000}",
+               fixedDelayString = "${jwt.blacklist-filter.rebuild-interval-ms:60000}")
+    public synchronized void rebuild() {
+        BloomFilter nextFilter = new BloomFilter(expectedInsertions, falsePositiveRate);
+        Map<Long, Long> nextRevokedBefore = new ConcurrentHashMap<>();
+        rebuildingFilter = nextFilter;
+        rebuildingRevokedBefore = nextRevokedBefore;
+        try {
+            int tokens = 0;
+            for (String key : scanKeys(BLACKLIST_PREFIX + "*")) {
+                nextFilter.add(key.substring(BLACKLIST_PREFIX.length()));
+                tokens++;
+            }
+
+            List<String> watermarkKeys = scanKeys(REVOKED_BEFORE_PREFIX + "*");
+            for (int from = 0; from < watermarkKeys.size(); from += SCAN_BATCH) {
+                List<String> batch = watermarkKeys.subList(from, Math.min(from + SCAN_BATCH, watermarkKeys.size()));
+                List<String> values = stringRedisTemplate.opsForValue().multiGet(batch);
+                for (int i = 0; i < batch.size(); i++) {
+                    String value = values == null ? null : values.get(i);
+                    if (value != null) {
+                        Long userId = Long.valueOf(batch.get(i).substring(REVOKED_BEFORE_PREFIX.length()));
+                        nextRevokedBefore.merge(userId, Long.parseLong(value), Math::max);
+                    }
+                }
+            }
+
+            current = nextFilter;
+            revokedBefore = nextRevokedBefore;
+            ready = true;
+            log.info("토큰 폐기 로컬 사본 재구성 완료: blacklist={}, watermarks={}", tokens, nextRevokedBefore.size());
+        } catch (RuntimeException e) {
+            // Redis 장애 시 기존 사본 유지. 한 번도 재구성되지 않았다면 ready=false로 Redis 직접 확인
+            log.warn("토큰 폐기 로컬 사본 재구성 실패: {}", e.getMessage());
+        } finally {
+            rebuildingFilter = null;
+            rebuildingRevokedBefore = null;
+        }
+    }
+
+
+    // 재구성 전까지는 로컬 사본을 믿지 않고 Redis로 직접 확인 (구독 알림 스레드를 막지 않도록 별도 스레드에서 재구성)
+    private void requestResync() {
+        ready = false;
+        resyncExecutor.execute(this::rebuild);
+    }
+
+    // 상태는 이미 Redis에 기록되었으므로 발행 실패로 요청을 실패시키지 않음 (다른 노드는 재구성으로 반영)
+    private void publish(String event) {
+        try {
+            stringRedisTemplate.convertAndSend(REVOCATION_CHANNEL, event);
+        } catch (RuntimeException e) {
+            log.warn("폐기 이벤트 발행 실패, 다른 노드는 다음 재구성 때 반영: {}", e.getMessage());
+        }
+    }
+
+    private List<String> scanKeys(String pattern) {
+        List<String> keys = new ArrayList<>();
+        ScanOptions options = ScanOptions.scanOptions().match(pattern).count(1000).build();
+        try (Cursor<String> cursor = stringRedisTemplate.scan(options)) {
+            cursor.forEachRemaining(keys::add);
+        }
+        return keys;
+    }
+
+    private void addToken(String tokenDigest) {
+        current.add(tokenDigest);
+        BloomFilter next = rebuildingFilter;
+        if (next != null) {
+            next.add(tokenDigest);
+        }
+    }
+
+    private void putWatermark(Long userId, long epochMillis) {
+        revokedBefore.merge(userId, epochMillis, Math::max);
+        Map<Long, Long> next = rebuildingRevokedBefore;
+        if (next != null) {
+            next.merge(userId, epochMillis, Math::max);
+        }
+    }
+}
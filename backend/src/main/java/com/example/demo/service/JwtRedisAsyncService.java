@@ -0,0 +1,199 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.users.ProfileResponse;
+import com.example.demo.util.JwtUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.serializer.GenericToStringSerializer;
+import org.springframework.data.redis.serializer.RedisElementReader;
+import org.springframework.data.redis.serializer.RedisElementWriter;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * JwtRedisService의 비동기(논블로킹) 버전
+ *
+ * Lettuce 리액티브 클라이언트 위에서 동작하며 모든 메서드가 CompletableFuture를 반환합니다.
+ * 요청 스레드는 Redis 응답을 기다리지 않고, 동시에 보낸 명령은 Lettuce가 하나의 커넥션에서
+ * 파이프라인으로 전송합니다. 여러 키를 다루는 작업은 다중 키 명령(DEL, MGET)으로 묶어 1 round trip으로 처리합니다.
+ *
+ * 키/값 형식은 JwtRedisService와 동일하므로 두 서비스를 섞어 써도 됩니다.
+ *
+ *  - 보안 작업(세션 삭제, 워터마크)은 호출 측이 결과를 기다린 뒤 응답해야 합니다. (await, 최대 redis.async.await-timeout-ms)
+ *  - 프로필 캐싱 같은 fire-and-forget 쓰기는 반환값을 무시해도 되며, 실패는 로그로만 남깁니다.
+ */
+@Slf4j
+@Service
+public class JwtRedisAsyncService {
+
+    // 숫자 결과 스크립트는 결과 직렬화기를 사용하지 않음
+    private static final RedisElementReader<Long> RAW_RESULT =
+            RedisElementReader.from(new GenericToStringSerializer<>(Long.class));
+
+    private final ReactiveRedisTemplate<String, Object> reactiveRedisTemplate;
+    private final ReactiveStringRedisTemplate reactiveStringRedisTemplate;
+    private final JwtUtils jwtUtils;
+    private final BlacklistMirror blacklistMirror;
+    private final JwtRedisService jwtRedisService;
+    private final Duration awaitTimeout;
+
+    public JwtRedisAsyncService(ReactiveRedisTemplate<String, Object> reactiveRedisTemplate,
+                                ReactiveStringRedisTemplate reactiveStringRedisTemplate,
+                                JwtUtils jwtUtils, BlacklistMirror blacklistMirror, JwtRedisService jwtRedisService,
+                                @Value("${redis.async.await-timeout-ms:1000}") long awaitTimeoutMillis) {
+        this.reactiveRedisTemplate = reactiveRedisTemplate;
+        this.reactiveStringRedisTemplate = reactiveStringRedisTemplate;
+        this.jwtUtils = jwtUtils;
+        this.blacklistMirror = blacklistMirror;
+        this.jwtRedisService = jwtRedisService;
+        this.awaitTimeout = Duration.ofMillis(awaitTimeoutMillis);
+    }
+
+
+    /**
+     * 회원 탈퇴 시 Redis 정리를 한 번에 수행합니다.
+     * 세션 키와 캐시 키를 하나의 DEL로 삭제하고, 워터마크 SET과 함께 파이프라인으로 전송합니다.
+     * (기존: JwtRedisService.invalidateAllUserTokens + deleteAllUserCache = 4 round trip -> 1 round trip)
+     *
+     * @param userId 탈퇴하는 사용자 ID
+     */
+    public CompletableFuture<Void> withdrawUser(Long userId) {
+        List<String> keys = new ArrayList<>(JwtRedisService.sessionAndGraceKeys(userId));
+        keys.addAll(JwtRedisService.profileKeys(userId));
+        return revokeUser(userId, keys);
+    }
+
+
+    /**
+     * 사용자 프로필을 Redis에 캐시합니다. (fire-and-forget 가능)
+     * JwtRedisService.cacheUserProfile과 같이 더 새로운 버전이 있으면 쓰지 않습니다.
+     * 캐시 쓰기 실패는 응답에 영향을 주지 않으므로 로그만 남기고 정상 완료됩니다.
+     *
+     * @param userId          캐시할 사용자의 고유 ID
+     * @param profileResponse 캐시할 사용자 프로필 정보
+     */
+    public CompletableFuture<Void> cacheUserProfile(Long userId, ProfileResponse profileResponse) {
+        List<byte[]> args = List.of(jwtRedisService.profileWriteArgs(profileResponse));
+        return reactiveRedisTemplate.execute(JwtRedisService.PROFILE_WRITE_SCRIPT, JwtRedisService.profileKeys(userId), args,
+                        RedisElementWriter.from(RedisSerializer.byteArray()), RAW_RESULT)
+                .next()
+                .doOnError(e -> log.warn("프로필 캐시 저장 실패 userId={}", userId, e))
+                .onErrorResume(e -> Mono.empty())
+                .then()
+                .toFuture();
+    }
+
+
+    /**
+     * 여러 사용자의 프로필을 한 번에 캐시합니다. (fire-and-forget 가능)
+     * 사용자별 버전 비교 스크립트를 동시에 보내 Lettuce가 하나의 파이프라인으로 전송합니다.
+     *
+     * @param profiles 사용자 ID -> 캐시할 프로필
+     */
+    public CompletableFuture<Void> cacheUserProfiles(Map<Long, ProfileResponse> profiles) {
+        return Flux.fromIterable(profiles.entrySet())
+                .flatMap(entry -> reactiveRedisTemplate.execute(JwtRedisService.PROFILE_WRITE_SCRIPT,
+                        JwtRedisService.profileKeys(entry.getKey()),
+                        List.of(jwtRedisService.profileWriteArgs(entry.getValue())),
+                        RedisElementWriter.from(RedisSerializer.byteArray()), RAW_RESULT))
+                .doOnError(e -> log.warn("프로필 캐시 일괄 저장 실패 ({}건)", profiles.size(), e))
+                .onErrorResume(e -> Mono.empty())
+                .then()
+                .toFuture();
+    }
+
+
+    /**
+     * 여러 사용자의 프로필을 한 번의 MGET으로 조회합니다.
+     * redis.async.await-timeout-ms 안에 응답이 없으면 명령 구독을 취소하고 TimeoutException으로 완료됩니다.
+     *
+     * @param userIds 조회할 사용자 ID 목록
+     * @return 캐시에 있는 사용자 ID -> 프로필 (없는 ID는 포함되지 않음)
+     */
+    public CompletableFuture<Map<Long, ProfileResponse>> getCachedUserProfiles(List<Long> userIds) {
+        if (userIds.isEmpty()) {
+            return CompletableFuture.completedFuture(Map.of());
+        }
+        List<String> keys = userIds.stream().map(JwtRedisService::profileKey).toList();
+        return reactiveRedisTemplate.opsForValue()
+                .multiGet(keys)
+                .map(values -> {
+                    Map<Long, ProfileResponse> profiles = new HashMap<>();
+                    for (int i = 0; i < userIds.size(); i++) {
+                        if (values.get(i) instanceof ProfileResponse profile) {
+                            profiles.put(userIds.get(i), profile);
+                        }
+                    }
+                    return profiles;
+                })
+                .timeout(awaitTimeout)
+                .toFuture();
+    }
+
+
+    /**
+     * 보안 작업처럼 결과를 반드시 확인해야 하는 비동기 Redis 작업을 기다립니다.
+     * 최대 redis.async.await-timeout-ms 동안만 기다립니다. (await(future, timeout) 참고)
+     */
+    public <T> T await(CompletableFuture<T> future) {
+        return await(future, awaitTimeout);
+    }
+
+    /**
+     * 비동기 작업을 timeout까지만 기다립니다.
+     * ExecutionException을 벗겨 원래 예외(RedisConnectionFailureException 등)를 그대로 던지고,
+     * 시간 초과 시 QueryTimeoutException을 던집니다.
+     * future 자체는 완료시키지 않으므로 여러 요청이 공유하는 future에도 쓸 수 있습니다. (orTimeout과 다름)
+     */
+    public static <T> T await(CompletableFuture<T> future, Duration timeout) {
+        try {
+            return future.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            throw new QueryTimeoutException("비동기 작업 대기 시간 초과 (" + timeout.toMillis() + "ms)", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new QueryTimeoutException("비동기 작업 대기 중 인터럽트", e);
+        }
+    }
+
+
+    // keys 삭제 + revoked-before 워터마크 기록 (파이프라인) -> 폐기 이벤트 발행
+    private CompletableFuture<Void> revokeUser(Long userId, List<String> keys) {
+        // 밀리초 발급 시각(iatms)과 엄격 비교 (iatms < watermark)
+        long nowMillis = System.currentTimeMillis();
+
+        Mono<Long> deleteKeys = reactiveStringRedisTemplate.delete(keys.toArray(String[]::new));
+        Mono<Boolean> setWatermark = reactiveStringRedisTemplate.opsForValue()
+                .set(BlacklistMirror.REVOKED_BEFORE_PREFIX + userId, Long.toString(nowMillis),
+                        Duration.ofMillis(jwtUtils.getAccessTokenMillis() + JwtRedisService.CLOCK_SKEW_MILLIS));
+
+        // 발행은 동기 템플릿을 쓰므로 Lettuce 이벤트 루프가 아닌 별도 스레드에서 실행
+        Mono<Void> publish = Mono.<Void>fromRunnable(() -> blacklistMirror.publishRevokedBefore(userId, nowMillis))
+                .subscribeOn(Schedulers.boundedElastic());
+
+        return Mono.when(deleteKeys, setWatermark)
+                .then(publish)
+                .toFuture();
+    }
+}
@@ -1,130 +1,423 @@
 package com.example.demo.service; // service 패키지에 생성
 
+import com.example.demo.dto.auth.AccessTokenResponseDto;
 import com.example.demo.dto.users.ProfileResponse;
 import com.example.demo.util.JwtUtils; // JwtUtils 주입받아 Access Token TTL을 가져오기 위함
+import com.example.demo.util.TokenDigests;
+import com.example.demo.util.VerifiedClaims;
+import io.jsonwebtoken.JwtException;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.GenericToStringSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration; // TTL 설정에 사용
 import java.util.List;
 
+/**
+ * 토큰 세션/폐기 상태와 프로필 캐시의 Redis 접근
+ *
+ * 모든 Redis 호출은 RedisCircuitBreaker를 거치고, 명령 타임아웃이 redis.breaker.call-timeout-ms인
+ * 전용 커넥션(RedisConfig.breakerRedisConnectionFactory)을 사용합니다. Redis가 느리거나 차단 중일 때의 동작 :
+ *  - Access Token 폐기 확인 : redis.breaker.revocation-fallback 정책으로 응답 (RevocationFallback)
+ *  - 프로필 캐시 조회/저장   : 캐시 미스로 처리 -> DB 조회
+ *  - 세션 저장/회전, 로그아웃, 블랙리스트/워터마크 기록 : 503 + Retry-After로 즉시 실패
+ */
 @Service
 public class JwtRedisService {
 
+    /**
+     * Redis를 쓸 수 없을 때 Access Token 폐기 확인 정책
+     *
+     *  - MIRROR             : 로컬 사본(BlacklistMirror)이 준비되어 있으면 그 결과로 판단
+     *                         (Bloom Filter가 배제하지 못한 토큰은 폐기로 간주), 준비 전이면 ACCEPT_SHORT_LIVED
+     *  - ACCEPT_SHORT_LIVED : 남은 유효시간이 redis.breaker.short-lived-token-ms 이하인 토큰만 허용
+     *  - REJECT             : 모두 폐기로 간주 (fail-closed)
+     */
+    public enum RevocationFallback { MIRROR, ACCEPT_SHORT_LIVED, REJECT }
+
     private final RedisTemplate<String, Object> redisTemplate;
+    private final StringRedisTemplate stringRedisTemplate; // 블랙리스트/워터마크 등 단순 문자열 값
     private final JwtUtils jwtUtils;
+    private final BlacklistMirror blacklistMirror;
+    private final RedisCircuitBreaker redisCircuitBreaker;
+    private final RevocationFallback revocationFallback;
+    private final long shortLivedTokenMillis;
+    private final int maxSessionsPerUser;
+    private final long refreshGraceMillis;
     //private final ObjectMapper objectMapper; // JSON 로깅,디버깅
 
     // 캐시 키 프리픽스
     private static final String PROFILE_CACHE_PREFIX = "userProfile:";
-    private static final String REFRESH_TOKEN_PREFIX = "refreshToken:";
+    private static final String PROFILE_VERSION_PREFIX = "userProfileVer:";
+    private static final String REFRESH_SESSION_PREFIX = "refreshSessions:";
+    private static final String REFRESH_SESSION_ORDER_PREFIX = "refreshSessionOrder:";
+    private static final String REFRESH_GRACE_PREFIX = "refreshGrace:";
+    private static final String PROFILE_LOAD_LEASE_PREFIX = "profileLoadLease:";
+    private static final String BLACKLIST_PREFIX = BlacklistMirror.BLACKLIST_PREFIX;
+    private static final String REVOKED_BEFORE_PREFIX = BlacklistMirror.REVOKED_BEFORE_PREFIX;
+    static final long CLOCK_SKEW_MILLIS = 1000L; // JwtUtils 파서의 허용 오차와 동일
     private static final long PROFILE_CACHE_TTL_DAYS = 7; // 7일 동안 캐시 유지
 
-    public JwtRedisService(RedisTemplate<String, Object> redisTemplate, JwtUtils jwtUtils, ObjectMapper objectMapper) {
+    /**
+     * 세션 저장 스크립트
+     * KEYS[1]=세션 해시, KEYS[2]=세션 정렬 집합
+     * ARGV[1]=deviceId, ARGV[2]=tokenDigest, ARGV[3]=nowMillis, ARGV[4]=ttlMillis, ARGV[5]=maxSessions
+     * 만료된 세션 정리 -> 저장 -> 상한 초과분(가장 오래된 것) 제거
+     */
+    static final RedisScript<Long> SAVE_SESSION_SCRIPT = RedisScript.of("""
+            local now = tonumber(ARGV[3])
+            local ttl = tonumber(ARGV[4])
+            local expired = redis.call('ZRANGEBYSCORE', KEYS[2], '-inf', now - ttl)
+            if #expired > 0 then
+              redis.call('HDEL', KEYS[1], unpack(expired))
+              redis.call('ZREM', KEYS[2], unpack(expired))
+            end
+            redis.call('HSET', KEYS[1], ARGV[1], ARGV[2])
+            redis.call('ZADD', KEYS[2], now, ARGV[1])
+            local excess = redis.call('ZCARD', KEYS[2]) - tonumber(ARGV[5])
+            if excess > 0 then
+              local evicted = redis.call('ZRANGE', KEYS[2], 0, excess - 1)
+              redis.call('HDEL', KEYS[1], unpack(evicted))
+              redis.call('ZREMRANGEBYRANK', KEYS[2], 0, excess - 1)
+            end
+            redis.call('PEXPIRE', KEYS[1], ttl)
+            redis.call('PEXPIRE', KEYS[2], ttl)
+            return math.max(excess, 0)
+            """, Long.class);
+
+    /**
+     * 세션 회전 스크립트 (compare-and-rotate + 유예 기록)
+     * KEYS[3]=유예 기록 해시 (refreshGrace:{userId}, 필드=deviceId)
+     * ARGV[1]=deviceId, ARGV[2]=currentDigest, ARGV[3]=newDigest, ARGV[4]=nowMillis, ARGV[5]=ttlMillis,
+     * ARGV[6]=봉인된 새 토큰 쌍, ARGV[7]=graceMillis, ARGV[8]=유예 만료 시각(epoch millis)
+     *
+     * 성공 시 "OK"와 함께 "currentDigest newDigest expiresAt sealed"를 유예 기록으로 남기고,
+     * 이미 다른 요청이 교체했다면 유예 기록의 봉인된 토큰 쌍을, 아니면 ""를 반환
+     * 유예 기록은 요청 토큰이 직전 토큰이고 세션이 아직 그 교체 결과(newDigest)를 가리키며
+     * 만료 전일 때만 돌려줍니다. (로그아웃/재교체/전체 폐기 이후에는 재사용 불가)
+     */
+    private static final RedisScript<String> ROTATE_SESSION_SCRIPT = RedisScript.of("""
+            local stored = redis.call('HGET', KEYS[1], ARGV[1])
+            if stored ~= ARGV[2] then
+              local grace = redis.call('HGET', KEYS[3], ARGV[1])
+              if grace then
+                local old, new, expires, sealed = string.match(grace, '^(%S+) (%S+) (%d+) (%S+)$')
+                if old == ARGV[2] and stored == new and tonumber(expires) > tonumber(ARGV[4]) then
+                  return sealed
+                end
+              end
+              return ''
+            end
+            redis.call('HSET', KEYS[1], ARGV[1], ARGV[3])
+            redis.call('ZADD', KEYS[2], tonumber(ARGV[4]), ARGV[1])
+            redis.call('PEXPIRE', KEYS[1], ARGV[5])
+            redis.call('PEXPIRE', KEYS[2], ARGV[5])
+            redis.call('HSET', KEYS[3], ARGV[1], ARGV[2] .. ' ' .. ARGV[3] .. ' ' .. ARGV[8] .. ' ' .. ARGV[6])
+            redis.call('PEXPIRE', KEYS[3], ARGV[7])
+            return 'OK'
+            """, String.class);
+
+    /**
+     * 세션 삭제 스크립트 (토큰이 일치할 때만, 해당 기기의 유예 기록 포함)
+     * KEYS[3]=유예 기록 해시, ARGV[1]=deviceId, ARGV[2]=currentDigest
+     */
+    private static final RedisScript<Long> DELETE_SESSION_SCRIPT = RedisScript.of("""
+            if redis.call('HGET', KEYS[1], ARGV[1]) ~= ARGV[2] then
+              return 0
+            end
+            redis.call('HDEL', KEYS[1], ARGV[1])
+            redis.call('ZREM', KEYS[2], ARGV[1])
+            redis.call('HDEL', KEYS[3], ARGV[1])
+            return 1
+            """, Long.class);
+
+    /**
+     * 버전 비교 프로필 저장 스크립트
+     * KEYS[1]=프로필 키, KEYS[2]=버전 키, ARGV[1]=버전, ARGV[2]=직렬화된 프로필, ARGV[3]=TTL(ms)
+     * 저장된 버전이 더 크면 0 (쓰지 않음), 아니면 두 키를 함께 갱신하고 1
+     */
+    static final RedisScript<Long> PROFILE_WRITE_SCRIPT = RedisScript.of("""
+            local current = tonumber(redis.call('GET', KEYS[2]) or '-1')
+            if current > tonumber(ARGV[1]) then
+              return 0
+            end
+            redis.call('SET', KEYS[1], ARGV[2], 'PX', ARGV[3])
+            redis.call('SET', KEYS[2], ARGV[1], 'PX', ARGV[3])
+            return 1
+            """, Long.class);
+
+    // 숫자 결과 스크립트는 결과 직렬화기를 사용하지 않음
+    private static final RedisSerializer<Long> RAW_RESULT = new GenericToStringSerializer<>(Long.class);
+
+    /**
+     * 임대 해제 스크립트 (소유자가 일치할 때만 삭제)
+     */
+    private static final RedisScript<Long> RELEASE_LEASE_SCRIPT = RedisScript.of("""
+            if redis.call('GET', KEYS[1]) == ARGV[1] then
+              return redis.call('DEL', KEYS[1])
+            end
+            return 0
+            """, Long.class);
+
+    public JwtRedisService(@Qualifier("breakerRedisTemplate") RedisTemplate<String, Object> redisTemplate,
+                           @Qualifier("breakerStringRedisTemplate") StringRedisTemplate stringRedisTemplate,
+                           JwtUtils jwtUtils, BlacklistMirror blacklistMirror, RedisCircuitBreaker redisCircuitBreaker,
+                           ObjectMapper objectMapper,
+                           @Value("${jwt.refresh-session.max-per-user:5}") int maxSessionsPerUser,
+                           @Value("${jwt.refresh-grace-ms:10000}") long refreshGraceMillis,
+                           @Value("${redis.breaker.revocation-fallback:MIRROR}") RevocationFallback revocationFallback,
+                           @Value("${redis.breaker.short-lived-token-ms:900000}") long shortLivedTokenMillis) {
         this.redisTemplate = redisTemplate;
+        this.stringRedisTemplate = stringRedisTemplate;
         this.jwtUtils = jwtUtils;
+        this.blacklistMirror = blacklistMirror;
+        this.redisCircuitBreaker = redisCircuitBreaker;
+        this.revocationFallback = revocationFallback;
+        this.shortLivedTokenMillis = shortLivedTokenMillis;
+        this.maxSessionsPerUser = maxSessionsPerUser;
+        this.refreshGraceMillis = refreshGraceMillis;
         //this.objectMapper = objectMapper;
     }
 
 
     /**
-     * Refresh Token을 Redis에 저장합니다.
-     * key는 'refreshToken:{userId}', value는 Refresh Token 문자열입니다.
-     * TTL (Time To Live)은 Refresh Token의 만료 시간과 동일하게 설정합니다.
+     * 로그인한 기기(세션)의 Refresh Token을 저장합니다.
      *
-     * @param userId         사용자 고유 ID
-     * @param refreshToken   Refresh Token 문자열
+     * 사용자별 세션 해시 'refreshSessions:{userId}'에 기기 ID -> Refresh Token 다이제스트를 저장하고,
+     * 정렬 집합 'refreshSessionOrder:{userId}'에 마지막 사용 시각을 기록합니다.
+     * 세션 수가 jwt.refresh-session.max-per-user를 넘으면 가장 오래된 세션부터 제거합니다.
+     * 저장/정리/상한 적용은 하나의 Lua 스크립트로 원자적으로 처리됩니다. (1 round trip)
+     *
+     * @param userId             사용자 고유 ID
+     * @param deviceId           기기(세션) ID
+     * @param refreshToken       Refresh Token 문자열 (다이제스트만 저장)
      * @param refreshTokenMillis Refresh Token의 만료 시간 (밀리초)
      */
-    public void saveRefreshToken(Long userId, String refreshToken, long refreshTokenMillis) {
-        String key = REFRESH_TOKEN_PREFIX + userId.toString();
-        // OpsForValue는 Redis의 String(문자열) 자료구조를 다루는 데 사용됩니다.
-        redisTemplate.opsForValue().set(key, refreshToken, Duration.ofMillis(refreshTokenMillis));
-        // key: "refreshToken:1", value: "eyJhbGciOi..." (refresh token string), expire: 7 days
+    public void saveRefreshSession(Long userId, String deviceId, String refreshToken, long refreshTokenMillis) {
+        redisCircuitBreaker.runOrFailFast(() -> stringRedisTemplate.execute(SAVE_SESSION_SCRIPT, sessionKeys(userId),
+                deviceId, TokenDigests.sha256(refreshToken),
+                Long.toString(System.currentTimeMillis()), Long.toString(refreshTokenMillis),
+                Integer.toString(maxSessionsPerUser)));
     }
 
 
     /**
-     * Redis에서 Refresh Token을 조회합니다.
+     * 기기의 Refresh Token을 원자적으로 교체합니다. (compare-and-rotate)
+     * 저장된 다이제스트가 요청 토큰과 일치할 때만 새 토큰으로 바꾸므로,
+     * 같은 Refresh Token으로 동시에 재발급을 요청해도 하나만 교체에 성공합니다.
      *
-     * @param userId 사용자 고유 ID
-     * @return 저장된 Refresh Token 문자열 (없으면 null)
+     * 교체에 성공하면 새 토큰 쌍을 봉인(AES-GCM)해 짧은 유예 기록(jwt.refresh-grace-ms)으로 남겨,
+     * 유예 시간 안에 같은 토큰으로 들어온 다른 요청(다른 노드 포함)은 같은 토큰 쌍을 받습니다.
+     * 세션이 로그아웃/재교체/전체 폐기되면 유예 기록은 더 이상 반환되지 않습니다.
+     *
+     * @param userId             사용자 고유 ID
+     * @param deviceId           기기(세션) ID
+     * @param currentToken       클라이언트가 보낸 Refresh Token
+     * @param issued             새로 발급한 Access/Refresh Token 쌍
+     * @param refreshTokenMillis Refresh Token의 만료 시간 (밀리초)
+     * @return 클라이언트에 돌려줄 토큰 쌍 (교체 성공 시 issued, 유예 중이면 먼저 발급된 쌍), 무효한 토큰이면 null
      */
-    public String getRefreshToken(Long userId) {
-        String key = REFRESH_TOKEN_PREFIX + userId.toString();
-        return (String) redisTemplate.opsForValue().get(key);
+    public AccessTokenResponseDto rotateRefreshSession(Long userId, String deviceId, String currentToken,
+                                                       AccessTokenResponseDto issued, long refreshTokenMillis) {
+        String currentDigest = TokenDigests.sha256(currentToken);
+        long nowMillis = System.currentTimeMillis();
+        String sealed = jwtUtils.seal(issued.getAccessToken() + " " + issued.getRefreshToken());
+        // 세션 상태를 확인할 수 없으면 재발급하지 않고 바로 실패 (503)
+        String result = redisCircuitBreaker.executeOrFailFast(() -> stringRedisTemplate.execute(ROTATE_SESSION_SCRIPT,
+                sessionAndGraceKeys(userId),
+                deviceId, currentDigest, TokenDigests.sha256(issued.getRefreshToken()),
+                Long.toString(nowMillis), Long.toString(refreshTokenMillis),
+                sealed, Long.toString(refreshGraceMillis), Long.toString(nowMillis + refreshGraceMillis)));
+
+        if ("OK".equals(result)) {
+            return issued;
+        }
+        if (result == null || result.isEmpty()) {
+            return null;
+        }
+        // 유예 기록: 봉인된 "access refresh" (복호화 실패 시 무효한 토큰으로 처리)
+        String pair = jwtUtils.unseal(result);
+        int sep = pair == null ? -1 : pair.indexOf(' ');
+        if (sep < 0) {
+            return null;
+        }
+        return AccessTokenResponseDto.of(pair.substring(0, sep), pair.substring(sep + 1));
     }
 
 
     /**
-     * Redis에서 Refresh Token을 삭제합니다. (로그아웃 시)
+     * 기기의 세션을 삭제합니다. (로그아웃 시)
+     * 저장된 다이제스트가 요청 토큰과 일치할 때만 삭제하며, 해당 기기의 유예 기록도 함께 삭제합니다.
+     *
+     * @param userId       사용자 고유 ID
+     * @param deviceId     기기(세션) ID
+     * @param refreshToken 클라이언트가 보낸 Refresh Token
+     * @return 삭제되었으면 true, 세션이 없거나 토큰이 일치하지 않으면 false
+     */
+    public boolean deleteRefreshSession(Long userId, String deviceId, String refreshToken) {
+        Long deleted = redisCircuitBreaker.executeOrFailFast(() -> stringRedisTemplate.execute(DELETE_SESSION_SCRIPT,
+                sessionAndGraceKeys(userId), deviceId, TokenDigests.sha256(refreshToken)));
+        return deleted != null && deleted == 1L;
+    }
+
+
+    /**
+     * 사용자의 모든 기기 세션과 유예 기록을 삭제합니다.
      *
      * @param userId 사용자 고유 ID
      */
-    public void deleteRefreshToken(Long userId) {
-        String key = REFRESH_TOKEN_PREFIX + userId.toString();
-        redisTemplate.delete(key);
+    public void deleteAllRefreshSessions(Long userId) {
+        redisCircuitBreaker.executeOrFailFast(() -> stringRedisTemplate.delete(sessionAndGraceKeys(userId)));
+    }
+
+
+    // 두 키가 Redis Cluster에서도 같은 슬롯에 배치되도록 {userId} 해시 태그 사용
+    static List<String> sessionKeys(Long userId) {
+        return List.of(REFRESH_SESSION_PREFIX + "{" + userId + "}",
+                       REFRESH_SESSION_ORDER_PREFIX + "{" + userId + "}");
+    }
+
+    // 세션 키 + 유예 기록 해시 (같은 {userId} 슬롯)
+    static List<String> sessionAndGraceKeys(Long userId) {
+        return List.of(REFRESH_SESSION_PREFIX + "{" + userId + "}",
+                       REFRESH_SESSION_ORDER_PREFIX + "{" + userId + "}",
+                       REFRESH_GRACE_PREFIX + "{" + userId + "}");
     }
 
 
     /**
-     * Access Token을 블랙리스트에 추가합니다.
-     * Access Token의 남은 만료 시간 동안만 유효합니다.
-     * key는 'blacklist:{accessToken}', value는 아무 값이나(ex - logout) 설정합니다.
+     * 로그아웃 시 제시된 Access Token을 블랙리스트에 추가합니다.
+     * 토큰 원문 대신 SHA-256 다이제스트를 키로 쓰고, 토큰의 "남은" 유효시간만큼만 보관합니다.
+     * key는 'blacklist:{digest}', value는 "1" 입니다.
+     * Redis 저장 후 로컬 Bloom Filter에 추가하고, pub/sub으로 다른 노드에도 전파합니다.
+     *
+     * 검증에 실패했거나, Refresh Token이거나, 다른 사용자의 토큰이면 아무것도 하지 않습니다.
      *
      * @param accessToken Access Token 문자열
+     * @param userId      로그아웃하는 사용자 ID (Refresh Token에서 확인된 값)
      */
-    public void addAccessTokenToBlacklist(String accessToken) {
-        String key = "blacklist:" + accessToken.toString();
-        
-        // Access Token 자체의 만료 시간을 TTL로 설정
-        long remainingMillis = jwtUtils.getAccessTokenMillis(); // 또는 토큰에서 직접 남은 시간 계산
-        redisTemplate.opsForValue().set(key, "logout", Duration.ofMillis(remainingMillis));
-        // key: "blacklist:eyJhbGci...", value: "logout", expire: remaining_access_token_time
+    public void addAccessTokenToBlacklist(String accessToken, Long userId) {
+        VerifiedClaims claims;
+        try {
+            claims = jwtUtils.verify(accessToken);
+        } catch (JwtException e) {
+            return; // 이미 만료되었거나 위조된 토큰은 필터에서 거부되므로 보관할 필요 없음
+        }
+        if (claims.deviceId() != null || !claims.userId().equals(userId)) {
+            return;
+        }
+
+        // 허용 clock skew(1초)만큼 여유를 두고 토큰 만료 시각에 맞춰 삭제
+        long remainingMillis = claims.remainingMillis(System.currentTimeMillis()) + CLOCK_SKEW_MILLIS;
+        String tokenDigest = TokenDigests.sha256(accessToken);
+        redisCircuitBreaker.runOrFailFast(() -> stringRedisTemplate.opsForValue()
+                .set(BLACKLIST_PREFIX + tokenDigest, "1", Duration.ofMillis(remainingMillis)));
+        // key: "blacklist:3q2-7w...", value: "1", expire: remaining_access_token_time
+
+        // Redis 저장이 먼저 끝나야 재구성(SCAN) 중인 노드도 누락 없이 반영됨
+        blacklistMirror.publishBlacklisted(tokenDigest);
     }
 
 
     /**
-     * Access Token이 블랙리스트에 있는지 확인합니다.
+     * Access Token이 폐기되었는지 확인합니다. (JwtAuthenticationFilter에서 매 요청 호출)
      *
-     * @param accessToken Access Token 문자열
-     * @return 블랙리스트에 있으면 true, 없으면 false
+     *  1. 사용자 워터마크 : 발급 시각(iatms)이 revoked-before 시각보다 이전이면 폐기 (O(1), 로컬 사본)
+     *  2. 개별 블랙리스트 : Bloom Filter가 배제하지 못한 토큰만 Redis로 확인
+     *
+     * Redis가 느리거나 차단 중이면 기다리지 않고 redis.breaker.revocation-fallback 정책으로 응답합니다.
+     *
+     * @param tokenDigest Access Token 다이제스트
+     * @param claims      검증된 클레임
+     * @return 폐기되었으면 true
      */
-    public boolean isAccessTokenBlacklisted(String accessToken) {
-        String key = "blacklist:" + accessToken.toString();
-        return redisTemplate.hasKey(key);
+    public boolean isAccessTokenRevoked(String tokenDigest, VerifiedClaims claims) {
+        if (blacklistMirror.isReady()) {
+            if (claims.issuedAtMillis() < blacklistMirror.revokedBefore(claims.userId())) {
+                return true;
+            }
+            if (!blacklistMirror.mightContain(tokenDigest)) {
+                return false;
+            }
+        }
+        return redisCircuitBreaker.execute(() -> isRevokedInRedis(tokenDigest, claims),
+                                           () -> isRevokedWhileDegraded(claims));
     }
 
 
     /**
-     * 특정 사용자의 모든 토큰을 무효화합니다. (비밀번호 변경 등 보안 강화 시)
-     * Refresh Token을 삭제하고, 현재 Access Token을 블랙리스트에 추가합니다.
+     * 특정 사용자의 모든 토큰을 무효화합니다. (비밀번호/이메일 변경, 회원 탈퇴 등 보안 강화 시)
+     * 모든 기기의 Refresh Token 세션을 삭제하고, "지금 이전에 발급된 Access Token은 무효" 워터마크를 기록합니다.
+     * 발급된 토큰 수와 무관하게 키 1개로 모든 세션이 무효화됩니다.
+     * 워터마크는 Access Token 최대 수명 이후에는 의미가 없으므로 그만큼만 보관합니다.
      *
      * @param userId 사용자 고유 ID
-     * @param currentAccessToken 현재 사용 중인 Access Token 문자열 (선택 사항)
      */
-    public void invalidateAllUserTokens(Long userId, String currentAccessToken) {
-        // Refresh Token 삭제
-        deleteRefreshToken(userId);
+    public void invalidateAllUserTokens(Long userId) {
+        // 모든 기기의 Refresh Token 세션 삭제
+        deleteAllRefreshSessions(userId);
+
+        // 밀리초 발급 시각(iatms)과 엄격 비교 (iatms < watermark) - 직후 재로그인한 토큰은 유효
+        long nowMillis = System.currentTimeMillis();
+        redisCircuitBreaker.runOrFailFast(() -> stringRedisTemplate.opsForValue()
+                .set(REVOKED_BEFORE_PREFIX + userId, Long.toString(nowMillis),
+                        Duration.ofMillis(jwtUtils.getAccessTokenMillis() + CLOCK_SKEW_MILLIS)));
+
+        blacklistMirror.publishRevokedBefore(userId, nowMillis);
+    }
+
+
+    private boolean isBlacklistedInRedis(String tokenDigest) {
+        return Boolean.TRUE.equals(stringRedisTemplate.hasKey(BLACKLIST_PREFIX + tokenDigest));
+    }
 
-        // 현재 사용 중인 Access Token을 블랙리스트에 추가
-        if (currentAccessToken != null && !currentAccessToken.isEmpty()) {
-            addAccessTokenToBlacklist(currentAccessToken);
+    // 로컬 사본 준비 전에는 워터마크도 Redis에서 확인
+    private boolean isRevokedInRedis(String tokenDigest, VerifiedClaims claims) {
+        if (!blacklistMirror.isReady()) {
+            String value = stringRedisTemplate.opsForValue().get(REVOKED_BEFORE_PREFIX + claims.userId());
+            if (value != null && claims.issuedAtMillis() < Long.parseLong(value)) {
+                return true;
+            }
         }
-        // 만약 추후에 해당 사용자의 다른 모든 세션의 Access Token을 무효화하려면,
-        // 모든 발급된 Access Token을 저장하고 관리하는 로직 필요
+        return isBlacklistedInRedis(tokenDigest);
+    }
+
+    // Redis 없이 판단 (로컬 사본이 준비되어 있다면 워터마크는 이미 확인됨)
+    private boolean isRevokedWhileDegraded(VerifiedClaims claims) {
+        return switch (revocationFallback) {
+            case REJECT -> true;
+            case MIRROR -> blacklistMirror.isReady() || !isShortLived(claims);
+            case ACCEPT_SHORT_LIVED -> !isShortLived(claims);
+        };
+    }
+
+    // 폐기되었더라도 곧 만료되는 토큰 (허용해도 노출 시간이 짧음)
+    private boolean isShortLived(VerifiedClaims claims) {
+        return claims.remainingMillis(System.currentTimeMillis()) <= shortLivedTokenMillis;
     }
 
 
     /**
      * 사용자 프로필 정보를 Redis에 캐시합니다.
+     * 캐시된 값보다 오래된 버전(User.version)이면 쓰지 않습니다. (커밋 전 값을 읽은 조회가 새 값을 덮어쓰지 않도록)
      *
      * @param userId 캐시할 사용자의 고유 ID
      * @param response 캐시할 사용자 프로필 정보
+     * @return 저장했으면 true, 더 새로운 버전이 이미 있으면 false
+     * @throws com.example.demo.exception.RetryLaterException Redis를 쓸 수 없을 때
      */
-    public void cacheUserProfile(Long userId, ProfileResponse profileResponse) {
-        String key = PROFILE_CACHE_PREFIX + userId.toString(); 
-        redisTemplate.opsForValue().set(key, profileResponse, Duration.ofDays(PROFILE_CACHE_TTL_DAYS));
+    public boolean cacheUserProfile(Long userId, ProfileResponse profileResponse) {
+        byte[][] args = profileWriteArgs(profileResponse);
+        Long written = redisCircuitBreaker.executeOrFailFast(() -> redisTemplate.execute(PROFILE_WRITE_SCRIPT,
+                RedisSerializer.byteArray(), RAW_RESULT, profileKeys(userId), (Object[]) args));
+        return written != null && written == 1L;
     }
 
 
@@ -135,8 +428,9 @@ public class JwtRedisService {
      * @return 캐시된 ProfileResponse 객체 또는 null
      */
     public ProfileResponse getCachedUserProfile(Long userId) {
-        String key = PROFILE_CACHE_PREFIX + userId.toString();
-        Object cachedObject = redisTemplate.opsForValue().get(key);
+        // Redis를 쓸 수 없으면 캐시 미스로 처리 (DB 조회)
+        Object cachedObject = redisCircuitBreaker.execute(() -> redisTemplate.opsForValue().get(profileKey(userId)),
+                () -> null);
         
         if (cachedObject instanceof ProfileResponse) {
             return (ProfileResponse) cachedObject;
@@ -144,6 +438,120 @@ public class JwtRedisService {
         return null;
     }
 
+
+    /**
+     * 캐시된 프로필의 버전(User.version)만 조회합니다. (프로필 값은 읽지 않음)
+     * 조건부 조회(If-None-Match)에서 엔티티를 읽지 않고 ETag를 비교할 때 사용합니다.
+     *
+     * @param userId 조회할 사용자의 ID
+     * @return 캐시된 버전, 캐시에 없으면 null
+     */
+    public Long getCachedProfileVersion(Long userId) {
+        String version = redisCircuitBreaker.execute(
+                () -> stringRedisTemplate.opsForValue().get(profileKeys(userId).get(1)), () -> null);
+        return version != null ? Long.valueOf(version) : null;
+    }
+
+
+    /**
+     * 사용자 프로필과 남은 TTL을 함께 조회합니다. (GET + PTTL 파이프라인, 1 round trip)
+     * 만료 직전 엔트리의 조기 갱신 판단에 사용합니다.
+     *
+     * @param userId 조회할 사용자의 ID
+     * @return 캐시된 프로필과 남은 TTL(ms), 캐시에 없으면 null
+     */
+    public CachedProfile getCachedUserProfileWithTtl(Long userId) {
+        byte[] key = profileKey(userId).getBytes(StandardCharsets.UTF_8);
+        List<Object> results = redisCircuitBreaker.execute(
+                () -> redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                    connection.stringCommands().get(key);
+                    connection.keyCommands().pTtl(key);
+                    return null;
+                }),
+                () -> null);
+
+        if (results != null && results.get(0) instanceof ProfileResponse profile && results.get(1) instanceof Long ttlMillis) {
+            return new CachedProfile(profile, ttlMillis);
+        }
+        return null;
+    }
+
+
+    /**
+     * 프로필 캐시 로딩 임대(lease)를 획득합니다. (SET NX PX)
+     * 여러 노드에서 같은 사용자의 캐시 미스가 동시에 나도 한 노드만 DB를 조회하도록 합니다.
+     *
+     * @param userId      대상 사용자 ID
+     * @param owner       임대 소유자 식별값 (해제 시 본인 확인용)
+     * @param leaseMillis 임대 유지 시간 (로더가 죽어도 이 시간 후 자동 해제)
+     * @return 획득했으면 true
+     */
+    public boolean tryAcquireProfileLoadLease(Long userId, String owner, long leaseMillis) {
+        // Redis를 쓸 수 없으면 기다릴 대상도 없으므로 직접 로딩
+        return redisCircuitBreaker.execute(() -> Boolean.TRUE.equals(stringRedisTemplate.opsForValue()
+                .setIfAbsent(PROFILE_LOAD_LEASE_PREFIX + userId, owner, Duration.ofMillis(leaseMillis))),
+                () -> true);
+    }
+
+
+    /**
+     * 본인이 보유한 프로필 캐시 로딩 임대를 해제합니다.
+     *
+     * @param userId 대상 사용자 ID
+     * @param owner  획득 시 사용한 소유자 식별값
+     */
+    public void releaseProfileLoadLease(Long userId, String owner) {
+        // 해제하지 못해도 임대 시간이 지나면 자동 해제
+        redisCircuitBreaker.execute(() -> stringRedisTemplate.execute(RELEASE_LEASE_SCRIPT,
+                List.of(PROFILE_LOAD_LEASE_PREFIX + userId), owner), () -> 0L);
+    }
+
+
+    /**
+     * 다른 노드의 프로필 로딩 결과를 확인합니다. (EXISTS 임대 + GET 프로필 파이프라인, 1 round trip)
+     * 임대 보유 노드는 L2 저장 후 임대를 해제하므로, 임대를 먼저 확인하면 "임대 없음"일 때 저장된 값은 함께 읽힙니다.
+     *
+     * @param userId 조회할 사용자의 ID
+     * @return 임대 보유 여부와 캐시된 프로필, Redis를 쓸 수 없으면 null (기다릴 대상이 없음)
+     */
+    public ProfileLoadState getProfileLoadState(Long userId) {
+        byte[] leaseKey = (PROFILE_LOAD_LEASE_PREFIX + userId).getBytes(StandardCharsets.UTF_8);
+        byte[] key = profileKey(userId).getBytes(StandardCharsets.UTF_8);
+        List<Object> results = redisCircuitBreaker.execute(
+                () -> redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                    connection.keyCommands().exists(leaseKey);
+                    connection.stringCommands().get(key);
+                    return null;
+                }),
+                () -> null);
+
+        if (results == null) {
+            return null;
+        }
+        ProfileResponse profile = results.get(1) instanceof ProfileResponse cached ? cached : null;
+        return new ProfileLoadState(Boolean.TRUE.equals(results.get(0)), profile);
+    }
+
+
+    /**
+     * 다른 노드의 프로필 로딩 상태
+     *
+     * @param leaseHeld 로딩 임대가 아직 유지 중인지 여부
+     * @param profile   캐시된 프로필, 없으면 null
+     */
+    public record ProfileLoadState(boolean leaseHeld, ProfileResponse profile) {
+    }
+
+
+    /**
+     * 캐시된 프로필과 남은 TTL
+     *
+     * @param profile   캐시된 프로필
+     * @param ttlMillis 남은 TTL (ms, 만료 없음이면 음수)
+     */
+    public record CachedProfile(ProfileResponse profile, long ttlMillis) {
+    }
+
     
     /**
      * Redis에서 특정 사용자의 프로필 캐시를 삭제합니다.
@@ -151,9 +559,8 @@ public class JwtRedisService {
      * @param userId 캐시를 삭제할 사용자의 고유 ID
      */
     public void deleteUserProfileCache(Long userId) {
-        String key = PROFILE_CACHE_PREFIX + userId.toString();
-        
-        redisTemplate.delete(key);
+        // 버전 키는 남겨 두어 삭제 이후에도 오래된 값이 다시 쓰이지 않도록 함
+        redisCircuitBreaker.executeOrFailFast(() -> redisTemplate.delete(profileKey(userId)));
     }
 
 
@@ -163,11 +570,28 @@ public class JwtRedisService {
      * @param userId 삭제할 사용자 ID
      */
     public void deleteAllUserCache(Long userId) {
-        List<String> keys = List.of(
-            PROFILE_CACHE_PREFIX + userId
-        );
+        redisCircuitBreaker.executeOrFailFast(() -> redisTemplate.delete(profileKeys(userId)));
+    }
+
+
+    // 프로필 키와 버전 키가 Redis Cluster에서도 같은 슬롯에 배치되도록 {userId} 해시 태그 사용
+    static String profileKey(Long userId) {
+        return PROFILE_CACHE_PREFIX + "{" + userId + "}";
+    }
+
+    static List<String> profileKeys(Long userId) {
+        return List.of(profileKey(userId), PROFILE_VERSION_PREFIX + "{" + userId + "}");
+    }
 
-        redisTemplate.delete(keys);
+    // PROFILE_WRITE_SCRIPT 인자 : 버전, 직렬화된 값, TTL (모두 바이트로 전달)
+    byte[][] profileWriteArgs(ProfileResponse profileResponse) {
+        @SuppressWarnings("unchecked")
+        RedisSerializer<Object> valueSerializer = (RedisSerializer<Object>) redisTemplate.getValueSerializer();
+        return new byte[][] {
+                Long.toString(profileResponse.getVersion()).getBytes(StandardCharsets.UTF_8),
+                valueSerializer.serialize(profileResponse),
+                Long.toString(Duration.ofDays(PROFILE_CACHE_TTL_DAYS).toMillis()).getBytes(StandardCharsets.UTF_8)
+        };
     }
 
-}
\ No newline at end of file
+}
\ No newline at end of file
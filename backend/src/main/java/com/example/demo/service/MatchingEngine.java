@@ -0,0 +1,392 @@
+package com.example.demo.service;
+
+import com.example.demo.domain.Food;
+import com.example.demo.domain.MatchingStatus;
+import com.example.demo.domain.Region;
+import com.example.demo.exception.CustomException;
+import com.example.demo.exception.ErrorCode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 인메모리 식사 매칭 엔진 (노드 로컬, DB/Redis 접근 없음)
+ *
+ * 같은 (지역, 음식, 인원) 요청끼리만 매칭되므로 조건마다 샤드를 하나씩 두고,
+ * 샤드는 ordinal로 계산한 배열 인덱스로 찾습니다. (해시/락 없음)
+ *
+ *  - 대기열      : 샤드별 ConcurrentLinkedDeque + 대기 인원 카운터(AtomicInteger)
+ *                 요청이 들어올 때 카운터가 groupSize 이상이면 CAS로 groupSize만큼 예약하고 앞에서부터 꺼내 그룹 구성
+ *                 인원이 모자라면 꺼낸 요청을 순서대로 앞에 되돌리고(FIFO 유지) 짧게 쉬었다가 제한 횟수까지만 재시도
+ *  - 요청 상태    : WAITING -> CLAIMED(그룹 구성 중) -> MATCHED, WAITING -> CANCELED (모두 CAS 전이)
+ *  - 취소        : matchId 인덱스로 요청을 찾아 상태만 CANCELED로 바꾸고 카운터 감소 (대기열에서는 꺼낼 때 건너뜀)
+ *  - 상태 조회    : userId/matchId 인덱스 (ConcurrentHashMap)
+ *  - 정리        : matching.sweep-interval-ms 주기로 대기 시간 초과 요청 취소, 끝난 요청은 보관 시간 후 인덱스에서 제거,
+ *                 취소된 요청이 쌓인 대기열 정리, 재시도를 포기한 샤드의 그룹 구성
+ *  - 지표        : matching.waiting, matching.groups, matching.canceled{reason=user|timeout}, matching.wait
+ *
+ * 상태가 노드 메모리에만 있으므로 여러 노드로 운영할 때는 /api/matchings 요청을 사용자 기준으로 같은 노드에 보내야 합니다.
+ */
+@Slf4j
+@Component
+public class MatchingEngine {
+
+    private static final int FOODS = Food.values().length;
+    // 취소된 요청이 대기열에 이만큼 넘게 남아 있으면 정리 주기에 제거
+    private static final int CANCELED_PURGE_THRESHOLD = 64;
+    // 그룹 인원이 모자랄 때(집계 후 아직 대기열에 넣지 않은 요청) 재시도 횟수와 회당 대기 시간 증가분
+    private static final int MAX_FORM_ATTEMPTS = 8;
+    private static final long FORM_RETRY_BACKOFF_NANOS = TimeUnit.MICROSECONDS.toNanos(10);
+
+    private final int minGroupSize;
+    private final int maxGroupSize;
+    private final long waitTimeoutNanos;
+    private final long retentionNanos;
+    private final Shard[] shards;
+    // 노드 재시작 뒤에도 이전 matchId와 겹치지 않도록 현재 시각(ms)부터 발급
+    private final AtomicLong nextMatchId = new AtomicLong(System.currentTimeMillis());
+    private final Map<Long, Ticket> ticketsById = new ConcurrentHashMap<>();
+    private final Map<Long, Ticket> ticketsByUser = new ConcurrentHashMap<>();
+
+    private final Counter groupsFormed;
+    private final Counter canceledByUser;
+    private final Counter canceledByTimeout;
+    private final Timer waitTimer;
+
+    public MatchingEngine(MeterRegistry meterRegistry,
+                          @Value("${matching.min-group-size:2}") int minGroupSize,
+                          @Value("${matching.max-group-size:6}") int maxGroupSize,
+                          @Value("${matching.wait-timeout-ms:600000}") long waitTimeoutMillis,
+                          @Value("${matching.retention-ms:600000}") long retentionMillis) {
+        this.minGroupSize = minGroupSize;
+        this.maxGroupSize = maxGroupSize;
+        this.waitTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(waitTimeoutMillis);
+        this.retentionNanos = TimeUnit.MILLISECONDS.toNanos(retentionMillis);
+
+        int groupSizes = maxGroupSize - minGroupSize + 1;
+        this.shards = new Shard[Region.values().length * FOODS * groupSizes];
+        for (int i = 0; i < shards.length; i++) {
+            shards[i] = new Shard(minGroupSize + i % groupSizes);
+        }
+
+        Gauge.builder("matching.waiting", this, MatchingEngine::waitingCount)
+                .description("매칭 대기 중인 요청 수")
+                .register(meterRegistry);
+        this.groupsFormed = Counter.builder("matching.groups").register(meterRegistry);
+        this.canceledByUser = canceled(meterRegistry, "user");
+        this.canceledByTimeout = canceled(meterRegistry, "timeout");
+        this.waitTimer = Timer.builder("matching.wait")
+                .description("매칭 요청부터 그룹 구성까지 걸린 시간")
+                .register(meterRegistry);
+    }
+
+
+    /**
+     * 매칭 대기열에 요청을 넣고, 같은 조건의 대기 인원이 groupSize에 도달하면 바로 그룹을 구성합니다.
+     * 사용자당 진행 중인 요청은 하나이며, 이전 요청이 끝났으면(MATCHED/CANCELED) 새 요청으로 대체합니다.
+     *
+     * @param groupSize minGroupSize ~ maxGroupSize (호출하는 쪽에서 검증)
+     * @return 등록된 요청 (바로 그룹이 구성됐으면 MATCHED)
+     * @throws CustomException MATCHING_ALREADY_WAITING - 이미 대기 중인 요청이 있을 때
+     */
+    public Ticket enqueue(Long userId, Region region, Food food, int groupSize) {
+        Shard shard = shards[shardIndex(region, food, groupSize)];
+        Ticket ticket = new Ticket(nextMatchId.getAndIncrement(), userId, region, food, groupSize, shard);
+
+        ticketsByUser.compute(userId, (id, previous) -> {
+            if (previous != null) {
+                if (previous.isPending()) {
+                    throw new CustomException(ErrorCode.MATCHING_ALREADY_WAITING);
+                }
+                ticketsById.remove(previous.matchId, previous);
+            }
+            return ticket;
+        });
+        ticketsById.put(ticket.matchId, ticket);
+
+        // 먼저 집계한 뒤 대기열에 넣음 (대기 인원 = WAITING 요청 수 - 예약분, 넣기 전 잠깐은 대기열보다 많을 수 있음)
+        shard.waiting.incrementAndGet();
+        shard.queue.offer(ticket);
+        formGroups(shard);
+        return ticket;
+    }
+
+    /** 지원하는 그룹 인원인지 (matching.min-group-size ~ matching.max-group-size) */
+    public boolean supportsGroupSize(int groupSize) {
+        return groupSize >= minGroupSize && groupSize <= maxGroupSize;
+    }
+
+    /** 사용자의 최근 요청 (없거나 보관 시간이 지났으면 null) */
+    public Ticket findByUser(Long userId) {
+        return ticketsByUser.get(userId);
+    }
+
+    /** matchId로 요청 조회 (없거나 보관 시간이 지났으면 null) */
+    public Ticket findById(long matchId) {
+        return ticketsById.get(matchId);
+    }
+
+    /**
+     * 대기 중인 요청을 취소합니다. 이미 취소된 요청이면 그대로 true.
+     *
+     * @return 그룹이 이미 구성됐으면 false
+     */
+    public boolean cancel(Ticket ticket) {
+        return cancel(ticket, false);
+    }
+
+
+    /**
+     * 대기 시간 초과 요청 취소, 보관 시간이 지난 요청 제거, 취소된 요청이 쌓인 대기열 정리,
+     * 재시도를 포기해 남아 있는 그룹 구성
+     */
+    @Scheduled(fixedDelayString = "${matching.sweep-interval-ms:10000}")
+    public void sweep() {
+        long now = System.nanoTime();
+        int timedOut = 0;
+        for (Ticket ticket : ticketsById.values()) {
+            if (ticket.isPending()) {
+                if (now - ticket.createdNanos > waitTimeoutNanos && cancel(ticket, true)) {
+                    timedOut++;
+                }
+            } else if (now - ticket.finishedNanos > retentionNanos) {
+                ticketsById.remove(ticket.matchId, ticket);
+                ticketsByUser.remove(ticket.userId, ticket);
+            }
+        }
+        for (Shard shard : shards) {
+            if (shard.canceledInQueue.get() > CANCELED_PURGE_THRESHOLD) {
+                shard.purgeCanceled();
+            }
+            if (shard.waiting.get() >= shard.groupSize) {
+                formGroups(shard);
+            }
+        }
+        if (timedOut > 0) {
+            log.info("매칭 대기 시간 초과로 {}건 취소", timedOut);
+        }
+    }
+
+
+    private boolean cancel(Ticket ticket, boolean timeout) {
+        while (true) {
+            int state = ticket.state.get();
+            if (state == Ticket.WAITING) {
+                ticket.timedOut = timeout;
+                ticket.finishedNanos = System.nanoTime();
+                if (!ticket.state.compareAndSet(Ticket.WAITING, Ticket.CANCELED)) {
+                    continue;
+                }
+                ticket.shard.waiting.decrementAndGet();
+                ticket.shard.canceledInQueue.incrementAndGet();
+                (timeout ? canceledByTimeout : canceledByUser).increment();
+                return true;
+            }
+            if (state == Ticket.CLAIMED) {
+                // 그룹 구성 중 (곧 MATCHED가 되거나 대기열로 돌아감)
+                Thread.onSpinWait();
+                continue;
+            }
+            return state == Ticket.CANCELED;
+        }
+    }
+
+    // 대기 인원이 groupSize 이상인 동안 그룹 구성
+    private void formGroups(Shard shard) {
+        int groupSize = shard.groupSize;
+        int failedAttempts = 0;
+        while (shard.reserve()) {
+            List<Ticket> group = new ArrayList<>(groupSize);
+            Ticket ticket;
+            while (group.size() < groupSize && (ticket = shard.queue.poll()) != null) {
+                if (ticket.state.compareAndSet(Ticket.WAITING, Ticket.CLAIMED)) {
+                    group.add(ticket);
+                } else {
+                    shard.canceledInQueue.decrementAndGet(); // 취소된 요청
+                }
+            }
+
+            if (group.size() < groupSize) {
+                // 집계는 됐지만 아직 대기열에 들어오지 않은 요청이 있거나 예약 후 취소된 경우
+                // -> 꺼낸 요청을 원래 순서대로 앞에 되돌리고 예약도 되돌린 뒤 다시 확인 (취소분은 cancel에서 이미 차감됨)
+                for (int i = group.size() - 1; i >= 0; i--) {
+                    Ticket claimed = group.get(i);
+                    claimed.state.set(Ticket.WAITING);
+                    shard.queue.offerFirst(claimed);
+                }
+                shard.waiting.addAndGet(groupSize);
+                if (++failedAttempts >= MAX_FORM_ATTEMPTS) {
+                    return; // 늦게 들어온 요청의 enqueue 또는 다음 sweep이 이어서 구성
+                }
+                LockSupport.parkNanos(FORM_RETRY_BACKOFF_NANOS * failedAttempts);
+                continue;
+            }
+            complete(group);
+        }
+    }
+
+    private void complete(List<Ticket> group) {
+        long now = System.nanoTime();
+        LocalDateTime matchedAt = LocalDateTime.now();
+        List<Long> userIds = new ArrayList<>(group.size());
+        for (Ticket ticket : group) {
+            userIds.add(ticket.userId);
+        }
+        List<Long> matchedUserIds = Collections.unmodifiableList(userIds);
+        for (Ticket ticket : group) {
+            ticket.matchedUserIds = matchedUserIds;
+            ticket.matchedAt = matchedAt;
+            ticket.finishedNanos = now;
+            ticket.state.set(Ticket.MATCHED);
+            waitTimer.record(now - ticket.createdNanos, TimeUnit.NANOSECONDS);
+        }
+        groupsFormed.increment();
+    }
+
+    private int shardIndex(Region region, Food food, int groupSize) {
+        if (!supportsGroupSize(groupSize)) {
+            throw new IllegalArgumentException("groupSize " + groupSize);
+        }
+        int groupSizes = maxGroupSize - minGroupSize + 1;
+        return (region.ordinal() * FOODS + food.ordinal()) * groupSizes + (groupSize - minGroupSize);
+    }
+
+    private double waitingCount() {
+        long waiting = 0;
+        for (Shard shard : shards) {
+            waiting += Math.max(shard.waiting.get(), 0);
+        }
+        return waiting;
+    }
+
+    private static Counter canceled(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("matching.canceled")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+
+    /** (지역, 음식, 인원) 하나의 대기열 */
+    private static final class Shard {
+        private final int groupSize;
+        private final ConcurrentLinkedDeque<Ticket> queue = new ConcurrentLinkedDeque<>();
+        // WAITING 요청 수 - 그룹 구성 중인 예약분 (취소가 예약과 겹치면 잠시 음수일 수 있음)
+        private final AtomicInteger waiting = new AtomicInteger();
+        private final AtomicInteger canceledInQueue = new AtomicInteger();
+
+        private Shard(int groupSize) {
+            this.groupSize = groupSize;
+        }
+
+        // 대기 인원이 groupSize 이상이면 groupSize만큼 예약
+        private boolean reserve() {
+            while (true) {
+                int current = waiting.get();
+                if (current < groupSize) {
+                    return false;
+                }
+                if (waiting.compareAndSet(current, current - groupSize)) {
+                    return true;
+                }
+            }
+        }
+
+        private void purgeCanceled() {
+            int removed = 0;
+            for (Ticket ticket : queue) {
+                if (ticket.state.get() == Ticket.CANCELED && queue.remove(ticket)) {
+                    removed++;
+                }
+            }
+            canceledInQueue.addAndGet(-removed);
+        }
+    }
+
+
+    /**
+     * 매칭 요청 하나 (상태 조회용 값은 모두 메모리에 보관)
+     */
+    public static final class Ticket {
+
+        private static final int WAITING = 0;
+        private static final int CLAIMED = 1;
+        private static final int MATCHED = 2;
+        private static final int CANCELED = 3;
+
+        @Getter
+        private final long matchId;
+        @Getter
+        private final Long userId;
+        @Getter
+        private final Region region;
+        @Getter
+        private final Food food;
+        @Getter
+        private final int groupSize;
+        @Getter
+        private final LocalDateTime createdAt = LocalDateTime.now();
+        private final long createdNanos = System.nanoTime();
+        private final Shard shard;
+        private final AtomicInteger state = new AtomicInteger(WAITING);
+        // 아래 값은 state를 MATCHED/CANCELED로 바꾸기 전에 기록 (state를 먼저 읽으면 보임)
+        private volatile List<Long> matchedUserIds = List.of();
+        private volatile LocalDateTime matchedAt;
+        private volatile long finishedNanos;
+        private volatile boolean timedOut;
+
+        private Ticket(long matchId, Long userId, Region region, Food food, int groupSize, Shard shard) {
+            this.matchId = matchId;
+            this.userId = userId;
+            this.region = region;
+            this.food = food;
+            this.groupSize = groupSize;
+            this.shard = shard;
+        }
+
+        public MatchingStatus getStatus() {
+            return switch (state.get()) {
+                case MATCHED -> MatchingStatus.MATCHED;
+                case CANCELED -> MatchingStatus.CANCELED;
+                default -> MatchingStatus.PENDING;
+            };
+        }
+
+        public boolean isPending() {
+            int current = state.get();
+            return current == WAITING || current == CLAIMED;
+        }
+
+        /** 대기 시간 초과로 취소된 요청인지 */
+        public boolean isTimedOut() {
+            return state.get() == CANCELED && timedOut;
+        }
+
+        /** MATCHED일 때 그룹 구성 시각, 그 외에는 null */
+        public LocalDateTime getMatchedAt() {
+            return state.get() == MATCHED ? matchedAt : null;
+        }
+
+        /** MATCHED일 때 그룹 구성원 ID (본인 포함, 요청 순서), 그 외에는 빈 목록 */
+        public List<Long> getMatchedUserIds() {
+            return state.get() == MATCHED ? matchedUserIds : List.of();
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.matching.MatchRequest;
+import com.example.demo.dto.matching.MatchResponse;
+import com.example.demo.dto.matching.MatchStatusResponse;
+
+/**
+ * 식사 매칭 인터페이스
+ *
+ * 같은 지역, 음식, 인원을 고른 사용자끼리 그룹을 구성합니다. (MatchingEngine, DB 조회 없음)
+ */
+public interface MatchingService {
+
+    /**
+     * 매칭 대기열에 등록합니다. 같은 조건의 대기 인원이 모이면 즉시 그룹이 구성됩니다.
+     *
+     * @param userId       요청한 사용자의 고유 ID
+     * @param matchRequest 그룹 인원, 지역, 음식
+     * @return 발급된 matchId와 현재 상태 (PENDING 또는 MATCHED)
+     */
+    MatchResponse requestMatching(Long userId, MatchRequest matchRequest);
+
+
+    /**
+     * 사용자의 최근 매칭 요청 상태를 조회합니다.
+     *
+     * @param userId 조회할 사용자의 고유 ID
+     * @return 상태와 (MATCHED이면) 그룹 구성원 ID, 대기 시간 초과로 취소됐으면 CANCELED + timedOut
+     */
+    MatchStatusResponse getMyMatchingStatus(Long userId);
+
+
+    /**
+     * 대기 중인 매칭 요청을 취소합니다. 이미 취소된 요청이면 아무것도 하지 않습니다.
+     *
+     * @param userId  요청한 사용자의 고유 ID (본인 요청만 취소 가능)
+     * @param matchId 취소할 매칭 요청 ID
+     */
+    void cancelMatching(Long userId, Long matchId);
+}
@@ -0,0 +1,12 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.users.ProfileResponse;
+
+/**
+ * 사용자 프로필 변경 이벤트 (ProfileNearCache가 트랜잭션 커밋 후 캐시에 반영)
+ *
+ * @param userId  프로필이 변경된 사용자 ID
+ * @param profile flush 이후의 새 프로필 (증가된 User.version 포함)
+ */
+public record ProfileChangedEvent(Long userId, ProfileResponse profile) {
+}
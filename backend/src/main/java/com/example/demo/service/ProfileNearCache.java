@@ -0,0 +1,436 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.users.ProfileResponse;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * 사용자 프로필 2단계 캐시 (L1: 노드 로컬 Caffeine, L2: Redis)
+ *
+ * 프로필은 거의 바뀌지 않으므로 조회마다 Redis를 거치지 않도록 L2 앞에 작은 로컬 캐시를 둡니다.
+ * 조회 순서 : L1 -> L2(Redis) -> loader(DB) -> L2/L1 저장
+ *
+ *  - L1 제거    : 크기 제한(profile.near-cache.max-size) + TTL(profile.near-cache.ttl-seconds)
+ *  - 노드 간 무효화 : 프로필 변경/탈퇴 시 Redis pub/sub 채널(INVALIDATION_CHANNEL)로 userId를 전파,
+ *                   모든 노드(자기 자신 포함)가 L1 엔트리를 제거
+ *  - 메시지 유실 대비 : L1 TTL이 최대 불일치 시간의 상한
+ *  - 버전 조회    : cachedVersion()으로 DB 없이 User.version 확인 (조건부 조회 ETag 비교용)
+ *  - 캐시 쇄도 방지 : 캐시 미스 시 사용자당 하나의 로더만 DB 조회 (노드 내 single-flight + Redis 임대),
+ *                   만료가 가까운 엔트리는 확률적으로 미리 백그라운드 갱신
+ *  - 지표        : profile.cache.gets{level=l1|l2, result=hit|miss}, profile.cache.l1.size,
+ *                 profile.cache.loads{source=db|coalesced|lease-wait|early-refresh}
+ */
+@Slf4j
+@Component
+public class ProfileNearCache implements MessageListener {
+
+    public static final String INVALIDATION_CHANNEL = "profile:invalidate";
+
+    private static final long LEASE_POLL_MILLIS = 25L;
+    private static final int REFRESH_QUEUE_CAPACITY = 256;
+
+    private final JwtRedisService jwtRedisService;
+    private final JwtRedisAsyncService jwtRedisAsyncService;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final Cache<Long, ProfileResponse> localCache;
+    private final Map<Long, CompletableFuture<ProfileResponse>> loading = new ConcurrentHashMap<>();
+    private final ThreadPoolExecutor refreshExecutor;
+    private final long loadLeaseMillis;
+    private final long earlyRefreshWindowMillis;
+
+    private final Counter l1Hits;
+    private final Counter l1Misses;
+    private final Counter l2Hits;
+    private final Counter l2Misses;
+    private final Counter dbLoads;
+    private final Counter coalescedLoads;
+    private final Counter leaseWaitLoads;
+    private final Counter earlyRefreshes;
+
+    public ProfileNearCache(JwtRedisService jwtRedisService,
+                            JwtRedisAsyncService jwtRedisAsyncService,
+                            StringRedisTemplate stringRedisTemplate,
+                            RedisMessageListenerContainer listenerContainer,
+                            MeterRegistry meterRegistry,
+                            @Value("${profile.near-cache.max-size:10000}") long maxSize,
+                            @Value("${profile.near-cache.ttl-seconds:60}") long ttlSeconds,
+                            @Value("${profile.cache.load-lease-ms:3000}") long loadLeaseMillis,
+                            @Value("${profile.cache.early-refresh-window-seconds:3600}") long earlyRefreshWindowSeconds) {
+        this.jwtRedisService = jwtRedisService;
+        this.jwtRedisAsyncService = jwtRedisAsyncService;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.loadLeaseMillis = loadLeaseMillis;
+        this.earlyRefreshWindowMillis = TimeUnit.SECONDS.toMillis(earlyRefreshWindowSeconds);
+        this.refreshExecutor = new ThreadPoolExecutor(1, 2, 60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(REFRESH_QUEUE_CAPACITY),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "profile-cache-refresh");
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.localCache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+
+        this.l1Hits = gets(meterRegistry, "l1", "hit");
+        this.l1Misses = gets(meterRegistry, "l1", "miss");
+        this.l2Hits = gets(meterRegistry, "l2", "hit");
+        this.l2Misses = gets(meterRegistry, "l2", "miss");
+        this.dbLoads = loads(meterRegistry, "db");
+        this.coalescedLoads = loads(meterRegistry, "coalesced");
+        this.leaseWaitLoads = loads(meterRegistry, "lease-wait");
+        this.earlyRefreshes = loads(meterRegistry, "early-refresh");
+        Gauge.builder("profile.cache.l1.size", localCache, Cache::estimatedSize).register(meterRegistry);
+
+        listenerContainer.addMessageListener(this, new ChannelTopic(INVALIDATION_CHANNEL));
+    }
+
+
+    /**
+     * 프로필을 L1 -> L2 -> loader 순서로 조회합니다.
+     *
+     *  - L2 미스 : 노드 내 single-flight + Redis 임대로 사용자당 하나의 로더만 DB를 조회하고,
+     *              나머지 요청은 그 결과를 기다림. 읽은 값은 L2와 L1에 저장
+     *  - L2 히트 : 남은 TTL이 짧을수록 높은 확률로 백그라운드 조기 갱신 (만료 시점 분산)
+     *
+     * @param userId 조회할 사용자 ID
+     * @param loader 두 캐시 모두 없을 때 DB에서 프로필을 읽는 함수
+     * @return 사용자 프로필
+     */
+    public ProfileResponse get(Long userId, Function<Long, ProfileResponse> loader) {
+        ProfileResponse profile = localCache.getIfPresent(userId);
+        if (profile != null) {
+            l1Hits.increment();
+            return profile;
+        }
+        l1Misses.increment();
+
+        JwtRedisService.CachedProfile cached = jwtRedisService.getCachedUserProfileWithTtl(userId);
+        if (cached != null && cached.profile().getNickname() != null) {
+            l2Hits.increment();
+            localCache.put(userId, cached.profile());
+            if (shouldRefreshEarly(cached.ttlMillis())) {
+                refreshInBackground(userId, loader);
+            }
+            return cached.profile();
+        }
+        l2Misses.increment();
+
+        return loadOnce(userId, loader);
+    }
+
+
+    /**
+     * 캐시에 있는 프로필 버전(User.version)을 조회합니다. (L1 -> L2 버전 키, DB는 조회하지 않음)
+     * 조건부 조회(ETag)에서 변경 여부만 확인할 때 사용합니다.
+     *
+     * @param userId 조회할 사용자 ID
+     * @return 캐시된 버전, 두 캐시 모두 없으면 null (호출자는 전체 조회로 처리)
+     */
+    public Long cachedVersion(Long userId) {
+        ProfileResponse profile = localCache.getIfPresent(userId);
+        if (profile != null) {
+            return profile.getVersion();
+        }
+        return jwtRedisService.getCachedProfileVersion(userId);
+    }
+
+
+    /**
+     * 여러 사용자의 프로필을 일괄 조회합니다. (최대 3 round trip)
+     *
+     *  1. L1 조회 (로컬)
+     *  2. L1 미스 -> Redis MGET 1회 (실패/시간 초과 시 모두 L2 미스로 처리)
+     *  3. L2 미스 -> batchLoader 1회 (IN 쿼리)
+     *  4. DB에서 읽은 값 -> 사용자별 버전 비교 저장을 파이프라인 1회로 L2에 기록 (응답은 기다리지 않음)
+     *
+     * @param userIds     조회할 사용자 ID 목록 (중복 없음)
+     * @param batchLoader 캐시에 없는 사용자들을 한 번에 DB에서 읽는 함수 (없는 사용자는 결과에서 제외)
+     * @return 사용자 ID -> 프로필 (요청 순서 유지, 존재하지 않는 사용자는 제외)
+     */
+    public Map<Long, ProfileResponse> getAll(List<Long> userIds,
+                                             Function<List<Long>, Map<Long, ProfileResponse>> batchLoader) {
+        Map<Long, ProfileResponse> found = new HashMap<>(localCache.getAllPresent(userIds));
+        l1Hits.increment(found.size());
+        l1Misses.increment(userIds.size() - found.size());
+
+        List<Long> l1Missed = userIds.stream().filter(id -> !found.containsKey(id)).toList();
+        if (!l1Missed.isEmpty()) {
+            Map<Long, ProfileResponse> fromRedis = cachedProfiles(l1Missed);
+            fromRedis.values().removeIf(profile -> profile.getNickname() == null);
+            l2Hits.increment(fromRedis.size());
+            l2Misses.increment(l1Missed.size() - fromRedis.size());
+            localCache.putAll(fromRedis);
+            found.putAll(fromRedis);
+
+            List<Long> l2Missed = l1Missed.stream().filter(id -> !found.containsKey(id)).toList();
+            if (!l2Missed.isEmpty()) {
+                Map<Long, ProfileResponse> fromDb = batchLoader.apply(l2Missed);
+                dbLoads.increment(fromDb.size());
+                jwtRedisAsyncService.cacheUserProfiles(fromDb);
+                found.putAll(fromDb);
+            }
+        }
+
+        Map<Long, ProfileResponse> ordered = new LinkedHashMap<>();
+        for (Long userId : userIds) {
+            ProfileResponse profile = found.get(userId);
+            if (profile != null) {
+                ordered.put(userId, profile);
+            }
+        }
+        return ordered;
+    }
+
+
+    /**
+     * 프로필 변경 트랜잭션이 커밋된 뒤 새 프로필을 캐시에 바로 기록합니다. (write-through)
+     *
+     * 커밋 이후에 실행되므로 다른 요청이 커밋 전 값을 다시 채우는 구간이 없고,
+     * 삭제 대신 새 값을 기록하므로 수정 직후 조회도 DB를 거치지 않습니다.
+     * L2 저장은 버전 비교로 처리되어 더 오래된 값이 새 값을 덮어쓰지 않습니다.
+     * 트랜잭션 밖에서 발행된 이벤트(이미 커밋된 변경)는 즉시 처리합니다.
+     *
+     * @param event 변경된 사용자 ID와 새 프로필 (flush 후 증가된 버전 포함)
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProfileChanged(ProfileChangedEvent event) {
+        Long userId = event.userId();
+        try {
+            jwtRedisService.cacheUserProfile(userId, event.profile());
+        } catch (RuntimeException e) {
+            // 새 값을 쓰지 못하면 이전 값이 남지 않도록 삭제 시도 (삭제도 실패하면 TTL까지 이전 값이 남음)
+            // 버전 키도 함께 삭제 -> 이전 버전의 ETag가 304로 통과되지 않음
+            log.warn("프로필 캐시 갱신 실패 userId={}, 캐시 삭제로 대체: {}", userId, e.toString());
+            try {
+                jwtRedisService.deleteAllUserCache(userId);
+            } catch (RuntimeException deleteFailure) {
+                log.error("프로필 캐시 삭제 실패 userId={}", userId, deleteFailure);
+            }
+        }
+        publishInvalidation(userId);
+    }
+
+
+    /**
+     * 프로필 변경 시 L2(Redis) 캐시를 삭제하고 모든 노드의 L1 캐시를 무효화합니다.
+     *
+     * @param userId 프로필이 변경된 사용자 ID
+     */
+    public void invalidate(Long userId) {
+        jwtRedisService.deleteUserProfileCache(userId);
+        publishInvalidation(userId);
+    }
+
+
+    /**
+     * L2가 이미 삭제된 경우(회원 탈퇴 등) 모든 노드의 L1 캐시만 무효화합니다.
+     * L2 삭제 후 발행해야 다른 노드가 이전 값을 다시 L1에 채우지 않습니다.
+     *
+     * @param userId 대상 사용자 ID
+     */
+    public void publishInvalidation(Long userId) {
+        localCache.invalidate(userId);
+        stringRedisTemplate.convertAndSend(INVALIDATION_CHANNEL, userId.toString());
+    }
+
+
+    /** 다른 노드(또는 자기 자신)가 발행한 무효화 이벤트 수신 */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        try {
+            localCache.invalidate(Long.valueOf(body));
+        } catch (NumberFormatException e) {
+            log.warn("알 수 없는 프로필 무효화 이벤트 무시: {}", body);
+        }
+    }
+
+
+    // L2 일괄 조회, Redis 장애/지연은 조회 실패로 만들지 않음 (DB에서 읽음)
+    private Map<Long, ProfileResponse> cachedProfiles(List<Long> userIds) {
+        try {
+            return new HashMap<>(jwtRedisAsyncService.await(jwtRedisAsyncService.getCachedUserProfiles(userIds)));
+        } catch (RuntimeException e) {
+            log.debug("프로필 캐시 일괄 조회 생략 ({}건): {}", userIds.size(), e.toString());
+            return new HashMap<>();
+        }
+    }
+
+    // 노드 내 single-flight : 같은 userId의 로딩은 하나만 실행, 나머지는 결과 대기
+    private ProfileResponse loadOnce(Long userId, Function<Long, ProfileResponse> loader) {
+        CompletableFuture<ProfileResponse> mine = new CompletableFuture<>();
+        CompletableFuture<ProfileResponse> inFlight = loading.putIfAbsent(userId, mine);
+        if (inFlight != null) {
+            coalescedLoads.increment();
+            // 먼저 시작한 로더는 임대 대기(load-lease-ms) + DB 조회로 끝나므로 그 두 배까지만 대기
+            return JwtRedisAsyncService.await(inFlight, Duration.ofMillis(loadLeaseMillis * 2));
+        }
+
+        try {
+            ProfileResponse profile = loadWithLease(userId, loader);
+            mine.complete(profile);
+            return profile;
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            loading.remove(userId, mine);
+        }
+    }
+
+    // 노드 간 single-flight : Redis 임대를 얻은 노드만 DB 조회, 나머지는 L2에 값이 채워질 때까지 대기
+    private ProfileResponse loadWithLease(Long userId, Function<Long, ProfileResponse> loader) {
+        String owner = UUID.randomUUID().toString();
+        boolean leased = jwtRedisService.tryAcquireProfileLoadLease(userId, owner, loadLeaseMillis);
+        if (!leased) {
+            ProfileResponse loadedElsewhere = awaitOtherLoader(userId);
+            if (loadedElsewhere != null) {
+                leaseWaitLoads.increment();
+                localCache.put(userId, loadedElsewhere);
+                return loadedElsewhere;
+            }
+            // 임대 보유 노드가 값을 남기지 않고 끝났거나 제시간에 끝내지 못함 -> 직접 조회
+        }
+
+        try {
+            dbLoads.increment();
+            ProfileResponse profile = loader.apply(userId);
+            // 다른 노드가 L2를 기다리고 있으므로 동기로 저장
+            // 그사이 커밋된 더 새로운 버전이 있으면 저장되지 않으므로 L1에도 넣지 않음
+            if (storeLoaded(userId, profile)) {
+                localCache.put(userId, profile);
+            }
+            return profile;
+        } finally {
+            if (leased) {
+                jwtRedisService.releaseProfileLoadLease(userId, owner);
+            }
+        }
+    }
+
+    // DB에서 읽은 값을 L2에 저장, Redis 장애(차단 포함)는 조회 실패로 만들지 않음 (L1에도 넣지 않음)
+    private boolean storeLoaded(Long userId, ProfileResponse profile) {
+        try {
+            return jwtRedisService.cacheUserProfile(userId, profile);
+        } catch (RuntimeException e) {
+            log.debug("프로필 캐시 저장 생략 userId={}: {}", userId, e.toString());
+            return false;
+        }
+    }
+
+    // 임대가 사라졌는데 L2에 값이 없으면(사용자 없음, 저장 실패, 버전 확인으로 저장 거부) 더 기다리지 않고 직접 조회
+    private ProfileResponse awaitOtherLoader(Long userId) {
+        long deadline = System.currentTimeMillis() + loadLeaseMillis;
+        while (System.currentTimeMillis() < deadline) {
+            try {
+                Thread.sleep(LEASE_POLL_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            }
+            JwtRedisService.ProfileLoadState state = jwtRedisService.getProfileLoadState(userId);
+            if (state == null) {
+                return null;
+            }
+            ProfileResponse profile = state.profile();
+            if (profile != null && profile.getNickname() != null) {
+                return profile;
+            }
+            if (!state.leaseHeld()) {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 확률적 조기 갱신 : 남은 TTL이 r일 때 exp(-r / window) 확률로 갱신
+     * (-ln(U) * window >= r, U ~ Uniform(0,1]) -> 만료가 가까울수록 확률이 높아지고 요청마다 시점이 분산됨
+     */
+    private boolean shouldRefreshEarly(long ttlMillis) {
+        if (ttlMillis < 0 || earlyRefreshWindowMillis <= 0) {
+            return false;
+        }
+        double u = 1.0 - ThreadLocalRandom.current().nextDouble();
+        return -Math.log(u) * earlyRefreshWindowMillis >= ttlMillis;
+    }
+
+    // 다른 노드가 이미 갱신 중(임대 보유)이면 건너뜀
+    private void refreshInBackground(Long userId, Function<Long, ProfileResponse> loader) {
+        if (loading.containsKey(userId)) {
+            return;
+        }
+        try {
+            refreshExecutor.execute(() -> {
+                String owner = UUID.randomUUID().toString();
+                if (!jwtRedisService.tryAcquireProfileLoadLease(userId, owner, loadLeaseMillis)) {
+                    return;
+                }
+                try {
+                    earlyRefreshes.increment();
+                    ProfileResponse profile = loader.apply(userId);
+                    if (storeLoaded(userId, profile)) {
+                        localCache.put(userId, profile);
+                    }
+                } catch (RuntimeException e) {
+                    log.warn("프로필 캐시 조기 갱신 실패 userId={}: {}", userId, e.toString());
+                } finally {
+                    jwtRedisService.releaseProfileLoadLease(userId, owner);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // 갱신 대기열이 가득 참 -> 이번 요청은 건너뜀 (다음 요청이 다시 시도)
+        }
+    }
+
+    private static Counter loads(MeterRegistry meterRegistry, String source) {
+        return Counter.builder("profile.cache.loads")
+                .tag("source", source)
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        refreshExecutor.shutdown();
+    }
+
+    private static Counter gets(MeterRegistry meterRegistry, String level, String result) {
+        return Counter.builder("profile.cache.gets")
+                .tag("level", level)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,312 @@
+package com.example.demo.service;
+
+import com.example.demo.exception.ErrorCode;
+import com.example.demo.exception.RetryLaterException;
+import io.lettuce.core.RedisCommandTimeoutException;
+import io.lettuce.core.RedisConnectionException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Redis 호출용 서킷 브레이커 (JwtRedisService의 동기 호출을 감쌈)
+ *
+ * Redis가 느려지면 인증 필터/로그인/프로필 조회의 모든 요청 스레드가 Redis 응답을 기다리며 쌓입니다.
+ * 호출마다 짧은 제한 시간을 두고, 실패/지연이 일정 비율을 넘으면 일정 시간 Redis 호출 자체를 차단해
+ * 호출자가 정해 둔 대체 동작(degraded)으로 바로 응답하도록 합니다.
+ *
+ *  - 제한 시간  : 호출자 스레드에서 그대로 실행, 제한 시간은 브레이커 전용 커넥션의 Lettuce 명령 타임아웃
+ *                (RedisConfig.breakerRedisConnectionFactory, redis.breaker.call-timeout-ms)이 실제 명령을 끊어 보장
+ *  - 동시 호출 수 : redis.breaker.max-concurrent-calls 초과 시 대기 없이 거절 (거절은 실패로 기록하지 않음)
+ *  - 실패 판정  : 연결 실패/명령 시간 초과만 실패로 기록, 그 외 예외(스크립트 오류 등)는 Redis가 응답한 것이므로
+ *                성공으로 기록하고 호출자에게 그대로 전파
+ *  - 판정      : 최근 window-size개 호출 중 실패율 또는 지연 호출(slow-call-ms 이상) 비율이 임계치 이상이면 OPEN
+ *  - OPEN     : open-duration-ms 동안 Redis를 호출하지 않고 바로 대체 동작
+ *  - HALF_OPEN : 이후 half-open-calls개의 시험 호출 결과로 CLOSED 복귀 또는 다시 OPEN
+ *  - 지표      : redis.breaker.calls{outcome=success|slow|failure|timeout|rejected|short-circuited},
+ *               redis.breaker.state (0=CLOSED, 1=OPEN, 2=HALF_OPEN)
+ */
+@Slf4j
+@Component
+public class RedisCircuitBreaker {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private static final byte SUCCESS = 0;
+    private static final byte FAILURE = 1;
+    private static final byte SLOW = 2;
+
+    private final long slowCallMillis;
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final double slowCallRateThreshold;
+    private final long openDurationMillis;
+    private final int halfOpenCalls;
+    private final Semaphore concurrentCalls;
+
+    // 최근 호출 결과 (순환 버퍼), 상태 전이는 모두 this로 동기화
+    private final byte[] window;
+    private int windowIndex;
+    private int recorded;
+    private int failures;
+    private int slowCalls;
+    private volatile State state = State.CLOSED;
+    private long openedAtMillis;
+    private int halfOpenPermits;
+    private long transitions; // 상태 전이 횟수 (반환할 HALF_OPEN 시험 호출 권한이 현재 구간의 것인지 확인)
+
+    private final Counter successCounter;
+    private final Counter slowCounter;
+    private final Counter failureCounter;
+    private final Counter timeoutCounter;
+    private final Counter rejectedCounter;
+    private final Counter shortCircuitedCounter;
+
+    public RedisCircuitBreaker(MeterRegistry meterRegistry,
+                               @Value("${redis.breaker.slow-call-ms:50}") long slowCallMillis,
+                               @Value("${redis.breaker.window-size:50}") int windowSize,
+                               @Value("${redis.breaker.minimum-calls:20}") int minimumCalls,
+                               @Value("${redis.breaker.failure-rate-threshold:50}") double failureRateThreshold,
+                               @Value("${redis.breaker.slow-call-rate-threshold:80}") double slowCallRateThreshold,
+                               @Value("${redis.breaker.open-duration-ms:5000}") long openDurationMillis,
+                               @Value("${redis.breaker.half-open-calls:5}") int halfOpenCalls,
+                               @Value("${redis.breaker.max-concurrent-calls:32}") int maxConcurrentCalls) {
+        this.slowCallMillis = slowCallMillis;
+        this.window = new byte[windowSize];
+        this.minimumCalls = Math.min(minimumCalls, windowSize);
+        this.failureRateThreshold = failureRateThreshold;
+        this.slowCallRateThreshold = slowCallRateThreshold;
+        this.openDurationMillis = openDurationMillis;
+        this.halfOpenCalls = halfOpenCalls;
+        this.concurrentCalls = new Semaphore(maxConcurrentCalls);
+
+        this.successCounter = calls(meterRegistry, "success");
+        this.slowCounter = calls(meterRegistry, "slow");
+        this.failureCounter = calls(meterRegistry, "failure");
+        this.timeoutCounter = calls(meterRegistry, "timeout");
+        this.rejectedCounter = calls(meterRegistry, "rejected");
+        this.shortCircuitedCounter = calls(meterRegistry, "short-circuited");
+        Gauge.builder("redis.breaker.state", this, breaker -> breaker.state.ordinal()).register(meterRegistry);
+    }
+
+
+    /**
+     * Redis 호출을 실행하고, 차단 중이거나 연결 실패/제한 시간 초과 시 대체 동작의 결과를 반환합니다.
+     *
+     * @param call     Redis 호출
+     * @param fallback Redis를 쓸 수 없을 때의 대체 동작 (로컬 사본, DB 조회 등)
+     * @return 호출 결과 또는 대체 동작 결과
+     */
+    public <T> T execute(Supplier<T> call, Supplier<T> fallback) {
+        try {
+            return run(call);
+        } catch (RedisUnavailableException e) {
+            return fallback.get();
+        }
+    }
+
+
+    /**
+     * Redis 호출을 실행하고, 차단 중이거나 연결 실패/제한 시간 초과 시 바로 503으로 응답합니다.
+     * 대체 동작이 없는 호출(세션 저장/회전, 로그아웃 등)에 사용합니다.
+     *
+     * @param call Redis 호출
+     * @return 호출 결과
+     * @throws RetryLaterException Redis를 쓸 수 없을 때 (503 + Retry-After)
+     */
+    public <T> T executeOrFailFast(Supplier<T> call) {
+        try {
+            return run(call);
+        } catch (RedisUnavailableException e) {
+            throw new RetryLaterException(ErrorCode.REDIS_UNAVAILABLE,
+                    Math.max(1L, TimeUnit.MILLISECONDS.toSeconds(openDurationMillis)));
+        }
+    }
+
+
+    /** 반환값이 없는 호출용 (executeOrFailFast) */
+    public void runOrFailFast(Runnable call) {
+        executeOrFailFast(() -> {
+            call.run();
+            return null;
+        });
+    }
+
+
+    /** 현재 상태 (OPEN 유지 시간이 지났으면 다음 호출 때 HALF_OPEN으로 전환) */
+    public State getState() {
+        return state;
+    }
+
+
+    private <T> T run(Supplier<T> call) {
+        long permit = tryAcquirePermission();
+        if (permit < 0) {
+            shortCircuitedCounter.increment();
+            throw RedisUnavailableException.INSTANCE;
+        }
+        if (!concurrentCalls.tryAcquire()) {
+            // 동시 호출 수 초과 = 노드 내 부하 신호일 뿐 Redis 실패는 아님 -> 기록하지 않고 권한만 반환
+            releasePermission(permit);
+            rejectedCounter.increment();
+            throw RedisUnavailableException.INSTANCE;
+        }
+
+        boolean recordedOutcome = false;
+        long start = System.nanoTime();
+        try {
+            T result = call.get();
+            long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            recordedOutcome = true;
+            if (elapsedMillis >= slowCallMillis) {
+                slowCounter.increment();
+                record(SLOW);
+            } else {
+                successCounter.increment();
+                record(SUCCESS);
+            }
+            return result;
+        } catch (RuntimeException e) {
+            if (isTimeout(e)) {
+                recordedOutcome = true;
+                timeoutCounter.increment();
+                record(FAILURE);
+                throw RedisUnavailableException.INSTANCE;
+            }
+            if (isConnectionFailure(e)) {
+                recordedOutcome = true;
+                failureCounter.increment();
+                record(FAILURE);
+                log.debug("Redis 호출 실패: {}", e.toString());
+                throw RedisUnavailableException.INSTANCE;
+            }
+            // Redis가 응답한 오류(스크립트/타입 오류, 직렬화 오류 등)는 가용성 문제가 아님
+            recordedOutcome = true;
+            successCounter.increment();
+            record(SUCCESS);
+            throw e;
+        } finally {
+            concurrentCalls.release();
+            if (!recordedOutcome) {
+                releasePermission(permit); // Error 등 결과를 기록하지 못한 경우에도 시험 호출 권한은 반환
+            }
+        }
+    }
+
+    private static boolean isTimeout(Throwable e) {
+        return e instanceof QueryTimeoutException || e instanceof RedisCommandTimeoutException;
+    }
+
+    private static boolean isConnectionFailure(Throwable e) {
+        return e instanceof DataAccessResourceFailureException || e instanceof RedisConnectionException;
+    }
+
+    /**
+     * 호출 권한을 얻습니다.
+     *
+     * @return 권한을 얻은 상태 구간(transitions), 차단 중이면 -1
+     */
+    private synchronized long tryAcquirePermission() {
+        if (state == State.OPEN) {
+            if (System.currentTimeMillis() - openedAtMillis < openDurationMillis) {
+                return -1L;
+            }
+            transitionTo(State.HALF_OPEN);
+            halfOpenPermits = halfOpenCalls;
+        }
+        if (state == State.HALF_OPEN) {
+            if (halfOpenPermits <= 0) {
+                return -1L;
+            }
+            halfOpenPermits--;
+        }
+        return transitions;
+    }
+
+    // 결과를 기록하지 않고 끝난 호출의 HALF_OPEN 시험 권한 반환 (그사이 상태가 바뀌었으면 무시)
+    private synchronized void releasePermission(long permit) {
+        if (state == State.HALF_OPEN && permit == transitions) {
+            halfOpenPermits++;
+        }
+    }
+
+    private synchronized void record(byte outcome) {
+        if (state == State.OPEN) {
+            return; // 차단 직전에 시작된 호출의 늦은 결과는 무시
+        }
+        if (recorded == window.length) {
+            forget(window[windowIndex]);
+        } else {
+            recorded++;
+        }
+        window[windowIndex] = outcome;
+        windowIndex = (windowIndex + 1) % window.length;
+        if (outcome == FAILURE) {
+            failures++;
+        } else if (outcome == SLOW) {
+            slowCalls++;
+        }
+
+        if (state == State.HALF_OPEN) {
+            if (recorded >= halfOpenCalls) {
+                transitionTo(exceedsThresholds() ? State.OPEN : State.CLOSED);
+            }
+        } else if (recorded >= minimumCalls && exceedsThresholds()) {
+            transitionTo(State.OPEN);
+        }
+    }
+
+    private boolean exceedsThresholds() {
+        return failures * 100.0 / recorded >= failureRateThreshold
+                || slowCalls * 100.0 / recorded >= slowCallRateThreshold;
+    }
+
+    private void forget(byte outcome) {
+        if (outcome == FAILURE) {
+            failures--;
+        } else if (outcome == SLOW) {
+            slowCalls--;
+        }
+    }
+
+    // 상태가 바뀌면 판정 구간을 새로 시작
+    private void transitionTo(State next) {
+        if (next == State.OPEN) {
+            openedAtMillis = System.currentTimeMillis();
+            log.warn("Redis 서킷 브레이커 OPEN (실패 {}/{}, 지연 {}/{}) -> {}ms 동안 대체 동작",
+                    failures, recorded, slowCalls, recorded, openDurationMillis);
+        } else if (next == State.CLOSED) {
+            log.info("Redis 서킷 브레이커 CLOSED");
+        }
+        state = next;
+        transitions++;
+        recorded = 0;
+        windowIndex = 0;
+        failures = 0;
+        slowCalls = 0;
+    }
+
+    private static Counter calls(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("redis.breaker.calls")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    // 차단/실패 신호용 (호출자 밖으로 나가지 않으므로 스택 트레이스 불필요)
+    private static final class RedisUnavailableException extends RuntimeException {
+        static final RedisUnavailableException INSTANCE = new RedisUnavailableException();
+
+        private RedisUnavailableException() {
+            super("Redis unavailable", null, false, false);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.auth.AccessTokenResponseDto;
+import com.example.demo.exception.CustomException;
+import com.example.demo.exception.ErrorCode;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * 같은 Refresh Token으로 동시에 들어온 재발급 요청 병합 (single-flight, 노드 내부)
+ *
+ * SPA는 Access Token 만료 시 병렬 요청마다 /api/auth/refresh를 호출합니다.
+ * 같은 (userId, Refresh Token) 요청은 첫 요청만 회전을 실행하고,
+ * 나머지는 그 결과(같은 토큰 쌍)를 그대로 받습니다.
+ * 완료된 결과는 노드 메모리에 남기지 않습니다. 조금 늦게 도착한 요청과 노드 간 병합은
+ * JwtRedisService.rotateRefreshSession의 Redis 유예 기록이 담당하며, 그쪽은 세션이 로그아웃/폐기되면
+ * 더 이상 토큰 쌍을 돌려주지 않습니다. (노드별 캐시가 폐기 이후에도 토큰 쌍을 내주는 일이 없도록)
+ */
+@Component
+public class RefreshSingleFlight {
+
+    // 진행 중인 재발급만 보관 (완료 즉시 제거)
+    private final ConcurrentHashMap<String, CompletableFuture<AccessTokenResponseDto>> flights = new ConcurrentHashMap<>();
+
+    /**
+     * key에 대해 진행 중인 재발급이 있으면 그 결과를, 없으면 rotation을 실행합니다.
+     *
+     * @param key      userId + Refresh Token 다이제스트
+     * @param rotation 실제 회전 로직
+     * @return 발급된 토큰 쌍
+     */
+    public AccessTokenResponseDto execute(String key, Supplier<AccessTokenResponseDto> rotation) {
+        CompletableFuture<AccessTokenResponseDto> mine = new CompletableFuture<>();
+        CompletableFuture<AccessTokenResponseDto> existing = flights.putIfAbsent(key, mine);
+        if (existing != null) {
+            return join(existing);
+        }
+
+        try {
+            AccessTokenResponseDto result = rotation.get();
+            mine.complete(result);
+            return result;
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            flights.remove(key, mine);
+        }
+    }
+
+
+    private static AccessTokenResponseDto join(CompletableFuture<AccessTokenResponseDto> flight) {
+        try {
+            return flight.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new CustomException(ErrorCode.INTERNAL_ERROR);
+        }
+    }
+}
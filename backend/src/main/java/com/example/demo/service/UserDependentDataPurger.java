@@ -0,0 +1,19 @@
+package com.example.demo.service;
+
+import java.util.List;
+
+/**
+ * 탈퇴 회원을 참조하는 데이터 삭제 (매칭 기록, 채팅 메시지 등 users를 참조하는 테이블마다 구현)
+ *
+ * WithdrawnUserPurgeJob이 users 행을 지우기 전에 같은 트랜잭션 안에서 배치 단위로 호출합니다.
+ * 참조 테이블이 클 수 있으므로 구현체도 한 번에 지우는 행 수를 제한하고,
+ * 아직 남은 행이 있으면 false를 돌려 다음 배치에서 다시 호출되도록 합니다.
+ */
+public interface UserDependentDataPurger {
+
+    /**
+     * @param userIds 이번 배치의 탈퇴 회원 ID
+     * @return 이 회원들의 참조 데이터를 모두 지웠으면 true
+     */
+    boolean purge(List<Long> userIds);
+}
@@ -0,0 +1,75 @@
+package com.example.demo.service;
+
+import com.example.demo.domain.User;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * User 2차 캐시(노드 로컬) 노드 간 무효화
+ *
+ * 같은 노드의 변경은 Hibernate READ_WRITE 전략이 커밋 시 캐시를 갱신하지만, 다른 노드의 캐시에는 이전 엔티티
+ * (비밀번호 해시, email 등)가 남습니다. User가 바뀔 때마다 발행되는 프로필 무효화 메시지
+ * (ProfileNearCache.INVALIDATION_CHANNEL, userId)를 함께 구독해 해당 엔티티를 2차 캐시에서 제거합니다.
+ *
+ *  - email -> id(natural id) 캐시는 UserRepositoryCustomImpl.findByEmail이 읽은 엔티티의 email과 비교해 처리
+ *  - 메시지 유실 시 hibernate.cache.caffeine.ttl-seconds가 최대 불일치 시간
+ */
+@Slf4j
+@Component
+public class UserEntityCacheInvalidator implements MessageListener {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    public UserEntityCacheInvalidator(EntityManagerFactory entityManagerFactory,
+                                      RedisMessageListenerContainer listenerContainer) {
+        this.entityManagerFactory = entityManagerFactory;
+        listenerContainer.addMessageListener(this, new ChannelTopic(ProfileNearCache.INVALIDATION_CHANNEL));
+    }
+
+
+    /**
+     * 이 노드의 2차 캐시에서 사용자 엔티티를 제거합니다.
+     */
+    public void evict(Long userId) {
+        entityManagerFactory.getCache().evict(User.class, userId);
+    }
+
+
+    /**
+     * 현재 트랜잭션이 커밋된 뒤 이 노드의 2차 캐시에서 사용자 엔티티를 제거합니다. (트랜잭션 밖이면 즉시)
+     * 커밋 시 Hibernate가 새 상태를 캐시에 다시 넣는 경우(탈퇴 등 이후 조회되면 안 되는 상태)에 사용합니다.
+     */
+    public void evictAfterCommit(Long userId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evict(userId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                evict(userId);
+            }
+        });
+    }
+
+
+    /** 다른 노드(또는 자기 자신)가 발행한 무효화 이벤트 수신 */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        try {
+            evict(Long.valueOf(body));
+        } catch (NumberFormatException e) {
+            log.warn("알 수 없는 사용자 캐시 무효화 이벤트 무시: {}", body);
+        }
+    }
+}
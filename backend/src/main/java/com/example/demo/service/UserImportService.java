@@ -0,0 +1,30 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.admin.UserImportResponse;
+
+import java.io.InputStream;
+
+/**
+ * 회원 일괄 등록(관리자) 인터페이스
+ *
+ * 입력 전체를 메모리에 올리지 않고 스트림으로 읽으면서 일정 행 수 단위로 검증/해시/저장합니다.
+ */
+public interface UserImportService {
+
+    /** 입력 형식 */
+    enum Format {
+        /** 첫 줄은 헤더 (email,password,nickname,gender,age,phoneNumber,profileImageUrl 순서 무관) */
+        CSV,
+        /** 한 줄에 JSON 객체 하나 (필드는 회원가입 요청과 동일) */
+        NDJSON
+    }
+
+    /**
+     * 회원을 일괄 등록합니다. 잘못된 행은 건너뛰고 결과의 errors에 줄 번호와 사유를 남깁니다.
+     *
+     * @param inputStream 요청 본문 (UTF-8)
+     * @param format      입력 형식
+     * @return 전체/성공/실패 행 수와 행별 오류
+     */
+    UserImportResponse importUsers(InputStream inputStream, Format format);
+}
@@ -10,6 +10,9 @@ import com.example.demo.dto.users.ProfileUpdateRequest;
 import com.example.demo.dto.users.UserInfoDetailsResponse;
 import com.example.demo.dto.users.ChangePasswordRequest;
 
+import java.util.List;
+import java.util.Map;
+
 /**
  * 회원 정보 관련 인터페이스
  * 
@@ -34,6 +37,16 @@ public interface UserService {
     ProfileResponse getProfile(Long userId);
 
 
+    /**
+     * 여러 사용자의 프로필 정보(닉네임, 프로필 이미지 URL)를 한 번에 조회합니다.
+     * (채팅 참여자, 매칭 상대 목록 등)
+     *
+     * @param userIds 조회할 사용자 ID 목록 (중복은 무시, 최대 profile.batch.max-ids개)
+     * @return 사용자 ID -> 프로필 (요청 순서 유지, 존재하지 않는 사용자는 제외)
+     */
+    Map<Long, ProfileResponse> getProfiles(List<Long> userIds);
+
+
     /**
      * 사용자의 프로필 정보(닉네임, 프로필 이미지 URL)를 수정합니다.
      *
@@ -75,6 +88,7 @@ public interface UserService {
     
     /**
      * 회원 탈퇴를 처리합니다.
+     * 탈퇴 표시(tombstone)만 남기고 바로 반환하며, 사용자 행과 참조 데이터는 백그라운드에서 삭제됩니다.
      *
      * @param userId 탈퇴할 사용자의 고유 ID
      */
@@ -87,4 +101,14 @@ public interface UserService {
      * @return
      */
     UserInfoDetailsResponse getUserDetails(Long userId);
+
+
+    /**
+     * 캐시(L1 -> Redis)에 있는 사용자 버전(User.version)을 조회합니다. DB는 조회하지 않습니다.
+     * 프로필/상세 정보 조건부 조회(If-None-Match)에서 ETag 비교에 사용합니다.
+     *
+     * @param userId 조회할 사용자의 고유 ID
+     * @return 캐시된 버전, 캐시에 없으면 null
+     */
+    Long getCachedVersion(Long userId);
 }
\ No newline at end of file
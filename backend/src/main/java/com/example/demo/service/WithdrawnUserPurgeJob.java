@@ -0,0 +1,181 @@
+package com.example.demo.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 탈퇴 회원(tombstone) 백그라운드 삭제
+ *
+ * 탈퇴 요청은 users.deleted_at만 기록하고 바로 응답하고, 실제 삭제는 이 작업이 나눠서 처리합니다.
+ * 긴 연쇄 삭제로 자주 쓰는 테이블에 락을 오래 잡지 않도록 작은 배치 + 배치 사이 대기로 진행합니다.
+ *
+ *  - 대상   : deleted_at이 user.purge.retention-minutes보다 오래된 행 (@SQLRestriction을 거치지 않도록 JDBC로 조회)
+ *  - 배치   : id 기준 keyset 페이지(id > 마지막 id) batch-size개씩, 배치마다 트랜잭션 하나
+ *            참조 데이터(UserDependentDataPurger) 삭제 -> 모두 지워진 회원의 users 행 삭제
+ *  - 노드 간 : 배치 조회를 FOR UPDATE SKIP LOCKED로 같은 트랜잭션 안에서 잠금
+ *            -> 여러 노드가 동시에 실행해도 다른 노드가 처리 중인 행은 건너뛰어 같은 행을 중복 삭제하지 않음
+ *  - 조절   : 배치 사이 throttle-ms 대기, 한 번 실행에 max-batches-per-run개까지 (나머지는 다음 주기)
+ *  - 스레드 : 전용 스레드에서 interval-ms 주기로 실행 (대기가 공용 @Scheduled 스레드를 점유하지 않도록)
+ *  - 지표   : user.purge.backlog (남은 tombstone 수), user.purge.purged (삭제한 회원 수), user.purge.batch (배치 소요 시간)
+ */
+@Slf4j
+@Component
+public class WithdrawnUserPurgeJob {
+
+    private static final String SELECT_BATCH =
+            "SELECT id FROM users WHERE deleted_at IS NOT NULL AND deleted_at < :cutoff AND id > :afterId "
+            + "ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED";
+    private static final String DELETE_USERS = "DELETE FROM users WHERE deleted_at IS NOT NULL AND id IN (:ids)";
+    private static final String COUNT_BACKLOG = "SELECT COUNT(*) FROM users WHERE deleted_at IS NOT NULL";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectProvider<UserDependentDataPurger> dependentDataPurgers;
+    private final long retentionMinutes;
+    private final int batchSize;
+    private final long throttleMillis;
+    private final int maxBatchesPerRun;
+
+    private final AtomicLong backlog = new AtomicLong();
+    private final Counter purgedCounter;
+    private final Timer batchTimer;
+    private final ScheduledExecutorService executor;
+
+    public WithdrawnUserPurgeJob(NamedParameterJdbcTemplate jdbcTemplate,
+                                 TransactionTemplate transactionTemplate,
+                                 ObjectProvider<UserDependentDataPurger> dependentDataPurgers,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${user.purge.interval-ms:60000}") long intervalMillis,
+                                 @Value("${user.purge.retention-minutes:10}") long retentionMinutes,
+                                 @Value("${user.purge.batch-size:100}") int batchSize,
+                                 @Value("${user.purge.throttle-ms:200}") long throttleMillis,
+                                 @Value("${user.purge.max-batches-per-run:50}") int maxBatchesPerRun) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.dependentDataPurgers = dependentDataPurgers;
+        this.retentionMinutes = retentionMinutes;
+        this.batchSize = batchSize;
+        this.throttleMillis = throttleMillis;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+
+        Gauge.builder("user.purge.backlog", backlog, AtomicLong::get).register(meterRegistry);
+        this.purgedCounter = Counter.builder("user.purge.purged").register(meterRegistry);
+        this.batchTimer = Timer.builder("user.purge.batch").register(meterRegistry);
+
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "withdrawn-user-purge");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.executor.scheduleWithFixedDelay(this::runPurge, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private void runPurge() {
+        try {
+            purge();
+        } catch (RuntimeException e) {
+            // 예외가 나가면 이후 실행이 취소되므로 삼킴 (남은 행은 다음 주기에 이어서 삭제)
+            log.warn("탈퇴 회원 정리 실패: {}", e.toString());
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+
+    /**
+     * 보존 기간이 지난 탈퇴 회원을 배치 단위로 삭제합니다. (전용 스레드에서 user.purge.interval-ms 주기)
+     *
+     * @return 이번 실행에서 삭제한 회원 수
+     */
+    public int purge() {
+        Timestamp cutoff = Timestamp.valueOf(LocalDateTime.now().minusMinutes(retentionMinutes));
+        long afterId = 0L;
+        int purged = 0;
+
+        for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+            long batchAfterId = afterId;
+            BatchResult result = batchTimer.record(() ->
+                    transactionTemplate.execute(status -> purgeBatch(cutoff, batchAfterId)));
+            if (result == null || result.selected() == 0) {
+                break;
+            }
+            afterId = result.lastId();
+            purged += result.deleted();
+            purgedCounter.increment(result.deleted());
+
+            if (result.selected() < batchSize) {
+                break;
+            }
+            if (!throttle()) {
+                break;
+            }
+        }
+
+        Long remaining = jdbcTemplate.getJdbcTemplate().queryForObject(COUNT_BACKLOG, Long.class);
+        backlog.set(remaining == null ? 0L : remaining);
+        if (purged > 0) {
+            log.info("탈퇴 회원 정리: {}명 삭제, 남은 tombstone {}건", purged, backlog.get());
+        }
+        return purged;
+    }
+
+    // 다음 배치를 잠그며 조회 -> 참조 데이터를 먼저 지우고, 모든 정리 작업이 끝났다고 답한 배치만 users 행 삭제
+    private BatchResult purgeBatch(Timestamp cutoff, long afterId) {
+        List<Long> ids = jdbcTemplate.queryForList(SELECT_BATCH, new MapSqlParameterSource()
+                .addValue("cutoff", cutoff)
+                .addValue("afterId", afterId)
+                .addValue("limit", batchSize), Long.class);
+        if (ids.isEmpty()) {
+            return new BatchResult(0, afterId, 0);
+        }
+        long lastId = ids.get(ids.size() - 1);
+
+        boolean dependentsPurged = true;
+        for (UserDependentDataPurger purger : dependentDataPurgers.orderedStream().toList()) {
+            dependentsPurged &= purger.purge(ids);
+        }
+        if (!dependentsPurged) {
+            return new BatchResult(ids.size(), lastId, 0); // 남은 참조 데이터는 다음 실행에서 이어서 삭제
+        }
+        return new BatchResult(ids.size(), lastId, jdbcTemplate.update(DELETE_USERS, new MapSqlParameterSource("ids", ids)));
+    }
+
+    private boolean throttle() {
+        if (throttleMillis <= 0) {
+            return true;
+        }
+        try {
+            Thread.sleep(throttleMillis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+
+    // 배치 하나의 결과 (조회한 행 수, 마지막 id, 삭제한 회원 수)
+    private record BatchResult(int selected, long lastId, int deleted) {
+    }
+}
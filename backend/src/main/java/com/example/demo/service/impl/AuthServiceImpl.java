@@ -2,54 +2,79 @@ package com.example.demo.service.impl;
 
 import com.example.demo.service.AuthService;
 import com.example.demo.service.JwtRedisService;
+import com.example.demo.service.ProfileChangedEvent;
+import com.example.demo.service.RefreshSingleFlight;
 import com.example.demo.domain.User;
 import com.example.demo.dto.auth.AccessTokenResponseDto;
 import com.example.demo.dto.auth.LoginRequest;
 import com.example.demo.dto.auth.AuthResponseDto;
 import com.example.demo.dto.auth.LogoutRequest;
+import com.example.demo.dto.users.ProfileResponse;
 import com.example.demo.exception.CustomException;
 import com.example.demo.exception.ErrorCode;
 import com.example.demo.repository.UserRepository;
+import com.example.demo.security.LoginAttemptGuard;
+import com.example.demo.security.PasswordHasher;
 import com.example.demo.util.JwtUtils;
+import com.example.demo.util.TokenDigests;
+import com.example.demo.util.VerifiedClaims;
 
+import io.jsonwebtoken.JwtException;
 import jakarta.transaction.Transactional;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import lombok.RequiredArgsConstructor;
 import java.util.List;
+import java.util.UUID;
 
 @Service
 @RequiredArgsConstructor
 public class AuthServiceImpl implements AuthService {
        
     private final UserRepository            userRepository;
-    private final PasswordEncoder           passwordEncoder;
+    private final PasswordHasher            passwordHasher;
+    private final LoginAttemptGuard         loginAttemptGuard;
     private final JwtUtils                  jwtUtils;
     private final JwtRedisService           jwtRedisService;
+    private final RefreshSingleFlight       refreshSingleFlight;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private static final int MAX_DEVICE_ID_LENGTH = 64;
 
     /** 사용자 로그인 처리 */
     @Override
-    public AuthResponseDto login(LoginRequest loginRequest) {
+    public AuthResponseDto login(LoginRequest loginRequest, String clientIp) {
         String email = loginRequest.getEmail();
 
-        // 사용자 조회
+        // 계정/IP별 시도 횟수 제한 (DB 조회, BCrypt 이전에 거절, 초과 시 429)
+        loginAttemptGuard.checkAttempt(email, clientIp);
+
+        // 사용자 조회 (email natural id 캐시 + 2차 캐시, 캐시에 있으면 DB 조회 없음)
         User user = userRepository.findByEmail(email)
             .orElseThrow(() -> new CustomException(ErrorCode.USER_NOT_FOUND));
 
-        // 비밀번호 검증
-        if (!passwordEncoder.matches(loginRequest.getPassword(), user.getPassword())) {
+        // 비밀번호 검증 (전용 해시 풀에서 실행, 포화 시 503)
+        if (!passwordHasher.matches(loginRequest.getPassword(), user.getPassword())) {
             throw new CustomException(ErrorCode.INVALID_CREDENTIALS);
         }
+        loginAttemptGuard.recordSuccess(email);
+
+        // BCrypt cost 설정이 바뀌었으면 로그인 성공 시점에 새 cost로 재해시
+        if (passwordHasher.needsRehash(user.getPassword())) {
+            rehashPassword(user.getId(), loginRequest.getPassword());
+        }
 
         // AccessToken 생성
         List<String> roles = List.of(user.getRole().getRoleName());
         String accessToken = jwtUtils.generateAccessToken(user.getId(), user.getEmail(), roles);
         
-        // RefreshToken 생성 및 Redis에 저장(userId가 key값)
-        String refreshToken = jwtUtils.generateRefreshToken(user.getId(),user.getEmail(),roles);
-        jwtRedisService.saveRefreshToken(user.getId(), refreshToken, jwtUtils.getRefreshTokenMillis());
+        // RefreshToken 생성 및 Redis 세션 해시에 저장(userId + deviceId)
+        // 기기 ID가 없으면 로그인마다 새 세션으로 취급 (사용자당 세션 수 상한 초과 시 가장 오래된 세션 제거)
+        String deviceId = resolveDeviceId(loginRequest.getDeviceId());
+        String refreshToken = jwtUtils.generateRefreshToken(user.getId(), user.getEmail(), roles, deviceId);
+        jwtRedisService.saveRefreshSession(user.getId(), deviceId, refreshToken, jwtUtils.getRefreshTokenMillis());
        
         // 응답 DTO 반환
         return AuthResponseDto.of(accessToken, refreshToken);
@@ -59,24 +84,33 @@ public class AuthServiceImpl implements AuthService {
     /** 사용자 로그아웃 처리 */
     @Override
     @Transactional
-    public void logout(LogoutRequest logoutRequest) {
+    public void logout(LogoutRequest logoutRequest, String authorizationHeader) {
         String refreshToken = logoutRequest.getRefreshToken();
 
-        // refreshToken 유효성 검증
-        jwtUtils.validation(refreshToken);
+        // refreshToken 유효성 검증 및 userId, deviceId 추출 (1회 파싱)
+        VerifiedClaims claims = jwtUtils.verify(refreshToken);
+        Long userId = claims.userId();
+        String deviceId = requireDeviceId(claims);
 
-        // token에서 userId 추출
-        Long userId = jwtUtils.getUserIdFromToken(refreshToken);
-
-        // Redis에 저장된 rfToken과 요청된 토큰 일치 여부
-        String storedRefreshToken = jwtRedisService.getRefreshToken(userId);
-        if (storedRefreshToken == null || !storedRefreshToken.equals(refreshToken)) {
+        // Redis에 저장된 해당 기기의 rfToken과 요청된 토큰이 일치할 때만 세션 삭제
+        if (!jwtRedisService.deleteRefreshSession(userId, deviceId, refreshToken)) {
             // 이 경우, 유효하지 않은 (탈취되었거나 이미 사용된) 토큰으로 간주
             throw new CustomException(ErrorCode.INVALID_TOKEN);
         }
-        
-        // userId로 Redis에서 Refresh Token 삭제
-        jwtRedisService.deleteRefreshToken(userId); 
+
+        // 모든 기기에서 로그아웃 요청 시 나머지 세션도 삭제
+        if (logoutRequest.isAllDevices()) {
+            jwtRedisService.deleteAllRefreshSessions(userId);
+        }
+
+        // 함께 제시된 Access Token은 만료 시각까지 블랙리스트에 등록 (남은 수명 동안 재사용 차단)
+        if (authorizationHeader != null) {
+            try {
+                jwtRedisService.addAccessTokenToBlacklist(JwtUtils.extractTokenFrom(authorizationHeader), userId);
+            } catch (JwtException e) {
+                // Bearer 형식이 아니면 차단할 Access Token이 없는 것으로 간주
+            }
+        }
        
         // 인증 객체 삭제(SecurityContext Clear)
         SecurityContextHolder.clearContext();      
@@ -89,31 +123,75 @@ public class AuthServiceImpl implements AuthService {
         // JwtUtils를 통해 validation 검사 및 토큰 추출
         String refreshToken = JwtUtils.extractTokenFromHeaderOrCookie(authorizationHeader, refreshTokenCookie);
 
-        // RefreshToken 유효성 검증
-        jwtUtils.validation(refreshToken);
+        // RefreshToken 유효성 검증 및 클레임 추출 (1회 파싱)
+        VerifiedClaims claims = jwtUtils.verify(refreshToken);
+        Long userId = claims.userId();
+        String deviceId = requireDeviceId(claims);
+
+        // 같은 Refresh Token의 동시 재발급은 노드 내에서 1회만 실행 (나머지는 같은 토큰 쌍 수신)
+        String flightKey = userId + ":" + TokenDigests.sha256(refreshToken);
+        return refreshSingleFlight.execute(flightKey, () -> rotate(claims, deviceId, refreshToken));
+    }
+
 
-        // RefreshToken에서 userId 추출
-        Long userId = jwtUtils.getUserIdFromToken(refreshToken);
+// =====================================================
+// Helper Methods
+// =====================================================
 
-        // Redis에 저장된 RefreshToken과 재발급을 위해 요청받은 토큰 일치 여부 확인
-        String storedRefreshToken = jwtRedisService.getRefreshToken(userId);
-        if (storedRefreshToken == null || !storedRefreshToken.equals(refreshToken)) {
-            // Redis에 없거나, 클라이언트가 보낸 토큰과 Redis의 토큰이 일치하지 않는 경우
-            // -> 유효하지 않은 Refresh Token이므로 예외처리 
+    /**
+     * Refresh Token 회전 (슬라이딩 윈도우 방식)
+     * Redis에 저장된 해당 기기의 토큰과 일치할 때만 새 토큰으로 교체 (Lua 스크립트 1회, 원자적)
+     * 다른 노드가 유예 시간 안에 먼저 교체했다면 그 노드가 발급한 토큰 쌍을 그대로 반환
+     */
+    private AccessTokenResponseDto rotate(VerifiedClaims claims, String deviceId, String refreshToken) {
+        Long userId = claims.userId();
+        List<String> roles = claims.roles();
+        String email = claims.email();
+
+        // 새 Access Token / Refresh Token 생성 (email, roles 포함)
+        String newAccessToken = jwtUtils.generateAccessToken(userId, email, roles);
+        String newRefreshToken = jwtUtils.generateRefreshToken(userId, email, roles, deviceId);
+
+        AccessTokenResponseDto issued = jwtRedisService.rotateRefreshSession(userId, deviceId, refreshToken,
+                AccessTokenResponseDto.of(newAccessToken, newRefreshToken), jwtUtils.getRefreshTokenMillis());
+        if (issued == null) {
+            // Redis에 없거나, 유예 시간이 지난 뒤 재사용된 (이미 교체된) Refresh Token이므로 예외처리
             throw new CustomException(ErrorCode.INVALID_TOKEN);
         }
+        return issued;
+    }
 
-        // 새 Access Token 생성 (email, roles 포함)
-        List<String> roles = jwtUtils.getRolesFromToken(refreshToken);
-        String email = jwtUtils.getEmailFromToken(refreshToken);
-        String newAccessToken = jwtUtils.generateAccessToken(userId, email, roles);
+    /**
+     * 새 BCrypt cost로 비밀번호를 재해시해 저장
+     * 저장으로 User.version이 증가하므로 캐시된 버전도 갱신 (상세 정보 ETag 비교용)
+     */
+    private void rehashPassword(Long userId, String rawPassword) {
+        User user = userRepository.findById(userId)
+            .orElseThrow(() -> new CustomException(ErrorCode.USER_NOT_FOUND));
+        user.updatePassword(passwordHasher.encode(rawPassword));
+        user = userRepository.save(user);
+        eventPublisher.publishEvent(new ProfileChangedEvent(user.getId(), ProfileResponse.from(user)));
+    }
 
-        // Refresh Token 재발급 (슬라이딩 윈도우 방식)
-        String newRefreshToken = jwtUtils.generateRefreshToken(userId, email, roles);
-        jwtRedisService.saveRefreshToken(userId, newRefreshToken, jwtUtils.getRefreshTokenMillis());
+    /**
+     * 클라이언트가 보낸 기기 ID를 검증하고, 없거나 형식이 맞지 않으면 새로 생성
+     */
+    private String resolveDeviceId(String requestedDeviceId) {
+        if (requestedDeviceId == null || requestedDeviceId.isBlank() || requestedDeviceId.length() > MAX_DEVICE_ID_LENGTH) {
+            return UUID.randomUUID().toString();
+        }
+        return requestedDeviceId;
+    }
 
-        // 응답 DTO 반환
-        return AccessTokenResponseDto.of(newAccessToken, newRefreshToken);
+    /**
+     * Refresh Token의 기기 ID(did 클레임) 추출
+     * 세션 해시 도입 이전에 발급된 토큰(did 없음)은 재로그인이 필요
+     */
+    private String requireDeviceId(VerifiedClaims claims) {
+        if (claims.deviceId() == null) {
+            throw new CustomException(ErrorCode.INVALID_TOKEN);
+        }
+        return claims.deviceId();
     }
 
-}
\ No newline at end of file
+}
\ No newline at end of file
@@ -0,0 +1,76 @@
+package com.example.demo.service.impl;
+
+import com.example.demo.dto.matching.MatchRequest;
+import com.example.demo.dto.matching.MatchResponse;
+import com.example.demo.dto.matching.MatchStatusResponse;
+import com.example.demo.exception.CustomException;
+import com.example.demo.exception.ErrorCode;
+import com.example.demo.service.MatchingEngine;
+import com.example.demo.service.MatchingService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.Objects;
+
+@Service
+@RequiredArgsConstructor
+public class MatchingServiceImpl implements MatchingService {
+
+    private final MatchingEngine matchingEngine;
+
+    /** 매칭 요청 */
+    @Override
+    public MatchResponse requestMatching(Long userId, MatchRequest matchRequest) {
+
+        // 지역/음식 누락, 지원하지 않는 인원 -> 입력값 오류
+        if (matchRequest.getRegion() == null || matchRequest.getFood() == null
+                || matchRequest.getGroupSize() == null || !matchingEngine.supportsGroupSize(matchRequest.getGroupSize())) {
+            throw new CustomException(ErrorCode.VALIDATION_ERROR);
+        }
+
+        MatchingEngine.Ticket ticket = matchingEngine.enqueue(userId, matchRequest.getRegion(),
+                matchRequest.getFood(), matchRequest.getGroupSize());
+
+        return MatchResponse.builder()
+                .matchId(ticket.getMatchId())
+                .status(ticket.getStatus())
+                .createdAt(ticket.getCreatedAt())
+                .build();
+    }
+
+    /** 내 매칭 상태 조회 (엔진 메모리에서 바로 조회, 대기 시간 초과도 오류가 아닌 CANCELED + timedOut으로 응답) */
+    @Override
+    public MatchStatusResponse getMyMatchingStatus(Long userId) {
+
+        MatchingEngine.Ticket ticket = matchingEngine.findByUser(userId);
+        if (ticket == null) {
+            throw new CustomException(ErrorCode.MATCHING_NOT_FOUND);
+        }
+
+        return MatchStatusResponse.builder()
+                .matchId(ticket.getMatchId())
+                .status(ticket.getStatus())
+                .region(ticket.getRegion())
+                .food(ticket.getFood())
+                .groupSize(ticket.getGroupSize())
+                .createdAt(ticket.getCreatedAt())
+                .matchedAt(ticket.getMatchedAt())
+                .matchedUserIds(ticket.getMatchedUserIds())
+                .timedOut(ticket.isTimedOut())
+                .build();
+    }
+
+    /** 매칭 요청 취소 */
+    @Override
+    public void cancelMatching(Long userId, Long matchId) {
+
+        // 다른 사용자의 요청은 존재 여부도 드러내지 않음
+        MatchingEngine.Ticket ticket = matchingEngine.findById(matchId);
+        if (ticket == null || !Objects.equals(ticket.getUserId(), userId)) {
+            throw new CustomException(ErrorCode.MATCHING_NOT_FOUND);
+        }
+        if (!matchingEngine.cancel(ticket)) {
+            throw new CustomException(ErrorCode.MATCHING_ALREADY_MATCHED);
+        }
+    }
+}
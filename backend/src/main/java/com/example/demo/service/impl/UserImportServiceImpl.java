@@ -0,0 +1,368 @@
+package com.example.demo.service.impl;
+
+import com.example.demo.domain.Gender;
+import com.example.demo.domain.User;
+import com.example.demo.domain.UserRole;
+import com.example.demo.dto.admin.UserImportError;
+import com.example.demo.dto.admin.UserImportResponse;
+import com.example.demo.dto.admin.UserImportRow;
+import com.example.demo.exception.CustomException;
+import com.example.demo.exception.ErrorCode;
+import com.example.demo.repository.UserRepository;
+import com.example.demo.security.PasswordHasher;
+import com.example.demo.service.UserImportService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 회원 일괄 등록 구현
+ *
+ *  - 읽기 : 요청 스트림을 한 줄씩 읽어 chunk-size개씩 처리 (입력 전체를 메모리에 올리지 않음)
+ *  - 검증 : 필수값/길이/성별, 파일 내 중복 email, 이미 가입된 email(청크당 IN 쿼리 1회)
+ *  - 해시 : PasswordHasher.encodeAll (로그인과 분리된 일괄 해시 풀에서 병렬)
+ *  - 저장 : 청크마다 트랜잭션 하나로 saveAll -> 시퀀스 ID + hibernate.jdbc.batch_size로 INSERT 배치
+ *           저장 중 제약 위반(동시 가입 등)이 나면 그 청크만 한 행씩 다시 저장해 실패 행을 골라냄
+ */
+@Slf4j
+@Service
+public class UserImportServiceImpl implements UserImportService {
+
+    private static final List<String> REQUIRED_CSV_COLUMNS =
+            List.of("email", "password", "nickname", "gender", "age", "phonenumber");
+
+    private final UserRepository userRepository;
+    private final PasswordHasher passwordHasher;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final int chunkSize;
+    private final long maxRows;
+    private final int maxReportedErrors;
+
+    public UserImportServiceImpl(UserRepository userRepository,
+                                 PasswordHasher passwordHasher,
+                                 TransactionTemplate transactionTemplate,
+                                 EntityManager entityManager,
+                                 ObjectMapper objectMapper,
+                                 @Value("${admin.user-import.chunk-size:500}") int chunkSize,
+                                 @Value("${admin.user-import.max-rows:200000}") long maxRows,
+                                 @Value("${admin.user-import.max-reported-errors:1000}") int maxReportedErrors) {
+        this.userRepository = userRepository;
+        this.passwordHasher = passwordHasher;
+        this.transactionTemplate = transactionTemplate;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        this.chunkSize = chunkSize;
+        this.maxRows = maxRows;
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+
+    @Override
+    public UserImportResponse importUsers(InputStream inputStream, Format format) {
+        long start = System.currentTimeMillis();
+        ImportResult result = new ImportResult();
+        Set<String> seenEmails = new HashSet<>();
+        List<ParsedRow> chunk = new ArrayList<>(chunkSize);
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8))) {
+            Map<String, Integer> csvColumns = null;
+            long lineNumber = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (lineNumber == 1 && line.startsWith("\uFEFF")) {
+                    line = line.substring(1); // UTF-8 BOM
+                }
+                if (line.isBlank()) {
+                    continue;
+                }
+                if (format == Format.CSV && csvColumns == null) {
+                    csvColumns = parseCsvHeader(line);
+                    continue;
+                }
+                if (result.total >= maxRows) {
+                    result.fail(lineNumber, null, "최대 등록 가능 행 수(" + maxRows + ")를 넘어 이후 행은 처리하지 않았습니다.");
+                    break;
+                }
+
+                result.total++;
+                try {
+                    UserImportRow row = format == Format.CSV ? parseCsvRow(line, csvColumns) : parseJsonRow(line);
+                    chunk.add(new ParsedRow(lineNumber, row));
+                } catch (IllegalArgumentException e) {
+                    result.fail(lineNumber, null, e.getMessage());
+                }
+
+                if (chunk.size() >= chunkSize) {
+                    importChunk(chunk, seenEmails, result);
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                importChunk(chunk, seenEmails, result);
+            }
+        } catch (IOException e) {
+            // 이미 저장된 청크는 유지 (같은 파일을 다시 보내면 등록된 행은 중복 email로 건너뜀)
+            log.warn("회원 일괄 등록 입력 읽기 실패 ({}행 처리 후): {}", result.total, e.toString());
+            throw new CustomException(ErrorCode.VALIDATION_ERROR);
+        }
+
+        log.info("회원 일괄 등록 완료: 전체 {}, 성공 {}, 실패 {} ({}ms)",
+                result.total, result.imported, result.failed, System.currentTimeMillis() - start);
+        return UserImportResponse.builder()
+                .total(result.total)
+                .imported(result.imported)
+                .failed(result.failed)
+                .errors(result.errors)
+                .errorsTruncated(result.failed > result.errors.size())
+                .build();
+    }
+
+
+    // 청크 하나 처리 : 검증 -> 가입 여부 확인 -> 병렬 해시 -> 배치 저장
+    private void importChunk(List<ParsedRow> chunk, Set<String> seenEmails, ImportResult result) {
+        List<ParsedRow> valid = new ArrayList<>(chunk.size());
+        for (ParsedRow parsed : chunk) {
+            String reason = validate(parsed.row());
+            if (reason == null && !seenEmails.add(parsed.row().getEmail())) {
+                reason = "파일 안에서 중복된 email입니다.";
+            }
+            if (reason != null) {
+                result.fail(parsed.line(), parsed.row().getEmail(), reason);
+            } else {
+                valid.add(parsed);
+            }
+        }
+        if (valid.isEmpty()) {
+            return;
+        }
+
+        Set<String> existing = new HashSet<>(userRepository.findExistingEmails(
+                valid.stream().map(parsed -> parsed.row().getEmail()).toList()));
+        if (!existing.isEmpty()) {
+            List<ParsedRow> notExisting = new ArrayList<>(valid.size());
+            for (ParsedRow parsed : valid) {
+                if (existing.contains(parsed.row().getEmail())) {
+                    result.fail(parsed.line(), parsed.row().getEmail(), ErrorCode.DUPLICATE_EMAIL.getMessage());
+                } else {
+                    notExisting.add(parsed);
+                }
+            }
+            valid = notExisting;
+        }
+        if (valid.isEmpty()) {
+            return;
+        }
+
+        List<String> encodedPasswords = passwordHasher.encodeAll(
+                valid.stream().map(parsed -> parsed.row().getPassword()).toList());
+
+        List<User> users = new ArrayList<>(valid.size());
+        for (int i = 0; i < valid.size(); i++) {
+            users.add(toUser(valid.get(i).row(), encodedPasswords.get(i)));
+        }
+        try {
+            saveBatch(users);
+            result.imported += users.size();
+        } catch (DataIntegrityViolationException e) {
+            // 확인 이후 다른 요청이 같은 email로 가입한 경우 등 -> 한 행씩 다시 저장
+            log.debug("회원 일괄 등록 청크 저장 실패, 행 단위로 재시도: {}", e.getMostSpecificCause().toString());
+            for (int i = 0; i < valid.size(); i++) {
+                ParsedRow parsed = valid.get(i);
+                try {
+                    saveBatch(List.of(toUser(parsed.row(), encodedPasswords.get(i))));
+                    result.imported++;
+                } catch (DataIntegrityViolationException rowFailure) {
+                    result.fail(parsed.line(), parsed.row().getEmail(), "저장 실패 (중복 또는 제약 조건 위반)");
+                }
+            }
+        }
+    }
+
+    // 트랜잭션 하나로 저장하고 영속성 컨텍스트를 비움 (OSIV로 요청 내내 열린 컨텍스트에 엔티티가 쌓이지 않도록)
+    // 시퀀스 ID라 INSERT는 flush 시점에 실행됨 -> 리포지토리 프록시의 saveAllAndFlush로 flush해야
+    // 제약 위반이 DataIntegrityViolationException으로 변환되어 행 단위 재시도로 이어짐
+    private void saveBatch(List<User> users) {
+        transactionTemplate.executeWithoutResult(status -> {
+            try {
+                userRepository.saveAllAndFlush(users);
+            } finally {
+                entityManager.clear();
+            }
+        });
+    }
+
+    private static User toUser(UserImportRow row, String encodedPassword) {
+        return User.builder()
+                .email(row.getEmail())
+                .password(encodedPassword)
+                .nickname(row.getNickname())
+                .gender(Gender.valueOf(row.getGender().toUpperCase(Locale.ROOT)))
+                .age(row.getAge())
+                .phoneNumber(row.getPhoneNumber())
+                .profileImageUrl(row.getProfileImageUrl())
+                .role(UserRole.ROLE_USER)
+                .build();
+    }
+
+    // 컬럼 제약(User) 기준 검증, 문제가 없으면 null
+    private static String validate(UserImportRow row) {
+        if (isBlank(row.getEmail())) {
+            return "email이 비어 있습니다.";
+        }
+        if (row.getEmail().length() > 100 || row.getEmail().indexOf('@') < 1) {
+            return "email 형식이 올바르지 않습니다.";
+        }
+        if (isBlank(row.getPassword())) {
+            return "password가 비어 있습니다.";
+        }
+        if (isBlank(row.getNickname()) || row.getNickname().length() > 50) {
+            return "nickname은 1~50자여야 합니다.";
+        }
+        if (row.getGender() == null) {
+            return ErrorCode.INVALID_GENDER.getMessage();
+        }
+        try {
+            Gender.valueOf(row.getGender().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return ErrorCode.INVALID_GENDER.getMessage();
+        }
+        if (row.getAge() == null || row.getAge() < 0) {
+            return "age가 비어 있거나 올바르지 않습니다.";
+        }
+        if (isBlank(row.getPhoneNumber()) || row.getPhoneNumber().length() > 20) {
+            return "phoneNumber는 1~20자여야 합니다.";
+        }
+        if (row.getProfileImageUrl() != null && row.getProfileImageUrl().length() > 500) {
+            return "profileImageUrl은 500자 이하여야 합니다.";
+        }
+        return null;
+    }
+
+
+    // ===== 입력 파싱 =====
+
+    private UserImportRow parseJsonRow(String line) {
+        try {
+            return objectMapper.readValue(line, UserImportRow.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("JSON 형식이 올바르지 않습니다.");
+        }
+    }
+
+    // 헤더 이름(대소문자 무시) -> 컬럼 위치
+    private static Map<String, Integer> parseCsvHeader(String line) {
+        List<String> names = splitCsvLine(line);
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < names.size(); i++) {
+            columns.put(names.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        if (!columns.keySet().containsAll(REQUIRED_CSV_COLUMNS)) {
+            throw new CustomException(ErrorCode.VALIDATION_ERROR);
+        }
+        return columns;
+    }
+
+    private static UserImportRow parseCsvRow(String line, Map<String, Integer> columns) {
+        List<String> fields = splitCsvLine(line);
+        String age = csvField(fields, columns, "age");
+        Integer parsedAge;
+        try {
+            parsedAge = age == null ? null : Integer.valueOf(age);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("age가 숫자가 아닙니다.");
+        }
+        return new UserImportRow(
+                csvField(fields, columns, "email"),
+                csvField(fields, columns, "password"),
+                csvField(fields, columns, "nickname"),
+                csvField(fields, columns, "gender"),
+                parsedAge,
+                csvField(fields, columns, "phonenumber"),
+                csvField(fields, columns, "profileimageurl"));
+    }
+
+    // 값이 없거나 빈 문자열이면 null
+    private static String csvField(List<String> fields, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        if (index == null || index >= fields.size()) {
+            return null;
+        }
+        String value = fields.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    // RFC 4180 한 줄 분리 (큰따옴표 안의 쉼표, "" 이스케이프 지원, 값 안의 줄바꿈은 미지원)
+    static List<String> splitCsvLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("CSV 따옴표가 닫히지 않았습니다.");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+
+    private record ParsedRow(long line, UserImportRow row) {
+    }
+
+    private final class ImportResult {
+        private long total;
+        private long imported;
+        private long failed;
+        private final List<UserImportError> errors = new ArrayList<>();
+
+        private void fail(long line, String email, String reason) {
+            failed++;
+            if (errors.size() < maxReportedErrors) {
+                errors.add(new UserImportError(line, email, reason));
+            }
+        }
+    }
+}
@@ -2,18 +2,33 @@ package com.example.demo.service.impl;
 
 import com.example.demo.service.UserService;
 import com.example.demo.domain.User;
+import com.example.demo.repository.UserProfileView;
 import com.example.demo.repository.UserRepository;
 import com.example.demo.dto.users.*;
 import com.example.demo.exception.CustomException;
 import com.example.demo.exception.ErrorCode;
+import com.example.demo.service.JwtRedisAsyncService;
 import com.example.demo.service.JwtRedisService;
+import com.example.demo.service.ProfileChangedEvent;
+import com.example.demo.service.ProfileNearCache;
+import com.example.demo.service.UserEntityCacheInvalidator;
+import com.example.demo.security.PasswordHasher;
 import com.example.demo.domain.UserRole;
 import com.example.demo.domain.Gender;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import lombok.RequiredArgsConstructor;
 
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
 
 @Service
 @Transactional
@@ -21,8 +36,15 @@ import lombok.RequiredArgsConstructor;
 public class UserServiceImpl implements UserService {
 
     private final UserRepository  userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHasher  passwordHasher;
     private final JwtRedisService jwtRedisService;
+    private final JwtRedisAsyncService jwtRedisAsyncService;
+    private final ProfileNearCache profileNearCache;
+    private final UserEntityCacheInvalidator userEntityCacheInvalidator;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${profile.batch.max-ids:100}")
+    private int maxBatchProfileIds;
     
     /** 회원 가입 */
     @Override
@@ -33,7 +55,7 @@ public class UserServiceImpl implements UserService {
         validateDuplicateEmail(signupRequest.getEmail());
 
         // 사용자 원문 비밀번호를 BCrypt 해시 알고리즘으로 암호화
-        String encodedPassword = passwordEncoder.encode(signupRequest.getPassword());
+        String encodedPassword = passwordHasher.encode(signupRequest.getPassword());
 
         // 타입캐스팅(String -> Enum)
         Gender genderEnum;
@@ -68,28 +90,29 @@ public class UserServiceImpl implements UserService {
     @Override
     @Transactional(readOnly = true)
     public ProfileResponse getProfile(Long userId) {
-        // Redis 캐시에서 프로필 조회 시도
-        ProfileResponse cachedResponse = jwtRedisService.getCachedUserProfile(userId);
+        // L1(로컬) -> L2(Redis) -> DB 순서로 조회, 캐시 미스 시 DB에서 읽어 두 캐시에 저장
+        // 캐시 히트/미스는 profile.cache.gets 지표로 확인
+        // DB 조회는 프로필 컬럼만 읽는 프로젝션 (User 엔티티/비밀번호 해시를 읽지 않음)
+        return profileNearCache.get(userId, id -> userRepository.findProfileViewById(id)
+                .map(ProfileResponse::from)
+                .orElseThrow(() -> new CustomException(ErrorCode.USER_NOT_FOUND)));
+    }
 
-        // 캐시 히트 시, 캐시된 DTO를 즉시 반환
-        if (cachedResponse != null && cachedResponse.getNickname() != null) {
-            System.out.println("DEBUG: Cache Hit for simple profile of userId: " + userId);
 
-            return cachedResponse;
+    /** 여러 회원 프로필 일괄 조회 (캐시 MGET 1회 + 캐시 미스는 IN 쿼리 1회) */
+    @Override
+    @Transactional(readOnly = true)
+    public Map<Long, ProfileResponse> getProfiles(List<Long> userIds) {
+        List<Long> distinctIds = userIds.stream().filter(Objects::nonNull).distinct().toList();
+        if (distinctIds.size() > maxBatchProfileIds) {
+            throw new CustomException(ErrorCode.VALIDATION_ERROR);
+        }
+        if (distinctIds.isEmpty()) {
+            return Map.of();
         }
 
-        // 캐시 미스 시 DB에서 사용자 조회
-        System.out.println("DEBUG: Cache Miss for user profile of userId: " + userId + ". Fetching from DB.");
-        User user = findUserByIdOrThrow(userId); 
-
-        // DB에서 조회된 User 엔티티를 ProfileResponse DTO로 반환
-        ProfileResponse profileResponse = ProfileResponse.from(user);
-
-        // Redis에 ProfileResponse DTO 캐싱
-        jwtRedisService.cacheUserProfile(userId, profileResponse);
-
-        // 응답용 DTO 반환 (닉네임, 프로필 이미지 URL만 포함)
-        return profileResponse;
+        return profileNearCache.getAll(distinctIds, missedIds -> userRepository.findProfileViewsByIdIn(missedIds).stream()
+                .collect(Collectors.toMap(UserProfileView::getId, ProfileResponse::from)));
     }
 
 
@@ -102,15 +125,15 @@ public class UserServiceImpl implements UserService {
         // 전달받은 정보로 사용자 엔티티 필드 수정 (User 엔티티 내부 메서드 사용)
         user.updateProfile(updateRequest.getNickname(), updateRequest.getProfileImageUrl());
 
-        // @Transactional 어노테이션으로 트랜잭션 자동으로 DB에 반영
-        // 변경 사항 DB에 반영
-        //User savedUser = userRepository.save(user);
+        // 변경 사항을 즉시 flush -> @Version 증가 (응답/캐시에 새 버전 반영)
+        userRepository.saveAndFlush(user);
+        ProfileResponse profileResponse = ProfileResponse.from(user);
 
-        // Redis 캐시 무효화
-        jwtRedisService.deleteUserProfileCache(userId);
+        // 캐시는 커밋 후 새 프로필로 갱신 (ProfileNearCache.onProfileChanged, 롤백 시 캐시 변경 없음)
+        eventPublisher.publishEvent(new ProfileChangedEvent(userId, profileResponse));
 
         // 응답용 DTO 반환
-        return ProfileResponse.from(user);
+        return profileResponse;
     }
 
 
@@ -120,7 +143,7 @@ public class UserServiceImpl implements UserService {
         User user = findUserByIdOrThrow(userId);
 
         // 현재 비밀번호로 본인 인증
-        if (!passwordEncoder.matches(updateRequest.getCurrentPassword(), user.getPassword())) {
+        if (!passwordHasher.matches(updateRequest.getCurrentPassword(), user.getPassword())) {
             throw new CustomException(ErrorCode.INVALID_CREDENTIALS);
         }
 
@@ -129,10 +152,11 @@ public class UserServiceImpl implements UserService {
 
         // 이메일 변경 //User savedUser = userRepository.save(user);
         user.updateEmail(updateRequest.getNewEmail());
+        publishUserChanged(user);
         
         // 이메일(로그인 ID) 변경은 중요한 보안 이벤트이므로, 기존 토큰 모두 무효화
-        // 클라이언트에서 사용 중인 AccessToken도 invalidateAllUserTokens에 전달할 수 있음
-        jwtRedisService.invalidateAllUserTokens(userId, null);
+        // (revoked-before 워터마크로 다른 기기에서 사용 중인 AccessToken까지 무효화됨)
+        jwtRedisService.invalidateAllUserTokens(userId);
 
         return EmailResponse.from(user);
     }
@@ -144,12 +168,13 @@ public class UserServiceImpl implements UserService {
         // 사용자 조회
         User user = findUserByIdOrThrow(userId);
 
-        if (!passwordEncoder.matches(updateRequest.getCurrentPassword(), user.getPassword())) {
+        if (!passwordHasher.matches(updateRequest.getCurrentPassword(), user.getPassword())) {
             throw new CustomException(ErrorCode.INVALID_CREDENTIALS);
         }
 
         // 전화번호 변경 //User savedUser = userRepository.save(user);
         user.updatePhoneNumber(updateRequest.getNewPhoneNumber());
+        publishUserChanged(user);
 
         return PhoneNumberResponse.from(user);
     }
@@ -162,33 +187,41 @@ public class UserServiceImpl implements UserService {
         User user = findUserByIdOrThrow(userId);
         
         // 현재 비밀번호 검증(불일치 시 예외 처리)
-        if(!passwordEncoder.matches(updateRequest.getOldPassword(), user.getPassword())) {
+        if(!passwordHasher.matches(updateRequest.getOldPassword(), user.getPassword())) {
             throw new CustomException(ErrorCode.INVALID_CREDENTIALS);
         }
 
         // 새 비밀번호 암호화 후 저장 // userRepository.save(user)
-        String newPassword = passwordEncoder.encode(updateRequest.getNewPassword());
+        String newPassword = passwordHasher.encode(updateRequest.getNewPassword());
         user.updatePassword(newPassword);
+        publishUserChanged(user);
 
         // 비밀번호 변경은 중요한 보안 이벤트이므로, 해당 사용자의 모든 토큰을 무효화
-        jwtRedisService.invalidateAllUserTokens(userId, null); 
+        jwtRedisService.invalidateAllUserTokens(userId); 
     }
 
 
     /** 회원 탈퇴 */
     @Override
     public void withdraw(Long userId) {
-        // 해당 사용자의 모든 토큰 삭제 (Redis에서 Refresh Token 삭제 및 Access Token 블랙리스트 추가)
-        jwtRedisService.invalidateAllUserTokens(userId, null);
+        // 해당 사용자의 토큰/캐시 정리를 먼저 요청 (세션·캐시 DEL + Access Token 워터마크 SET, 1 round trip)
+        // DB 작업과 병렬로 진행되고, 응답 전에 완료를 확인
+        CompletableFuture<Void> redisCleanup = jwtRedisAsyncService.withdrawUser(userId);
 
         // 사용자 조회(존재하지 않으면 예외처리)
         User user = findUserByIdOrThrow(userId);
 
-        // 회원 탈퇴 시, 캐싱된 유저 데이터 모두 삭제
-        jwtRedisService.deleteAllUserCache(userId);
+        // 탈퇴 표시만 하고 바로 응답 (행과 참조 데이터 삭제는 WithdrawnUserPurgeJob이 나눠서 처리)
+        user.markWithdrawn(LocalDateTime.now());
+        userRepository.flush();
+        // 커밋 시 2차 캐시에 들어가는 탈퇴 상태 엔티티 제거 (다른 노드는 아래 무효화 메시지로 제거)
+        userEntityCacheInvalidator.evictAfterCommit(userId);
 
-        // 사용자 엔티티 DB에서 삭제
-        userRepository.delete(user);
+        // Redis 정리 실패 시 예외 -> 트랜잭션 롤백
+        jwtRedisAsyncService.await(redisCleanup);
+
+        // Redis 캐시가 삭제된 뒤 모든 노드의 로컬 캐시 무효화 (pub/sub)
+        profileNearCache.publishInvalidation(userId);
     }
 
 
@@ -196,18 +229,33 @@ public class UserServiceImpl implements UserService {
     @Override
     @Transactional(readOnly = true)
     public UserInfoDetailsResponse getUserDetails(Long userId) {
-        User user = userRepository.findById(userId)
+        // 상세 정보 컬럼만 읽는 프로젝션 (비밀번호 해시 제외, 영속성 컨텍스트에 올리지 않음)
+        return userRepository.findDetailsViewById(userId)
+            .map(UserInfoDetailsResponse::from)
             .orElseThrow(() -> new IllegalArgumentException("User not found with id: " + userId));
-            
-        return UserInfoDetailsResponse.from(user);
         
     }
 
 
+    /** 캐시된 사용자 버전 조회 (조건부 조회 ETag 비교용, DB 조회 없음) */
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Long getCachedVersion(Long userId) {
+        return profileNearCache.cachedVersion(userId);
+    }
+
+
 // =====================================================
 // Helper Methods
 // =====================================================
 
+    // 사용자 정보가 바뀌면 flush로 @Version을 올리고, 커밋 후 캐시의 버전도 갱신
+    // (프로필 외 필드가 바뀌어도 캐시된 버전이 User.version과 같아야 상세 정보 ETag 비교가 맞음)
+    private void publishUserChanged(User user) {
+        userRepository.saveAndFlush(user);
+        eventPublisher.publishEvent(new ProfileChangedEvent(user.getId(), ProfileResponse.from(user)));
+    }
+
     /**
      * 사용자 조회 및 예외 처리
      * 
@@ -226,7 +274,7 @@ public class UserServiceImpl implements UserService {
      * 존재할 시 CustomException 발생시킴
      */
     private void validateDuplicateEmail(String email) {
-        if (userRepository.findByEmail(email).isPresent()) {
+        if (userRepository.existsByEmail(email)) {
             throw new CustomException(ErrorCode.DUPLICATE_EMAIL);
         }
     }
@@ -0,0 +1,104 @@
+package com.example.demo.util;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * CompactRedisSerializer에 등록하는 타입별 바이너리 코덱
+ *
+ * 새 캐시 타입(매칭/채팅 상태 등)을 추가할 때는 이 인터페이스를 구현해 RedisConfig에 등록합니다.
+ *
+ *  - tag     : 타입 식별자 (1바이트, 코덱마다 고유, 한 번 정한 값은 바꾸지 않음)
+ *  - version : 스키마 버전 (필드 추가/변경 시 증가, read()는 이전 버전도 읽을 수 있어야 함)
+ *
+ * 롤링 배포 중 구 버전 노드가 새 버전 값을 만나면 캐시 미스로 처리되므로,
+ * 새 버전은 "이전 버전 읽기 지원"을 먼저 배포한 뒤 쓰기 버전을 올리는 순서로 진행합니다.
+ *
+ * @param <T> 직렬화 대상 타입
+ */
+public interface CompactCodec<T> {
+
+    /** 타입 태그 (0 ~ 255) */
+    int tag();
+
+    /** 현재 쓰기 스키마 버전 (1 ~ 127) */
+    int version();
+
+    /** 직렬화 대상 타입 (정확히 일치하는 클래스만 이 코덱을 사용) */
+    Class<T> type();
+
+    void write(T value, DataOutput out) throws IOException;
+
+    /**
+     * @param version 값이 쓰여진 스키마 버전 (현재 version()보다 작을 수 있음)
+     */
+    T read(DataInput in, int version) throws IOException;
+
+
+    // ===== 필드 인코딩 헬퍼 =====
+
+    /** null 가능 문자열 : varint(UTF-8 길이 + 1, null이면 0) + UTF-8 바이트 */
+    static void writeString(DataOutput out, String value) throws IOException {
+        if (value == null) {
+            writeVarInt(out, 0);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(out, bytes.length + 1);
+        out.write(bytes);
+    }
+
+    static String readString(DataInput in) throws IOException {
+        int length = readVarInt(in);
+        if (length == 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length - 1];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /** 0 이상의 정수 : 7비트 단위 가변 길이 (작은 값은 1바이트) */
+    static void writeVarInt(DataOutput out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    static int readVarInt(DataInput in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("varint가 너무 깁니다.");
+    }
+
+    /** 0 이상의 long : 7비트 단위 가변 길이 */
+    static void writeVarLong(DataOutput out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) (value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    static long readVarLong(DataInput in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("varlong이 너무 깁니다.");
+    }
+}
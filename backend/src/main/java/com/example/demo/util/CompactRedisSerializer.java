@@ -0,0 +1,172 @@
+package com.example.demo.util;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * 캐시 값용 바이너리 직렬화기 (GenericJackson2JsonRedisSerializer 대체)
+ *
+ * JSON 직렬화는 값마다 "@class" 전체 이름을 넣고 읽을 때마다 리플렉션 기반 Jackson을 실행합니다.
+ * 등록된 타입은 코덱(CompactCodec)으로 필드만 바이너리로 기록합니다.
+ *
+ *  형식 : [MAGIC 1B][tag 1B][version << 1 | compressed 1B][(압축 시) 원본 길이 varint][본문]
+ *
+ *  - 압축      : 본문이 compressThreshold 바이트 이상이면 Deflate(BEST_SPEED)
+ *  - 미등록 타입 : fallback(JSON)으로 기록 -> 기존처럼 동작
+ *  - 구 형식    : 첫 바이트가 MAGIC이 아니면 fallback(JSON)으로 읽음 (마이그레이션 기간 호환)
+ *  - 모르는 tag/version : null 반환 (캐시 미스로 처리되어 DB에서 다시 읽음)
+ */
+@Slf4j
+public class CompactRedisSerializer implements RedisSerializer<Object> {
+
+    static final byte MAGIC = (byte) 0xC5;
+    private static final int COMPRESSED_FLAG = 0x01;
+
+    private final Map<Class<?>, CompactCodec<?>> codecsByType = new HashMap<>();
+    private final CompactCodec<?>[] codecsByTag = new CompactCodec<?>[256];
+    private final RedisSerializer<Object> fallback;
+    private final int compressThreshold;
+
+    /**
+     * @param codecs            등록할 타입별 코덱
+     * @param fallback          미등록 타입/구 형식용 직렬화기 (GenericJackson2JsonRedisSerializer)
+     * @param compressThreshold 이 크기(바이트) 이상인 본문만 압축
+     */
+    public CompactRedisSerializer(List<CompactCodec<?>> codecs, RedisSerializer<Object> fallback, int compressThreshold) {
+        for (CompactCodec<?> codec : codecs) {
+            if (codec.tag() < 0 || codec.tag() > 255 || codecsByTag[codec.tag()] != null) {
+                throw new IllegalArgumentException("코덱 tag가 범위를 벗어났거나 중복입니다: " + codec.tag());
+            }
+            if (codec.version() < 1 || codec.version() > 127) {
+                throw new IllegalArgumentException("코덱 version은 1 ~ 127 이어야 합니다: " + codec.version());
+            }
+            codecsByTag[codec.tag()] = codec;
+            codecsByType.put(codec.type(), codec);
+        }
+        this.fallback = fallback;
+        this.compressThreshold = compressThreshold;
+    }
+
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        if (value == null) {
+            return null;
+        }
+        CompactCodec<?> codec = codecsByType.get(value.getClass());
+        if (codec == null) {
+            return fallback.serialize(value);
+        }
+
+        try {
+            byte[] body = writeBody(codec, value);
+            boolean compress = body.length >= compressThreshold;
+
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(body.length + 8);
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeByte(MAGIC);
+            out.writeByte(codec.tag());
+            out.writeByte(codec.version() << 1 | (compress ? COMPRESSED_FLAG : 0));
+            if (compress) {
+                CompactCodec.writeVarInt(out, body.length);
+                out.write(deflate(body));
+            } else {
+                out.write(body);
+            }
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            throw new SerializationException("캐시 값 직렬화 실패: " + value.getClass().getName(), e);
+        }
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        if (bytes[0] != MAGIC) {
+            return fallback.deserialize(bytes);
+        }
+
+        try {
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes, 1, bytes.length - 1));
+            int tag = in.readUnsignedByte();
+            int header = in.readUnsignedByte();
+            int version = header >>> 1;
+
+            CompactCodec<?> codec = codecsByTag[tag];
+            if (codec == null || version > codec.version()) {
+                // 새 버전 노드가 쓴 값이거나 이 노드에 없는 타입 -> 캐시 미스
+                log.debug("읽을 수 없는 캐시 값 무시 (tag={}, version={})", tag, version);
+                return null;
+            }
+
+            if ((header & COMPRESSED_FLAG) != 0) {
+                int originalLength = CompactCodec.readVarInt(in);
+                int offset = bytes.length - in.available();
+                in = new DataInputStream(new ByteArrayInputStream(inflate(bytes, offset, originalLength)));
+            }
+            return codec.read(in, version);
+        } catch (IOException | DataFormatException e) {
+            throw new SerializationException("캐시 값 역직렬화 실패", e);
+        }
+    }
+
+
+    @SuppressWarnings("unchecked")
+    private static <T> byte[] writeBody(CompactCodec<T> codec, Object value) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        codec.write((T) value, new DataOutputStream(bytes));
+        return bytes.toByteArray();
+    }
+
+    private static byte[] deflate(byte[] body) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED, true);
+        try {
+            deflater.setInput(body);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 2 + 16);
+            byte[] buffer = new byte[512];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] bytes, int offset, int originalLength) throws DataFormatException {
+        Inflater inflater = new Inflater(true);
+        try {
+            inflater.setInput(bytes, offset, bytes.length - offset);
+            byte[] body = new byte[originalLength];
+            int read = 0;
+            while (read < originalLength && !inflater.finished()) {
+                int n = inflater.inflate(body, read, originalLength - read);
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                read += n;
+            }
+            if (read != originalLength) {
+                throw new DataFormatException("압축 해제 길이 불일치");
+            }
+            return body;
+        } finally {
+            inflater.end();
+        }
+    }
+}
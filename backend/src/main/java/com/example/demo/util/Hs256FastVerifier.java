@@ -0,0 +1,425 @@
+package com.example.demo.util;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 우리가 직접 발급한 HS256 토큰 전용 검증기 (JwtUtils 내부용)
+ *
+ * jjwt 파서는 호출마다 base64 디코딩 문자열, Jackson 맵, Mac 객체를 새로 만듭니다.
+ * 이 검증기는 generateAccessToken/generateRefreshToken이 만드는 형태만 처리하며
+ * 스레드별로 재사용하는 Mac/버퍼 위에서 동작해 그 할당을 줄입니다.
+ * 할당이 없는 것은 아닙니다: 호출마다 ClaimScanner, email/did 문자열(ROLE_USER 외 roles 포함),
+ * VerifiedClaims 객체는 새로 만들어집니다. (결과는 VerifiedTokenCache가 토큰별로 재사용)
+ *
+ *  1. 헤더 세그먼트가 {"alg":"HS256"} 인코딩과 정확히 같은지 문자열 비교 (디코딩 없음)
+ *  2. 서명 입력(header.payload)을 스레드별 버퍼에 복사해 스레드별 Mac으로 HMAC 계산
+ *  3. 서명 세그먼트를 base64url 디코딩 후 상수 시간 비교
+ *  4. payload를 디코딩해 최소 스캐너로 sub, email, roles, iat, iatms, exp, did만 추출
+ *
+ * 형식이 조금이라도 다르거나(이스케이프 문자, 중첩 객체 등) 서명/만료 검증에 실패하면
+ * null을 반환합니다. 호출 측(JwtUtils)은 이 경우 jjwt로 다시 검증해 정확한 예외를 만듭니다.
+ */
+final class Hs256FastVerifier {
+
+    // Base64url({"alg":"HS256"}) - jjwt 0.11 빌더가 HS256 서명 시 생성하는 헤더
+    static final String EXPECTED_HEADER = "eyJhbGciOiJIUzI1NiJ9";
+
+    private static final int SIGNATURE_BYTES = 32;
+    private static final int SIGNATURE_CHARS = 43; // 32 bytes base64url (패딩 없음)
+    private static final List<String> ROLE_USER_ONLY = List.of("ROLE_USER");
+
+    private static final byte[] KEY_SUB = ascii("sub");
+    private static final byte[] KEY_EMAIL = ascii("email");
+    private static final byte[] KEY_ROLES = ascii("roles");
+    private static final byte[] KEY_IAT = ascii("iat");
+    private static final byte[] KEY_IAT_MILLIS = ascii(JwtUtils.ISSUED_AT_MILLIS_CLAIM);
+    private static final byte[] KEY_EXP = ascii("exp");
+    private static final byte[] KEY_DID = ascii("did");
+    private static final byte[] ROLE_USER_BYTES = ascii("ROLE_USER");
+
+    private static final int[] BASE64URL = new int[128];
+    static {
+        java.util.Arrays.fill(BASE64URL, -1);
+        String alphabet = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_";
+        for (int i = 0; i < alphabet.length(); i++) {
+            BASE64URL[alphabet.charAt(i)] = i;
+        }
+    }
+
+    private final ThreadLocal<Scratch> scratch;
+    private final long allowedClockSkewSeconds;
+
+    Hs256FastVerifier(byte[] keyBytes, long allowedClockSkewSeconds) {
+        SecretKeySpec keySpec = new SecretKeySpec(keyBytes, "HmacSHA256");
+        this.scratch = ThreadLocal.withInitial(() -> new Scratch(keySpec));
+        this.allowedClockSkewSeconds = allowedClockSkewSeconds;
+    }
+
+    /**
+     * 토큰을 검증하고 클레임을 반환합니다.
+     *
+     * @param token JWT 문자열
+     * @return 검증된 클레임, 빠른 경로로 처리할 수 없거나 검증에 실패하면 null
+     */
+    VerifiedClaims verify(String token) {
+        if (token == null || !token.startsWith(EXPECTED_HEADER)) {
+            return null;
+        }
+        int firstDot = EXPECTED_HEADER.length();
+        if (token.length() <= firstDot || token.charAt(firstDot) != '.') {
+            return null;
+        }
+        int secondDot = token.indexOf('.', firstDot + 1);
+        if (secondDot < 0 || token.length() - secondDot - 1 != SIGNATURE_CHARS) {
+            return null;
+        }
+
+        Scratch s = scratch.get();
+
+        // 서명 입력 "header.payload" -> ASCII 바이트 (버퍼 재사용)
+        byte[] input = s.input(secondDot);
+        for (int i = 0; i < secondDot; i++) {
+            char c = token.charAt(i);
+            if (c > 0x7f) {
+                return null;
+            }
+            input[i] = (byte) c;
+        }
+
+        // HMAC-SHA256 계산 (doFinal 이후 Mac은 초기 상태로 돌아가 재사용 가능)
+        try {
+            s.mac.update(input, 0, secondDot);
+            s.mac.doFinal(s.expected, 0);
+        } catch (GeneralSecurityException e) {
+            return null;
+        }
+
+        // 서명 세그먼트 디코딩 후 상수 시간 비교
+        if (decode(token, secondDot + 1, token.length(), s.actual) != SIGNATURE_BYTES) {
+            return null;
+        }
+        int diff = 0;
+        for (int i = 0; i < SIGNATURE_BYTES; i++) {
+            diff |= s.expected[i] ^ s.actual[i];
+        }
+        if (diff != 0) {
+            return null;
+        }
+
+        // payload 디코딩 및 클레임 추출
+        byte[] payload = s.payload((secondDot - firstDot - 1) * 3 / 4 + 3);
+        int payloadLength = decode(token, firstDot + 1, secondDot, payload);
+        if (payloadLength < 0) {
+            return null;
+        }
+        VerifiedClaims claims = new ClaimScanner(payload, payloadLength).scan();
+        if (claims == null) {
+            return null;
+        }
+
+        // 만료 확인 (만료 토큰은 jjwt 경로에서 ExpiredJwtException으로 보고)
+        long nowSeconds = System.currentTimeMillis() / 1000L;
+        if (claims.expiresAt() + allowedClockSkewSeconds < nowSeconds) {
+            return null;
+        }
+        return claims;
+    }
+
+
+    /**
+     * base64url(패딩 없음) 문자열 구간을 out에 디코딩합니다.
+     *
+     * @return 디코딩된 바이트 수, 형식 오류 시 -1
+     */
+    private static int decode(String src, int from, int to, byte[] out) {
+        int length = to - from;
+        if (length % 4 == 1) {
+            return -1;
+        }
+        int outLength = length / 4 * 3 + (length % 4 == 0 ? 0 : length % 4 - 1);
+        if (outLength > out.length) {
+            return -1;
+        }
+        int o = 0;
+        int bits = 0;
+        int bitCount = 0;
+        for (int i = from; i < to; i++) {
+            char c = src.charAt(i);
+            int v = c < 128 ? BASE64URL[c] : -1;
+            if (v < 0) {
+                return -1;
+            }
+            bits = (bits << 6) | v;
+            bitCount += 6;
+            if (bitCount >= 8) {
+                bitCount -= 8;
+                out[o++] = (byte) (bits >> bitCount);
+            }
+        }
+        // 남는 비트가 0이 아니면 비정규 인코딩 (같은 서명의 다른 문자열 변형 차단)
+        if ((bits & ((1 << bitCount) - 1)) != 0) {
+            return -1;
+        }
+        return o;
+    }
+
+    private static byte[] ascii(String value) {
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+
+
+    // 스레드별 재사용 버퍼 + Mac
+    private static final class Scratch {
+        private final Mac mac;
+        private final byte[] expected = new byte[SIGNATURE_BYTES];
+        private final byte[] actual = new byte[SIGNATURE_BYTES + 2];
+        private byte[] input = new byte[512];
+        private byte[] payload = new byte[512];
+
+        private Scratch(SecretKeySpec keySpec) {
+            try {
+                this.mac = Mac.getInstance("HmacSHA256");
+                this.mac.init(keySpec);
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("HmacSHA256 을 사용할 수 없습니다.", e);
+            }
+        }
+
+        private byte[] input(int size) {
+            if (input.length < size) {
+                input = new byte[Math.max(size, input.length * 2)];
+            }
+            return input;
+        }
+
+        private byte[] payload(int size) {
+            if (payload.length < size) {
+                payload = new byte[Math.max(size, payload.length * 2)];
+            }
+            return payload;
+        }
+    }
+
+
+    /**
+     * 우리 토큰 payload 전용 최소 JSON 스캐너
+     *
+     * 최상위 객체의 문자열/정수/문자열 배열 값만 지원합니다.
+     * 그 외 형태(이스케이프, 중첩 객체, 실수, true/false/null)는 null을 반환해 jjwt로 넘깁니다.
+     */
+    private static final class ClaimScanner {
+        private final byte[] buf;
+        private final int end;
+        private int pos;
+
+        private ClaimScanner(byte[] buf, int end) {
+            this.buf = buf;
+            this.end = end;
+        }
+
+        private VerifiedClaims scan() {
+            Long sub = null;
+            String email = null;
+            List<String> roles = null;
+            long iat = 0L;
+            long iatMillis = -1L;
+            long exp = -1L;
+            String did = null;
+
+            if (!consume('{')) {
+                return null;
+            }
+            if (consume('}')) {
+                return null;
+            }
+            do {
+                int keyStart = stringStart();
+                if (keyStart < 0) {
+                    return null;
+                }
+                int keyEnd = stringEnd();
+                if (keyEnd < 0 || !consume(':')) {
+                    return null;
+                }
+
+                if (keyEquals(keyStart, keyEnd, KEY_SUB)) {
+                    int start = stringStart();
+                    int stop = start < 0 ? -1 : stringEnd();
+                    if (stop < 0 || (sub = parseLong(start, stop)) == null) {
+                        return null;
+                    }
+                } else if (keyEquals(keyStart, keyEnd, KEY_EMAIL)) {
+                    int start = stringStart();
+                    int stop = start < 0 ? -1 : stringEnd();
+                    if (stop < 0) {
+                        return null;
+                    }
+                    email = new String(buf, start, stop - start, StandardCharsets.UTF_8);
+                } else if (keyEquals(keyStart, keyEnd, KEY_ROLES)) {
+                    if ((roles = stringArray()) == null) {
+                        return null;
+                    }
+                } else if (keyEquals(keyStart, keyEnd, KEY_IAT)) {
+                    if ((iat = number()) < 0) {
+                        return null;
+                    }
+                } else if (keyEquals(keyStart, keyEnd, KEY_IAT_MILLIS)) {
+                    if ((iatMillis = number()) < 0) {
+                        return null;
+                    }
+                } else if (keyEquals(keyStart, keyEnd, KEY_EXP)) {
+                    if ((exp = number()) < 0) {
+                        return null;
+                    }
+                } else if (keyEquals(keyStart, keyEnd, KEY_DID)) {
+                    int start = stringStart();
+                    int stop = start < 0 ? -1 : stringEnd();
+                    if (stop < 0) {
+                        return null;
+                    }
+                    did = new String(buf, start, stop - start, StandardCharsets.UTF_8);
+                } else if (!skipValue()) {
+                    return null;
+                }
+            } while (consume(','));
+
+            if (!consume('}') || sub == null || exp < 0) {
+                return null;
+            }
+            skipWhitespace();
+            if (pos != end) {
+                return null;
+            }
+            return new VerifiedClaims(sub, email, roles, exp, iatMillis >= 0 ? iatMillis : iat * 1000L, did);
+        }
+
+        // 모르는 클레임: 문자열/정수만 건너뜀
+        private boolean skipValue() {
+            skipWhitespace();
+            if (pos < end && buf[pos] == '"') {
+                return stringStart() >= 0 && stringEnd() >= 0;
+            }
+            return number() >= 0;
+        }
+
+        private List<String> stringArray() {
+            if (!consume('[')) {
+                return null;
+            }
+            if (consume(']')) {
+                return List.of();
+            }
+            List<String> values = null;
+            int firstStart = -1;
+            int firstEnd = -1;
+            do {
+                int start = stringStart();
+                int stop = start < 0 ? -1 : stringEnd();
+                if (stop < 0) {
+                    return null;
+                }
+                if (firstStart < 0) {
+                    firstStart = start;
+                    firstEnd = stop;
+                } else {
+                    if (values == null) {
+                        values = new ArrayList<>(2);
+                        values.add(new String(buf, firstStart, firstEnd - firstStart, StandardCharsets.UTF_8));
+                    }
+                    values.add(new String(buf, start, stop - start, StandardCharsets.UTF_8));
+                }
+            } while (consume(','));
+            if (!consume(']')) {
+                return null;
+            }
+            if (values != null) {
+                return values;
+            }
+            // 가장 흔한 ["ROLE_USER"]는 상수 리스트 재사용
+            if (keyEquals(firstStart, firstEnd, ROLE_USER_BYTES)) {
+                return ROLE_USER_ONLY;
+            }
+            return List.of(new String(buf, firstStart, firstEnd - firstStart, StandardCharsets.UTF_8));
+        }
+
+        // 여는 따옴표를 소비하고 문자열 내용 시작 위치 반환
+        private int stringStart() {
+            return consume('"') ? pos : -1;
+        }
+
+        // 닫는 따옴표까지 이동하고 내용 끝 위치 반환 (이스케이프/제어문자는 지원하지 않음)
+        private int stringEnd() {
+            while (pos < end) {
+                byte b = buf[pos];
+                if (b == '"') {
+                    return pos++;
+                }
+                if (b == '\\' || (b >= 0 && b < 0x20)) {
+                    return -1;
+                }
+                pos++;
+            }
+            return -1;
+        }
+
+        // 음이 아닌 정수 (형식 오류 시 -1)
+        private long number() {
+            skipWhitespace();
+            int start = pos;
+            long value = 0L;
+            while (pos < end && buf[pos] >= '0' && buf[pos] <= '9') {
+                if (pos - start >= 18) {
+                    return -1L;
+                }
+                value = value * 10 + (buf[pos++] - '0');
+            }
+            return pos == start ? -1L : value;
+        }
+
+        private Long parseLong(int start, int stop) {
+            if (start == stop || stop - start > 18) {
+                return null;
+            }
+            long value = 0L;
+            for (int i = start; i < stop; i++) {
+                if (buf[i] < '0' || buf[i] > '9') {
+                    return null;
+                }
+                value = value * 10 + (buf[i] - '0');
+            }
+            return value;
+        }
+
+        private boolean keyEquals(int start, int stop, byte[] expected) {
+            if (stop - start != expected.length) {
+                return false;
+            }
+            for (int i = 0; i < expected.length; i++) {
+                if (buf[start + i] != expected[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private boolean consume(char c) {
+            skipWhitespace();
+            if (pos < end && buf[pos] == c) {
+                pos++;
+                return true;
+            }
+            return false;
+        }
+
+        private void skipWhitespace() {
+            while (pos < end && (buf[pos] == ' ' || buf[pos] == '\n' || buf[pos] == '\r' || buf[pos] == '\t')) {
+                pos++;
+            }
+        }
+    }
+}
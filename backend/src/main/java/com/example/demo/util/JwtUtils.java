@@ -1,6 +1,7 @@
 package com.example.demo.util;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
@@ -9,18 +10,42 @@ import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
 import org.springframework.web.server.ResponseStatusException;
 import org.springframework.beans.factory.annotation.Value;
+import javax.crypto.Cipher;
+import javax.crypto.Mac;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
 import java.security.Key;
+import java.security.SecureRandom;
 import java.util.Date;
 import java.util.List;
 import java.util.Base64;
+import java.util.UUID;
 
 @Component
 public class JwtUtils {
 
     private static final String BEARER_PREFIX = "Bearer ";
+    private static final long ALLOWED_CLOCK_SKEW_SECONDS = 1;
+
+    // 발급 시각(epoch millis) - 표준 iat는 초 단위라 같은 초에 폐기/재발급된 토큰을 구분하지 못함
+    static final String ISSUED_AT_MILLIS_CLAIM = "iatms";
     
     private final Key key;
 
+    // 서명 키/허용 오차가 고정이므로 파서는 한 번만 만들어 재사용 (thread-safe)
+    private final JwtParser jwtParser;
+
+    // 우리가 발급한 HS256 토큰 전용 빠른 검증기 (처리할 수 없는 토큰은 jwtParser로 위임)
+    private final Hs256FastVerifier fastVerifier;
+
+    // Redis에 잠시 보관하는 토큰 쌍(재발급 유예 기록) 봉인용 AES-256 키 (서명 키에서 파생, 용도 분리)
+    private static final int SEAL_IV_BYTES = 12;
+    private static final int SEAL_TAG_BITS = 128;
+    private final SecretKeySpec sealKey;
+    private final SecureRandom secureRandom = new SecureRandom();
+
     @Value("${jwt.access-token-expiration}")
     private long accessTokenMillis;
 
@@ -30,6 +55,12 @@ public class JwtUtils {
     public JwtUtils(@Value("${JWT_SECRET}") String secretKeyBase64) {
         byte[] keyBytes = Base64.getDecoder().decode(secretKeyBase64);
         this.key = Keys.hmacShaKeyFor(keyBytes); // key 객체 생성
+        this.jwtParser = Jwts.parserBuilder()
+                .setSigningKey(key)
+                .setAllowedClockSkewSeconds(ALLOWED_CLOCK_SKEW_SECONDS)
+                .build();
+        this.fastVerifier = new Hs256FastVerifier(keyBytes, ALLOWED_CLOCK_SKEW_SECONDS);
+        this.sealKey = deriveSealKey(keyBytes);
     }
 
     /**
@@ -47,6 +78,7 @@ public class JwtUtils {
             .setSubject(userId.toString())
             .claim("email", email)
             .claim("roles", roles)
+            .claim(ISSUED_AT_MILLIS_CLAIM, now.getTime())
             .setIssuedAt(now)
             .setExpiration(new Date(now.getTime() + accessTokenMillis))
             .signWith(key, SignatureAlgorithm.HS256)
@@ -56,19 +88,24 @@ public class JwtUtils {
 
     /**
      * RefreshToken 생성
-     * 사용자 ID(email)와 권한 정보를 JWT Claim에 포함
+     * 사용자 ID(email)와 권한 정보, 기기(세션) ID를 JWT Claim에 포함
+     * jti(무작위 ID)를 넣어 같은 초에 발급된 토큰도 서로 다른 값이 되도록 합니다. (회전 시 구분)
      * 
      * @param userId 사용자 고유 ID(DB PK)
      * @param email 사용자 로그인 ID
      * @param roles 사용자 권한 목록 (ROLE_USER, ROLE_ADMIN)
-     * @return AccessToken 문자열
+     * @param deviceId 기기(세션) ID - Redis 세션 해시의 필드
+     * @return RefreshToken 문자열
      */
-    public String generateRefreshToken(Long userId, String email, List<String> roles) {
+    public String generateRefreshToken(Long userId, String email, List<String> roles, String deviceId) {
         Date now = new Date();
         return Jwts.builder()
             .setSubject(userId.toString())
             .claim("email",email)
             .claim("roles",roles)
+            .claim("did", deviceId)
+            .setId(UUID.randomUUID().toString())
+            .claim(ISSUED_AT_MILLIS_CLAIM, now.getTime())
             .setIssuedAt(now)
             .setExpiration(new Date(now.getTime() + refreshTokenMillis))
             .signWith(key, SignatureAlgorithm.HS256)
@@ -88,6 +125,35 @@ public class JwtUtils {
     }
 
 
+    /**
+     * 토큰을 한 번만 파싱/서명 검증하고, 필요한 클레임을 불변 객체로 반환합니다.
+     *
+     * 필터와 서비스는 validation() 후 getXxxFromToken()을 반복 호출하지 말고
+     * 이 메서드의 결과를 사용해야 합니다. (서명 검증, 클레임 맵 생성 1회)
+     *
+     * generateAccessToken/generateRefreshToken 형태의 토큰은 Hs256FastVerifier가
+     * 스레드별 Mac/버퍼를 재사용해 처리하고, 그 외(형식 차이, 서명 불일치, 만료 등)는 jjwt 파서가 검증/예외를 담당합니다.
+     *
+     * @param token : 접두어("bearer") 제거한 실제 토큰 문자열
+     * @return 검증된 클레임 (userId, email, roles, exp, iatms)
+     * @throws JwtException : 유효하지 않은 토큰일 경우 예외 발생 (원인 예외는 cause로 전달)
+     */
+    public VerifiedClaims verify(String token) throws JwtException {
+        VerifiedClaims fast = fastVerifier.verify(token);
+        if (fast != null) {
+            return fast;
+        }
+
+        Claims claims;
+        try {
+            claims = jwtParser.parseClaimsJws(token).getBody();
+        } catch (JwtException | IllegalArgumentException ex) {
+            throw new JwtException("토큰이 유효하지 않습니다.", ex);
+        }
+        return toVerifiedClaims(claims);
+    }
+
+
     /**
      * Access Token 또는 Refresh Token에서 userId 추출
      *
@@ -95,13 +161,7 @@ public class JwtUtils {
      * @return 추출된 userId (Long)
      */
     public Long getUserIdFromToken(String token) {
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(key)
-                .setAllowedClockSkewSeconds(1)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-        return Long.valueOf(claims.getSubject()); // sub 클레임에서 userId 추출
+        return verify(token).userId();
     }
 
     /**
@@ -111,13 +171,7 @@ public class JwtUtils {
      * @return 추출된 email (String)
      */
     public String getEmailFromToken(String token) {
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(key)
-                .setAllowedClockSkewSeconds(1)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-        return claims.get("email", String.class);
+        return verify(token).email();
     }
 
     /**
@@ -127,13 +181,7 @@ public class JwtUtils {
      * @return 추출된 roles (List<String>)
      */
     public List<String> getRolesFromToken(String token) {
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(key)
-                .setAllowedClockSkewSeconds(1)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();              
-        return (List<String>) claims.get("roles");
+        return verify(token).roles();
     }
 
     /**
@@ -149,15 +197,89 @@ public class JwtUtils {
      * @throws JwtException : 유효하지 않은 토큰일 경우 예외 발생
      */
     public void validation(String token) throws JwtException {
+        verify(token);
+    }
+
+
+    /**
+     * 문자열을 AES-GCM으로 봉인합니다. (Redis에 토큰 원문을 남기지 않기 위함)
+     *
+     * @param plaintext 봉인할 문자열
+     * @return base64url(iv + 암호문 + 태그)
+     */
+    public String seal(String plaintext) {
+        byte[] iv = new byte[SEAL_IV_BYTES];
+        secureRandom.nextBytes(iv);
         try {
-            Jwts.parserBuilder()
-            .setSigningKey(key)
-            .setAllowedClockSkewSeconds(1)
-            .build()
-            .parseClaimsJws(token);
-        } catch (JwtException | IllegalArgumentException ex) {
-            throw new JwtException("토큰이 유효하지 않습니다.",ex);
+            Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+            cipher.init(Cipher.ENCRYPT_MODE, sealKey, new GCMParameterSpec(SEAL_TAG_BITS, iv));
+            byte[] encrypted = cipher.doFinal(plaintext.getBytes(StandardCharsets.UTF_8));
+            byte[] out = new byte[iv.length + encrypted.length];
+            System.arraycopy(iv, 0, out, 0, iv.length);
+            System.arraycopy(encrypted, 0, out, iv.length, encrypted.length);
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(out);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("AES/GCM 을 사용할 수 없습니다.", e);
+        }
+    }
+
+    /**
+     * seal()로 봉인한 문자열을 복원합니다.
+     *
+     * @param sealed 봉인된 문자열
+     * @return 원문, 형식 오류/위변조/다른 키로 봉인된 값이면 null
+     */
+    public String unseal(String sealed) {
+        try {
+            byte[] in = Base64.getUrlDecoder().decode(sealed);
+            if (in.length <= SEAL_IV_BYTES) {
+                return null;
+            }
+            Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+            cipher.init(Cipher.DECRYPT_MODE, sealKey, new GCMParameterSpec(SEAL_TAG_BITS, in, 0, SEAL_IV_BYTES));
+            return new String(cipher.doFinal(in, SEAL_IV_BYTES, in.length - SEAL_IV_BYTES), StandardCharsets.UTF_8);
+        } catch (GeneralSecurityException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+
+    // 서명 키와 같은 키를 다른 용도에 쓰지 않도록 HMAC으로 봉인 키 파생
+    private static SecretKeySpec deriveSealKey(byte[] keyBytes) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(keyBytes, "HmacSHA256"));
+            return new SecretKeySpec(mac.doFinal("refresh-grace-seal".getBytes(StandardCharsets.UTF_8)), "AES");
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 을 사용할 수 없습니다.", e);
+        }
+    }
+
+
+    // 파싱된 Claims -> VerifiedClaims 변환
+    @SuppressWarnings("unchecked")
+    private VerifiedClaims toVerifiedClaims(Claims claims) {
+        try {
+            return new VerifiedClaims(
+                    Long.valueOf(claims.getSubject()),
+                    claims.get("email", String.class),
+                    (List<String>) claims.get("roles"),
+                    claims.getExpiration().getTime() / 1000L,
+                    issuedAtMillis(claims),
+                    claims.get("did", String.class));
+        } catch (RuntimeException ex) {
+            // sub 누락/형식 오류 등 우리가 발급하지 않은 형태의 클레임
+            throw new JwtException("토큰이 유효하지 않습니다.", ex);
+        }
+    }
+
+    // iatms 우선, 없으면(이전 발급 토큰) 초 단위 iat를 밀리초로 환산
+    private static long issuedAtMillis(Claims claims) {
+        Number millis = claims.get(ISSUED_AT_MILLIS_CLAIM, Number.class);
+        if (millis != null) {
+            return millis.longValue();
         }
+        return claims.getIssuedAt() == null ? 0L : claims.getIssuedAt().getTime();
     }
 
 
@@ -0,0 +1,41 @@
+package com.example.demo.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+
+/**
+ * 토큰 다이제스트 유틸
+ *
+ * 토큰 원문을 메모리/Redis 키로 그대로 들고 있지 않도록
+ * SHA-256 해시를 base64url(패딩 없음) 문자열로 변환합니다.
+ */
+public final class TokenDigests {
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    // MessageDigest는 thread-safe 하지 않으므로 스레드별로 재사용
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 을 사용할 수 없습니다.", e);
+        }
+    });
+
+    private TokenDigests() {
+    }
+
+    /**
+     * 토큰의 SHA-256 다이제스트를 base64url 문자열(43자)로 반환합니다.
+     *
+     * @param token JWT 문자열
+     * @return 다이제스트 문자열
+     */
+    public static String sha256(String token) {
+        MessageDigest digest = SHA_256.get();
+        digest.reset();
+        return ENCODER.encodeToString(digest.digest(token.getBytes(StandardCharsets.US_ASCII)));
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.demo.util;
+
+import java.util.List;
+
+/**
+ * 서명 검증이 끝난 JWT의 클레임 묶음 (불변)
+ *
+ * JwtUtils.verify() 한 번의 파싱 결과로 생성되며,
+ * 필터/서비스는 토큰을 다시 파싱하지 않고 이 객체에서 필요한 값을 꺼내 씁니다.
+ *
+ * @param userId    sub 클레임 (사용자 고유 ID)
+ * @param email     email 클레임
+ * @param roles     roles 클레임 (ROLE_USER, ROLE_ADMIN)
+ * @param expiresAt exp 클레임 (epoch seconds)
+ * @param issuedAtMillis iatms 클레임 (epoch millis, 없으면 iat * 1000) - 폐기 워터마크와 비교
+ * @param deviceId  did 클레임 (Refresh Token의 기기/세션 ID, Access Token은 null)
+ */
+public record VerifiedClaims(Long userId, String email, List<String> roles, long expiresAt, long issuedAtMillis, String deviceId) {
+
+    public VerifiedClaims {
+        roles = roles == null ? List.of() : List.copyOf(roles);
+    }
+
+    /**
+     * 토큰의 남은 유효시간(밀리초)을 반환합니다. 이미 만료되었으면 0.
+     *
+     * @param nowMillis 기준 시각 (epoch millis)
+     */
+    public long remainingMillis(long nowMillis) {
+        return Math.max(0L, expiresAt * 1000L - nowMillis);
+    }
+}
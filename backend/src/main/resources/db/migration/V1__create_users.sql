@@ -0,0 +1,13 @@
+-- 회원 테이블 (ddl-auto=update로 만들어진 기존 DB에서는 이미 있으므로 건너뜀)
+CREATE TABLE IF NOT EXISTS users (
+    id                BIGINT       NOT NULL PRIMARY KEY,
+    email             VARCHAR(100) NOT NULL,
+    password          VARCHAR(255) NOT NULL,
+    nickname          VARCHAR(50)  NOT NULL,
+    gender            VARCHAR(10)  NOT NULL,
+    age               INTEGER      NOT NULL,
+    phone_number      VARCHAR(20)  NOT NULL,
+    profile_image_url VARCHAR(500),
+    role              VARCHAR(20)  NOT NULL,
+    CONSTRAINT uk_users_email UNIQUE (email)
+);
@@ -0,0 +1,13 @@
+-- 캐시 버전(@Version), 탈퇴 tombstone 컬럼
+ALTER TABLE users ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE users ADD COLUMN IF NOT EXISTS deleted_at TIMESTAMP(6);
+
+-- IDENTITY -> 시퀀스 (allocationSize = 50, INSERT 배치용)
+-- 기존 IDENTITY 기본값 제거 (새 DB에는 없으므로 무시됨)
+ALTER TABLE users ALTER COLUMN id DROP IDENTITY IF EXISTS;
+CREATE SEQUENCE IF NOT EXISTS users_seq START WITH 1 INCREMENT BY 50;
+-- pooled optimizer는 nextval 값을 블록의 끝으로 쓰므로(값-49 ~ 값) max(id) + 50에서 시작해야 기존 ID와 겹치지 않음
+SELECT setval('users_seq', (SELECT COALESCE(MAX(id), 0) FROM users) + 50, false);
+
+-- 탈퇴 회원 정리 작업(WithdrawnUserPurgeJob)의 keyset 조회용 부분 인덱스
+CREATE INDEX IF NOT EXISTS idx_users_withdrawn ON users (id) WHERE deleted_at IS NOT NULL;
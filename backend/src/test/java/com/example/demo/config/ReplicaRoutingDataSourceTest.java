@@ -0,0 +1,189 @@
+package com.example.demo.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 두 개의 로컬 H2 인스턴스(primary, replica)로 라우팅 확인
+ * 각 DB의 node 테이블에 자기 이름을 넣어 두고, 어느 DB에서 읽었는지 확인합니다.
+ */
+class ReplicaRoutingDataSourceTest {
+
+    // 복제본 지연은 replica DB의 lag 테이블 값으로 흉내냄
+    private static final String LAG_QUERY = "SELECT lag_ms FROM lag";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicReference<Long> currentUser = new AtomicReference<>();
+
+    private DataSource primary;
+    private DataSource replica;
+    private ReplicaRoutingDataSource routing;
+    private JdbcTemplate jdbc;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+
+    @BeforeEach
+    void setUp() {
+        primary = h2("primary");
+        replica = h2("replica");
+        new JdbcTemplate(replica).execute("CREATE TABLE lag (lag_ms BIGINT)");
+        new JdbcTemplate(replica).execute("INSERT INTO lag VALUES (0)");
+
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        replicas.put("replica-0", replica);
+        routing = new ReplicaRoutingDataSource(primary, replicas, currentUser::get, meterRegistry,
+                LAG_QUERY, 1000L, 60_000L, 60_000L);
+        routing.refreshReplicaLag();
+
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routing);
+        jdbc = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        // 프록시가 첫 커넥션에서 기본 커넥션 속성을 확인하므로 미리 한 번 실행 (라우팅 지표에서 제외)
+        jdbc.execute("SELECT 1");
+    }
+
+    @Test
+    void readOnlyTransactionsGoToReplica() {
+        double writesBefore = routed("primary", "write");
+
+        assertThat(readOnlyNode()).isEqualTo("replica");
+        assertThat(readWriteNode()).isEqualTo("primary");
+        assertThat(routed("replica", "read-only")).isEqualTo(1.0);
+        assertThat(routed("primary", "write") - writesBefore).isEqualTo(1.0);
+    }
+
+    @Test
+    void laggingReplicaFallsBackToPrimary() {
+        new JdbcTemplate(replica).update("UPDATE lag SET lag_ms = 5000");
+        routing.refreshReplicaLag();
+
+        assertThat(readOnlyNode()).isEqualTo("primary");
+        assertThat(routed("primary", "no-healthy-replica")).isEqualTo(1.0);
+
+        new JdbcTemplate(replica).update("UPDATE lag SET lag_ms = 10");
+        routing.refreshReplicaLag();
+
+        assertThat(readOnlyNode()).isEqualTo("replica");
+    }
+
+    @Test
+    void replicaWithUnknownLagFallsBackToPrimary() {
+        // WAL 수신이 끊긴 복제본 (지연 쿼리가 NULL)
+        new JdbcTemplate(replica).update("UPDATE lag SET lag_ms = NULL");
+        routing.refreshReplicaLag();
+
+        assertThat(readOnlyNode()).isEqualTo("primary");
+        assertThat(routed("primary", "no-healthy-replica")).isEqualTo(1.0);
+    }
+
+    @Test
+    void replicaWithStaleProbeFallsBackToPrimary() throws InterruptedException {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        replicas.put("replica-0", replica);
+        ReplicaRoutingDataSource staleAfter200ms = new ReplicaRoutingDataSource(primary, replicas, currentUser::get,
+                meterRegistry, LAG_QUERY, 1000L, 200L, 60_000L);
+        DataSource dataSource = new LazyConnectionDataSourceProxy(staleAfter200ms);
+        JdbcTemplate staleJdbc = new JdbcTemplate(dataSource);
+        TransactionTemplate tx = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        tx.setReadOnly(true);
+        staleJdbc.execute("SELECT 1");
+
+        staleAfter200ms.refreshReplicaLag();
+        String fresh = tx.execute(status -> staleJdbc.queryForObject("SELECT name FROM node", String.class));
+        assertThat(fresh).isEqualTo("replica");
+
+        // 측정이 멈추면(예: 스케줄러 스레드가 막힘) 마지막 측정값을 믿지 않음
+        Thread.sleep(300L);
+        String stale = tx.execute(status -> staleJdbc.queryForObject("SELECT name FROM node", String.class));
+        assertThat(stale).isEqualTo("primary");
+    }
+
+    @Test
+    void userReadsOwnWritesFromPrimary() {
+        currentUser.set(42L);
+        assertThat(readOnlyNode()).isEqualTo("replica");
+
+        readWrite.executeWithoutResult(status -> jdbc.update("UPDATE node SET name = name"));
+
+        assertThat(readOnlyNode()).isEqualTo("primary");
+        assertThat(routed("primary", "read-your-writes")).isEqualTo(1.0);
+
+        currentUser.set(7L);
+        assertThat(readOnlyNode()).isEqualTo("replica");
+    }
+
+    @Test
+    void rolledBackWriteDoesNotPinUserToPrimary() {
+        currentUser.set(42L);
+        readWrite.executeWithoutResult(status -> {
+            jdbc.update("UPDATE node SET name = name");
+            status.setRollbackOnly();
+        });
+
+        assertThat(readOnlyNode()).isEqualTo("replica");
+    }
+
+    @Test
+    void unreachableReplicaFallsBackToPrimary() {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        replicas.put("replica-0", replica);
+        ReplicaRoutingDataSource healthyAtFirst = new ReplicaRoutingDataSource(primary, replicas, currentUser::get,
+                meterRegistry, LAG_QUERY, 1000L, 60_000L, 60_000L);
+        healthyAtFirst.refreshReplicaLag();
+        new JdbcTemplate(replica).execute("SHUTDOWN");
+
+        DataSource dataSource = new LazyConnectionDataSourceProxy(healthyAtFirst);
+        TransactionTemplate tx = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        tx.setReadOnly(true);
+
+        // 복제본 DB가 내려가도 primary에서 읽음 (이후 측정에서도 제외)
+        healthyAtFirst.refreshReplicaLag();
+        String node = tx.execute(status -> new JdbcTemplate(dataSource).queryForObject("SELECT name FROM node", String.class));
+        assertThat(node).isEqualTo("primary");
+    }
+
+
+    private String readOnlyNode() {
+        return readOnly.execute(status -> node());
+    }
+
+    private String readWriteNode() {
+        return readWrite.execute(status -> node());
+    }
+
+    private String node() {
+        return jdbc.queryForObject("SELECT name FROM node", String.class);
+    }
+
+    private double routed(String route, String reason) {
+        return meterRegistry.counter("datasource.routing", "route", route, "reason", reason).count();
+    }
+
+    // 테스트마다 새 인메모리 DB (IFEXISTS 없이 생성, 마지막 커넥션이 닫혀도 유지)
+    private static DataSource h2(String name) {
+        String url = "jdbc:h2:mem:" + name + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1";
+        DataSource dataSource = new DriverManagerDataSource(url, "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE node (name VARCHAR(20))");
+        jdbc.update("INSERT INTO node VALUES (?)", name);
+        return dataSource;
+    }
+}
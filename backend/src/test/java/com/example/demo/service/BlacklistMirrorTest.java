@@ -0,0 +1,88 @@
+package com.example.demo.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class BlacklistMirrorTest {
+
+    private static final byte[] CHANNEL = BlacklistMirror.REVOCATION_CHANNEL.getBytes(StandardCharsets.UTF_8);
+
+    private final StringRedisTemplate stringRedisTemplate = mock(StringRedisTemplate.class);
+    private final BlacklistMirror mirror =
+            new BlacklistMirror(stringRedisTemplate, new RedisMessageListenerContainer(), 1000, 0.01);
+
+    @Test
+    void publishFailureKeepsLocalStateAndDoesNotFailTheCaller() {
+        doThrow(new RedisConnectionFailureException("connection lost"))
+                .when(stringRedisTemplate).convertAndSend(anyString(), anyString());
+
+        mirror.publishBlacklisted("digest");
+        mirror.publishRevokedBefore(1L, 1000L);
+
+        assertThat(mirror.mightContain("digest")).isTrue();
+        assertThat(mirror.revokedBefore(1L)).isEqualTo(1000L);
+    }
+
+    @Test
+    void resubscribeMarksNotReadyAndRebuilds() throws InterruptedException {
+        CountDownLatch resyncStarted = new CountDownLatch(1);
+        CountDownLatch releaseResync = new CountDownLatch(1);
+        Cursor<String> empty = emptyCursor();
+        when(stringRedisTemplate.scan(any(ScanOptions.class))).thenReturn(empty);
+        mirror.rebuild();
+        assertThat(mirror.isReady()).isTrue();
+
+        // 첫 구독은 기동 시 재구성이 맡으므로 그대로 둠
+        mirror.onChannelSubscribed(CHANNEL, 1);
+        assertThat(mirror.isReady()).isTrue();
+
+        // 재연결 후 재구독 -> 재구성이 끝날 때까지 ready=false
+        when(stringRedisTemplate.scan(any(ScanOptions.class))).thenAnswer(invocation -> {
+            resyncStarted.countDown();
+            releaseResync.await();
+            return empty;
+        });
+        mirror.onChannelSubscribed(CHANNEL, 1);
+        assertThat(mirror.isReady()).isFalse();
+        assertThat(resyncStarted.await(1, TimeUnit.SECONDS)).isTrue();
+
+        releaseResync.countDown();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+        while (!mirror.isReady() && System.nanoTime() < deadline) {
+            Thread.sleep(10L);
+        }
+        assertThat(mirror.isReady()).isTrue();
+    }
+
+    @Test
+    void unsubscribeMarksNotReady() {
+        Cursor<String> empty = emptyCursor();
+        when(stringRedisTemplate.scan(any(ScanOptions.class))).thenReturn(empty);
+        mirror.rebuild();
+
+        mirror.onChannelUnsubscribed(CHANNEL, 0);
+
+        assertThat(mirror.isReady()).isFalse();
+    }
+
+
+    @SuppressWarnings("unchecked")
+    private static Cursor<String> emptyCursor() {
+        return mock(Cursor.class);
+    }
+}
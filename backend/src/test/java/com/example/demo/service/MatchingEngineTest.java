@@ -0,0 +1,151 @@
+package com.example.demo.service;
+
+import com.example.demo.domain.Food;
+import com.example.demo.domain.MatchingStatus;
+import com.example.demo.domain.Region;
+import com.example.demo.dto.matching.MatchStatusResponse;
+import com.example.demo.exception.CustomException;
+import com.example.demo.exception.ErrorCode;
+import com.example.demo.service.impl.MatchingServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MatchingEngineTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    // 2~4명, 대기 제한 100ms, 보관 100ms
+    private final MatchingEngine engine = new MatchingEngine(meterRegistry, 2, 4, 100L, 100L);
+
+    @Test
+    void formsGroupWhenEnoughCompatibleRequestsArrive() {
+        MatchingEngine.Ticket first = engine.enqueue(1L, Region.SEOUL, Food.KOREAN, 3);
+        engine.enqueue(2L, Region.SEOUL, Food.JAPANESE, 3); // 다른 음식
+        engine.enqueue(3L, Region.BUSAN, Food.KOREAN, 3);   // 다른 지역
+        engine.enqueue(4L, Region.SEOUL, Food.KOREAN, 2);   // 다른 인원
+        MatchingEngine.Ticket second = engine.enqueue(5L, Region.SEOUL, Food.KOREAN, 3);
+        assertThat(first.getStatus()).isEqualTo(MatchingStatus.PENDING);
+
+        MatchingEngine.Ticket third = engine.enqueue(6L, Region.SEOUL, Food.KOREAN, 3);
+
+        assertThat(third.getStatus()).isEqualTo(MatchingStatus.MATCHED);
+        assertThat(engine.findByUser(1L).getMatchedUserIds()).containsExactly(1L, 5L, 6L);
+        assertThat(second.getMatchedUserIds()).containsExactly(1L, 5L, 6L);
+        assertThat(engine.findByUser(2L).getStatus()).isEqualTo(MatchingStatus.PENDING);
+        assertThat(meterRegistry.counter("matching.groups").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void canceledRequestIsSkipped() {
+        MatchingEngine.Ticket canceled = engine.enqueue(1L, Region.SEOUL, Food.KOREAN, 2);
+        assertThat(engine.cancel(engine.findById(canceled.getMatchId()))).isTrue();
+        assertThat(engine.cancel(canceled)).isTrue(); // 중복 취소
+
+        engine.enqueue(2L, Region.SEOUL, Food.KOREAN, 2);
+        assertThat(engine.findByUser(2L).getStatus()).isEqualTo(MatchingStatus.PENDING);
+
+        MatchingEngine.Ticket last = engine.enqueue(3L, Region.SEOUL, Food.KOREAN, 2);
+        assertThat(last.getMatchedUserIds()).containsExactly(2L, 3L);
+        assertThat(canceled.getStatus()).isEqualTo(MatchingStatus.CANCELED);
+        assertThat(engine.cancel(last)).isFalse();
+    }
+
+    @Test
+    void oneActiveRequestPerUser() {
+        MatchingEngine.Ticket first = engine.enqueue(1L, Region.SEOUL, Food.KOREAN, 2);
+
+        assertThatThrownBy(() -> engine.enqueue(1L, Region.BUSAN, Food.CAFE, 2))
+                .isInstanceOf(CustomException.class)
+                .satisfies(e -> assertThat(((CustomException) e).getErrorCode()).isEqualTo(ErrorCode.MATCHING_ALREADY_WAITING));
+
+        engine.cancel(first);
+        MatchingEngine.Ticket second = engine.enqueue(1L, Region.BUSAN, Food.CAFE, 2);
+        assertThat(engine.findByUser(1L)).isSameAs(second);
+        assertThat(engine.findById(first.getMatchId())).isNull();
+    }
+
+    @Test
+    void sweepTimesOutWaitingRequestsAndForgetsFinishedOnes() throws InterruptedException {
+        MatchingEngine.Ticket waiting = engine.enqueue(1L, Region.SEOUL, Food.KOREAN, 2);
+        Thread.sleep(150L);
+
+        engine.sweep();
+        assertThat(waiting.isTimedOut()).isTrue();
+        assertThat(meterRegistry.counter("matching.canceled", "reason", "timeout").count()).isEqualTo(1.0);
+
+        // 상태 조회는 오류(408)가 아닌 CANCELED + timedOut
+        MatchStatusResponse status = new MatchingServiceImpl(engine).getMyMatchingStatus(1L);
+        assertThat(status.getStatus()).isEqualTo(MatchingStatus.CANCELED);
+        assertThat(status.isTimedOut()).isTrue();
+
+        // 시간 초과된 요청은 다음 요청과 매칭되지 않음
+        assertThat(engine.enqueue(2L, Region.SEOUL, Food.KOREAN, 2).getStatus()).isEqualTo(MatchingStatus.PENDING);
+
+        Thread.sleep(150L);
+        engine.sweep();
+        assertThat(engine.findByUser(1L)).isNull();
+        assertThat(engine.findById(waiting.getMatchId())).isNull();
+    }
+
+    @Test
+    void concurrentRequestsAndCancelsNeverLoseOrDuplicateUsers() throws InterruptedException {
+        int users = 4_000;
+        int groupSize = 4;
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        ConcurrentLinkedQueue<MatchingEngine.Ticket> tickets = new ConcurrentLinkedQueue<>();
+        for (long userId = 1; userId <= users; userId++) {
+            long id = userId;
+            executor.execute(() -> {
+                await(start);
+                MatchingEngine.Ticket ticket = engine.enqueue(id, Region.SEOUL, Food.KOREAN, groupSize);
+                tickets.add(ticket);
+                if (id % 5 == 0) {
+                    engine.cancel(ticket);
+                }
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        Set<Long> matched = new HashSet<>();
+        List<MatchingEngine.Ticket> pending = new ArrayList<>();
+        for (MatchingEngine.Ticket ticket : tickets) {
+            switch (ticket.getStatus()) {
+                case MATCHED -> {
+                    assertThat(ticket.getMatchedUserIds()).hasSize(groupSize).contains(ticket.getUserId());
+                    matched.add(ticket.getUserId());
+                }
+                case PENDING -> pending.add(ticket);
+                default -> { }
+            }
+        }
+        // 같은 사용자가 두 그룹에 들어가지 않고, 대기 인원이 그룹 인원 이상 남지 않음
+        assertThat(matched.size() % groupSize).isZero();
+        assertThat(pending).hasSizeLessThan(groupSize);
+        assertThat(meterRegistry.counter("matching.groups").count()).isEqualTo(matched.size() / groupSize);
+        assertThat(meterRegistry.get("matching.waiting").gauge().value()).isEqualTo(pending.size());
+    }
+
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.users.ProfileResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ProfileNearCacheTest {
+
+    private static final long LOAD_LEASE_MILLIS = 3000L;
+    private static final Long USER_ID = 1L;
+
+    private final JwtRedisService jwtRedisService = mock(JwtRedisService.class);
+    private final ProfileNearCache cache = new ProfileNearCache(jwtRedisService, mock(JwtRedisAsyncService.class),
+            mock(StringRedisTemplate.class), new RedisMessageListenerContainer(), new SimpleMeterRegistry(),
+            100, 60, LOAD_LEASE_MILLIS, 3600);
+
+    @Test
+    void waiterReturnsLoadedProfileFromL2() {
+        ProfileResponse loadedElsewhere = profile("loaded-elsewhere");
+        otherNodeHoldsLease();
+        when(jwtRedisService.getProfileLoadState(USER_ID))
+                .thenReturn(new JwtRedisService.ProfileLoadState(true, null))
+                .thenReturn(new JwtRedisService.ProfileLoadState(false, loadedElsewhere));
+        AtomicInteger dbLoads = new AtomicInteger();
+
+        ProfileResponse result = cache.get(USER_ID, userId -> {
+            dbLoads.incrementAndGet();
+            return profile("db");
+        });
+
+        assertThat(result).isSameAs(loadedElsewhere);
+        assertThat(dbLoads).hasValue(0);
+    }
+
+    @Test
+    void waiterStopsOnceLeaseIsReleasedWithoutValue() {
+        // 임대 보유 노드가 L2에 값을 남기지 않고 끝남 (저장 실패, 버전 확인으로 저장 거부 등)
+        otherNodeHoldsLease();
+        when(jwtRedisService.getProfileLoadState(USER_ID))
+                .thenReturn(new JwtRedisService.ProfileLoadState(true, null))
+                .thenReturn(new JwtRedisService.ProfileLoadState(false, null));
+        when(jwtRedisService.cacheUserProfile(any(), any())).thenReturn(true);
+        long start = System.nanoTime();
+
+        ProfileResponse result = cache.get(USER_ID, userId -> profile("db"));
+
+        assertThat(result.getNickname()).isEqualTo("db");
+        assertThat(elapsedMillis(start)).isLessThan(LOAD_LEASE_MILLIS / 2);
+    }
+
+    @Test
+    void waiterLoadsItselfWhenHolderFoundNoUser() {
+        // 사용자 없음 -> 임대 보유 노드는 아무것도 저장하지 않고 임대 해제, 대기자도 바로 직접 조회해 같은 예외
+        otherNodeHoldsLease();
+        when(jwtRedisService.getProfileLoadState(USER_ID))
+                .thenReturn(new JwtRedisService.ProfileLoadState(false, null));
+        long start = System.nanoTime();
+
+        assertThatThrownBy(() -> cache.get(USER_ID, userId -> {
+            throw new IllegalStateException("user not found");
+        })).isInstanceOf(IllegalStateException.class);
+        assertThat(elapsedMillis(start)).isLessThan(LOAD_LEASE_MILLIS / 2);
+    }
+
+
+    private void otherNodeHoldsLease() {
+        when(jwtRedisService.tryAcquireProfileLoadLease(any(), anyString(), anyLong())).thenReturn(false);
+    }
+
+    private static ProfileResponse profile(String nickname) {
+        return ProfileResponse.builder().nickname(nickname).build();
+    }
+
+    private static long elapsedMillis(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000L;
+    }
+}
@@ -0,0 +1,193 @@
+package com.example.demo.service;
+
+import com.example.demo.exception.RetryLaterException;
+import com.example.demo.util.VerifiedClaims;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.redis.RedisSystemException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RedisCircuitBreakerTest {
+
+    private static final long REDIS_LATENCY_MILLIS = 500L;
+    // Lettuce 명령 타임아웃 (redis.breaker.call-timeout-ms)
+    private static final long COMMAND_TIMEOUT_MILLIS = 50L;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    // 지연 기준 20ms, 최근 4회 중 최소 4회, 실패 50% 이상이면 200ms 동안 차단, 시험 호출 2회, 동시 호출 8개
+    private final RedisCircuitBreaker breaker =
+            new RedisCircuitBreaker(meterRegistry, 20, 4, 4, 50, 80, 200, 2, 8);
+
+    @Test
+    void slowCallFallsBackWithinTimeout() {
+        long start = System.nanoTime();
+
+        String result = breaker.execute(() -> slowRedis(), () -> "fallback");
+
+        assertThat(result).isEqualTo("fallback");
+        assertThat(elapsedMillis(start)).isLessThan(REDIS_LATENCY_MILLIS);
+        assertThat(meterRegistry.counter("redis.breaker.calls", "outcome", "timeout").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void opensAfterFailuresAndStopsCallingRedis() {
+        for (int i = 0; i < 4; i++) {
+            breaker.execute(() -> slowRedis(), () -> "fallback");
+        }
+        assertThat(breaker.getState()).isEqualTo(RedisCircuitBreaker.State.OPEN);
+
+        AtomicInteger redisCalls = new AtomicInteger();
+        long start = System.nanoTime();
+        String result = breaker.execute(() -> {
+            redisCalls.incrementAndGet();
+            return "value";
+        }, () -> "fallback");
+
+        assertThat(result).isEqualTo("fallback");
+        assertThat(redisCalls).hasValue(0);
+        assertThat(elapsedMillis(start)).isLessThan(20L);
+        assertThat(meterRegistry.counter("redis.breaker.calls", "outcome", "short-circuited").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void closesAgainAfterSuccessfulTrialCalls() throws InterruptedException {
+        for (int i = 0; i < 4; i++) {
+            breaker.execute(() -> slowRedis(), () -> "fallback");
+        }
+        Thread.sleep(250L);
+
+        assertThat(breaker.execute(() -> "value", () -> "fallback")).isEqualTo("value");
+        assertThat(breaker.getState()).isEqualTo(RedisCircuitBreaker.State.HALF_OPEN);
+        assertThat(breaker.execute(() -> "value", () -> "fallback")).isEqualTo("value");
+        assertThat(breaker.getState()).isEqualTo(RedisCircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void concurrencyRejectionFallsBackWithoutCountingAsFailure() throws Exception {
+        RedisCircuitBreaker single = new RedisCircuitBreaker(meterRegistry, 20, 4, 1, 50, 80, 200, 2, 1);
+        CountDownLatch inCall = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<String> blocked = CompletableFuture.supplyAsync(() -> single.execute(() -> {
+            inCall.countDown();
+            await(release);
+            return "value";
+        }, () -> "fallback"));
+        assertThat(inCall.await(1, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(single.execute(() -> "value", () -> "fallback")).isEqualTo("fallback");
+        assertThat(meterRegistry.counter("redis.breaker.calls", "outcome", "rejected").count()).isEqualTo(1.0);
+        assertThat(single.getState()).isEqualTo(RedisCircuitBreaker.State.CLOSED);
+
+        release.countDown();
+        assertThat(blocked.get(1, TimeUnit.SECONDS)).isEqualTo("value");
+        assertThat(meterRegistry.counter("redis.breaker.calls", "outcome", "failure").count()).isZero();
+    }
+
+    @Test
+    void errorsRedisAnsweredWithPropagateAndDoNotOpen() {
+        for (int i = 0; i < 4; i++) {
+            assertThatThrownBy(() -> breaker.execute(() -> {
+                throw new RedisSystemException("WRONGTYPE", new IllegalStateException());
+            }, () -> "fallback")).isInstanceOf(RedisSystemException.class);
+        }
+
+        assertThat(breaker.getState()).isEqualTo(RedisCircuitBreaker.State.CLOSED);
+        assertThat(meterRegistry.counter("redis.breaker.calls", "outcome", "failure").count()).isZero();
+    }
+
+    @Test
+    void halfOpenPermitIsReturnedWhenTrialCallDoesNotComplete() throws InterruptedException {
+        for (int i = 0; i < 4; i++) {
+            breaker.execute(() -> slowRedis(), () -> "fallback");
+        }
+        Thread.sleep(250L);
+
+        assertThatThrownBy(() -> breaker.execute(() -> {
+            throw new AssertionError("interrupted trial");
+        }, () -> "fallback")).isInstanceOf(AssertionError.class);
+
+        // 시험 호출 권한 2개가 그대로 남아 있어야 CLOSED로 복귀
+        assertThat(breaker.execute(() -> "value", () -> "fallback")).isEqualTo("value");
+        assertThat(breaker.execute(() -> "value", () -> "fallback")).isEqualTo("value");
+        assertThat(breaker.getState()).isEqualTo(RedisCircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void failFastCallsAreRejectedWithRetryAfter() {
+        assertThatThrownBy(() -> breaker.executeOrFailFast(() -> slowRedis()))
+                .isInstanceOf(RetryLaterException.class)
+                .satisfies(e -> assertThat(((RetryLaterException) e).getRetryAfterSeconds()).isEqualTo(1L));
+    }
+
+    @Test
+    void revocationCheckUsesDegradedPolicyWhenRedisIsSlow() {
+        JwtRedisService acceptShortLived = jwtRedisService(slowStringRedisTemplate(), JwtRedisService.RevocationFallback.ACCEPT_SHORT_LIVED);
+        JwtRedisService reject = jwtRedisService(slowStringRedisTemplate(), JwtRedisService.RevocationFallback.REJECT);
+        long nowSeconds = System.currentTimeMillis() / 1000L;
+        VerifiedClaims shortLived = new VerifiedClaims(1L, "user@example.com", List.of(), nowSeconds + 60, nowSeconds * 1000L, null);
+        VerifiedClaims longLived = new VerifiedClaims(1L, "user@example.com", List.of(), nowSeconds + 36_000, nowSeconds * 1000L, null);
+
+        long start = System.nanoTime();
+        assertThat(acceptShortLived.isAccessTokenRevoked("digest", shortLived)).isFalse();
+        assertThat(acceptShortLived.isAccessTokenRevoked("digest", longLived)).isTrue();
+        assertThat(reject.isAccessTokenRevoked("digest", shortLived)).isTrue();
+        assertThat(elapsedMillis(start)).isLessThan(REDIS_LATENCY_MILLIS);
+    }
+
+
+    private JwtRedisService jwtRedisService(StringRedisTemplate stringRedisTemplate,
+                                            JwtRedisService.RevocationFallback fallback) {
+        // 재구성 전(ready=false)인 로컬 사본 -> 폐기 확인이 Redis로 감
+        BlacklistMirror mirror = new BlacklistMirror(stringRedisTemplate, new RedisMessageListenerContainer(), 1000, 0.01);
+        return new JwtRedisService(null, stringRedisTemplate, null, mirror, breaker, null,
+                5, 10_000L, fallback, 900_000L);
+    }
+
+    // 모든 명령이 REDIS_LATENCY_MILLIS 걸리는 Redis 대역 (Lettuce가 명령 타임아웃에서 끊음)
+    @SuppressWarnings("unchecked")
+    private static StringRedisTemplate slowStringRedisTemplate() {
+        StringRedisTemplate template = mock(StringRedisTemplate.class);
+        ValueOperations<String, String> valueOperations = mock(ValueOperations.class);
+        when(template.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.get(anyString())).thenAnswer(invocation -> slowRedis());
+        when(template.hasKey(anyString())).thenAnswer(invocation -> slowRedis());
+        return template;
+    }
+
+    // 명령 타임아웃까지 기다린 뒤 Lettuce/Spring이 던지는 예외를 재현
+    private static <T> T slowRedis() {
+        try {
+            Thread.sleep(COMMAND_TIMEOUT_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        throw new QueryTimeoutException("Redis command timed out after " + COMMAND_TIMEOUT_MILLIS + "ms");
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static long elapsedMillis(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000L;
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.demo.service.impl;
+
+import com.example.demo.dto.admin.UserImportResponse;
+import com.example.demo.repository.UserRepository;
+import com.example.demo.security.PasswordHasher;
+import com.example.demo.service.UserImportService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 인메모리 H2 + JPA로 일괄 등록 저장 경로 확인
+ * 서비스가 청크마다 자기 트랜잭션을 쓰므로 테스트 트랜잭션은 끄고, 테스트마다 users를 비웁니다.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestPropertySource(properties = "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect")
+class UserImportServiceImplTest {
+
+    private static final String HEADER = "email,password,nickname,gender,age,phoneNumber";
+
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    // 해시 중에 한 번 실행할 작업 (가입 여부 확인과 저장 사이의 동시 가입 흉내)
+    private final AtomicBoolean concurrentSignupDone = new AtomicBoolean();
+    private volatile Runnable duringHash = () -> { };
+
+    private UserImportService importService;
+
+    @BeforeEach
+    void setUp() {
+        PasswordEncoder encoder = new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                if (concurrentSignupDone.compareAndSet(false, true)) {
+                    duringHash.run();
+                }
+                return "hashed-" + rawPassword;
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return encodedPassword.equals("hashed-" + rawPassword);
+            }
+        };
+        PasswordHasher passwordHasher = new PasswordHasher(encoder, new SimpleMeterRegistry(), 2, 16, 5000L, 1L, 2);
+        importService = new UserImportServiceImpl(userRepository, passwordHasher,
+                new TransactionTemplate(transactionManager), entityManager, new ObjectMapper(), 500, 1000L, 100);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbc.update("DELETE FROM users");
+    }
+
+    @Test
+    void importsValidRowsAndReportsInvalidOnes() {
+        UserImportResponse response = importCsv(
+                HEADER,
+                "a@test.com,pw,alice,FEMALE,20,010-0000-0001",
+                "b@test.com,pw,bob,OTHER,20,010-0000-0002",
+                "a@test.com,pw,alice2,FEMALE,21,010-0000-0003");
+
+        assertThat(response.getTotal()).isEqualTo(3);
+        assertThat(response.getImported()).isEqualTo(1);
+        assertThat(response.getFailed()).isEqualTo(2);
+        assertThat(userRepository.existsByEmail("a@test.com")).isTrue();
+    }
+
+    @Test
+    void concurrentSignupFailsOnlyItsRowAndKeepsTheRestOfTheChunk() {
+        // 청크의 가입 여부 확인은 통과했지만 저장 전에 다른 요청이 같은 email로 가입
+        duringHash = () -> jdbc.update("INSERT INTO users (id, email, password, nickname, gender, age, phone_number, role, version)"
+                + " VALUES (1000000, 'b@test.com', 'x', 'other', 'MALE', 30, '010-9999-9999', 'ROLE_USER', 0)");
+
+        UserImportResponse response = importCsv(
+                HEADER,
+                "a@test.com,pw,alice,FEMALE,20,010-0000-0001",
+                "b@test.com,pw,bob,MALE,22,010-0000-0002",
+                "c@test.com,pw,carol,FEMALE,23,010-0000-0003");
+
+        assertThat(response.getImported()).isEqualTo(2);
+        assertThat(response.getFailed()).isEqualTo(1);
+        assertThat(response.getErrors()).singleElement()
+                .satisfies(error -> assertThat(error.getEmail()).isEqualTo("b@test.com"));
+        assertThat(userRepository.existsByEmail("a@test.com")).isTrue();
+        assertThat(userRepository.existsByEmail("c@test.com")).isTrue();
+        assertThat(jdbc.queryForObject("SELECT nickname FROM users WHERE email = 'b@test.com'", String.class))
+                .isEqualTo("other");
+    }
+
+
+    private UserImportResponse importCsv(String... lines) {
+        byte[] body = String.join("\n", lines).getBytes(StandardCharsets.UTF_8);
+        return importService.importUsers(new ByteArrayInputStream(body), UserImportService.Format.CSV);
+    }
+}
@@ -0,0 +1,158 @@
+package com.example.demo.util;
+
+import com.example.demo.dto.users.ProfileResponse;
+import com.example.demo.dto.users.ProfileResponseCodec;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CompactRedisSerializerTest {
+
+    private final GenericJackson2JsonRedisSerializer json = new GenericJackson2JsonRedisSerializer();
+    private final CompactRedisSerializer serializer =
+            new CompactRedisSerializer(List.of(new ProfileResponseCodec()), json, 512);
+
+    private static ProfileResponse profile() {
+        return ProfileResponse.builder()
+                .nickname("밥친구")
+                .profileImageUrl("https://cdn.example.com/profiles/42/avatar.png")
+                .version(7L)
+                .build();
+    }
+
+    @Test
+    void roundTripsRegisteredType() {
+        Object read = serializer.deserialize(serializer.serialize(profile()));
+
+        assertThat(read).isInstanceOf(ProfileResponse.class);
+        assertThat(((ProfileResponse) read).getNickname()).isEqualTo("밥친구");
+        assertThat(((ProfileResponse) read).getProfileImageUrl()).isEqualTo(profile().getProfileImageUrl());
+        assertThat(((ProfileResponse) read).getVersion()).isEqualTo(7L);
+    }
+
+    @Test
+    void roundTripsNullFields() {
+        ProfileResponse empty = ProfileResponse.builder().build();
+
+        ProfileResponse read = (ProfileResponse) serializer.deserialize(serializer.serialize(empty));
+
+        assertThat(read.getNickname()).isNull();
+        assertThat(read.getProfileImageUrl()).isNull();
+    }
+
+    @Test
+    void readsLegacyJsonValues() {
+        byte[] legacy = json.serialize(profile());
+
+        Object read = serializer.deserialize(legacy);
+
+        assertThat(read).isInstanceOf(ProfileResponse.class);
+        assertThat(((ProfileResponse) read).getNickname()).isEqualTo("밥친구");
+    }
+
+    @Test
+    void unregisteredTypesFallBackToJson() {
+        Map<String, String> value = new HashMap<>(Map.of("k", "v"));
+
+        byte[] bytes = serializer.serialize(value);
+
+        assertThat(bytes[0]).isEqualTo((byte) '{');
+        assertThat(serializer.deserialize(bytes)).isEqualTo(value);
+    }
+
+    @Test
+    void compressesLargeValues() {
+        ProfileResponse large = ProfileResponse.builder()
+                .nickname("n")
+                .profileImageUrl("https://cdn.example.com/" + "a".repeat(2000))
+                .build();
+
+        byte[] bytes = serializer.serialize(large);
+
+        assertThat(bytes.length).isLessThan(200);
+        assertThat(((ProfileResponse) serializer.deserialize(bytes)).getProfileImageUrl())
+                .isEqualTo(large.getProfileImageUrl());
+    }
+
+    @Test
+    void newerSchemaVersionIsTreatedAsCacheMiss() {
+        CompactRedisSerializer newer = new CompactRedisSerializer(List.of(new NextProfileResponseCodec()), json, 512);
+
+        assertThat(serializer.deserialize(newer.serialize(profile()))).isNull();
+        assertThat(newer.deserialize(serializer.serialize(profile()))).isInstanceOf(ProfileResponse.class);
+    }
+
+    @Test
+    void compactIsSmallerThanJson() {
+        ProfileResponse value = profile();
+
+        assertThat(serializer.serialize(value).length).isLessThan(json.serialize(value).length / 2);
+    }
+
+    /**
+     * 직렬화 왕복 시간 비교 (참고용 출력, 검증 없음)
+     * 기본 빌드에서는 실행하지 않음 : ./mvnw test -Dtest=CompactRedisSerializerTest -Dbenchmark=true
+     */
+    @Test
+    @Tag("benchmark")
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    void roundTripTimingBenchmark() {
+        ProfileResponse value = profile();
+        byte[] compactBytes = serializer.serialize(value);
+        byte[] jsonBytes = json.serialize(value);
+
+        int iterations = 200_000;
+        long compactNanos = measure(iterations, () -> serializer.deserialize(serializer.serialize(value)));
+        long jsonNanos = measure(iterations, () -> json.deserialize(json.serialize(value)));
+
+        System.out.printf("ProfileResponse bytes : compact=%d, json=%d%n", compactBytes.length, jsonBytes.length);
+        System.out.printf("round trip ns/op      : compact=%d, json=%d%n",
+                compactNanos / iterations, jsonNanos / iterations);
+    }
+
+
+    private static long measure(int iterations, Runnable task) {
+        for (int i = 0; i < iterations / 4; i++) {
+            task.run();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            task.run();
+        }
+        return System.nanoTime() - start;
+    }
+
+    // 다음 스키마 버전을 흉내 낸 코덱 (현재 버전 + 추가 필드)
+    private static final class NextProfileResponseCodec extends ProfileResponseCodec {
+
+        @Override
+        public int version() {
+            return super.version() + 1;
+        }
+
+        @Override
+        public void write(ProfileResponse value, DataOutput out) throws IOException {
+            super.write(value, out);
+            CompactCodec.writeString(out, "extra");
+        }
+
+        @Override
+        public ProfileResponse read(DataInput in, int version) throws IOException {
+            ProfileResponse profile = super.read(in, version);
+            if (version == version()) {
+                CompactCodec.readString(in);
+            }
+            return profile;
+        }
+    }
+}
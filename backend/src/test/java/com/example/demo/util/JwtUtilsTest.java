@@ -0,0 +1,128 @@
+package com.example.demo.util;
+
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JwtUtilsTest {
+
+    private static final byte[] KEY = "0123456789abcdef0123456789abcdef".getBytes();
+
+    private JwtUtils jwtUtils;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtils = new JwtUtils(Base64.getEncoder().encodeToString(KEY));
+        ReflectionTestUtils.setField(jwtUtils, "accessTokenMillis", 60_000L);
+        ReflectionTestUtils.setField(jwtUtils, "refreshTokenMillis", 120_000L);
+    }
+
+    @Test
+    void fastPathMatchesJjwtClaims() {
+        long before = System.currentTimeMillis();
+        String token = jwtUtils.generateAccessToken(42L, "user@example.com", List.of("ROLE_USER"));
+        long after = System.currentTimeMillis();
+        assertThat(token).startsWith(Hs256FastVerifier.EXPECTED_HEADER + ".");
+
+        VerifiedClaims fast = new Hs256FastVerifier(KEY, 1).verify(token);
+        VerifiedClaims claims = jwtUtils.verify(token);
+
+        assertThat(fast).isEqualTo(claims);
+        assertThat(claims.userId()).isEqualTo(42L);
+        assertThat(claims.email()).isEqualTo("user@example.com");
+        assertThat(claims.roles()).containsExactly("ROLE_USER");
+        assertThat(claims.issuedAtMillis()).isBetween(before, after);
+        assertThat(claims.expiresAt() - claims.issuedAtMillis() / 1000L).isEqualTo(60L);
+    }
+
+    @Test
+    void tamperedSignatureIsRejected() {
+        String token = jwtUtils.generateAccessToken(1L, "a@b.c", List.of("ROLE_USER"));
+        char last = token.charAt(token.length() - 5);
+        String tampered = token.substring(0, token.length() - 5) + (last == 'A' ? 'B' : 'A') + token.substring(token.length() - 4);
+
+        assertThat(new Hs256FastVerifier(KEY, 1).verify(tampered)).isNull();
+        assertThatThrownBy(() -> jwtUtils.verify(tampered)).isInstanceOf(JwtException.class);
+    }
+
+    @Test
+    void expiredTokenFallsBackToJjwtException() {
+        Date past = new Date(System.currentTimeMillis() - 10_000L);
+        String token = Jwts.builder()
+                .setSubject("7")
+                .claim("email", "old@example.com")
+                .claim("roles", List.of("ROLE_USER"))
+                .setIssuedAt(new Date(past.getTime() - 60_000L))
+                .setExpiration(past)
+                .signWith(Keys.hmacShaKeyFor(KEY), SignatureAlgorithm.HS256)
+                .compact();
+
+        assertThat(new Hs256FastVerifier(KEY, 1).verify(token)).isNull();
+        assertThatThrownBy(() -> jwtUtils.verify(token))
+                .isInstanceOf(JwtException.class)
+                .hasCauseInstanceOf(ExpiredJwtException.class);
+    }
+
+    @Test
+    void unusualClaimsFallBackToJjwt() {
+        String token = Jwts.builder()
+                .setSubject("9")
+                .claim("email", "quote\"d@example.com")
+                .claim("roles", List.of("ROLE_ADMIN", "ROLE_USER"))
+                .claim("meta", Map.of("k", "v"))
+                .setIssuedAt(new Date())
+                .setExpiration(new Date(System.currentTimeMillis() + 60_000L))
+                .signWith(Keys.hmacShaKeyFor(KEY), SignatureAlgorithm.HS256)
+                .compact();
+
+        assertThat(new Hs256FastVerifier(KEY, 1).verify(token)).isNull();
+        VerifiedClaims claims = jwtUtils.verify(token);
+        assertThat(claims.email()).isEqualTo("quote\"d@example.com");
+        assertThat(claims.roles()).containsExactly("ROLE_ADMIN", "ROLE_USER");
+    }
+
+    @Test
+    void tokenWithoutMillisIssuedAtFallsBackToIatSeconds() {
+        Date issuedAt = new Date(System.currentTimeMillis() / 1000L * 1000L);
+        String token = Jwts.builder()
+                .setSubject("5")
+                .claim("email", "legacy@example.com")
+                .claim("roles", List.of("ROLE_USER"))
+                .setIssuedAt(issuedAt)
+                .setExpiration(new Date(issuedAt.getTime() + 60_000L))
+                .signWith(Keys.hmacShaKeyFor(KEY), SignatureAlgorithm.HS256)
+                .compact();
+
+        VerifiedClaims fast = new Hs256FastVerifier(KEY, 1).verify(token);
+        assertThat(fast).isEqualTo(jwtUtils.verify(token));
+        assertThat(fast.issuedAtMillis()).isEqualTo(issuedAt.getTime());
+    }
+
+    @Test
+    void sealedTokenPairRoundTripsAndRejectsTampering() {
+        String pair = "access.token.value refresh.token.value";
+        String sealed = jwtUtils.seal(pair);
+
+        assertThat(sealed).doesNotContain("access").isNotEqualTo(jwtUtils.seal(pair));
+        assertThat(jwtUtils.unseal(sealed)).isEqualTo(pair);
+
+        int mid = sealed.length() / 2;
+        String tampered = sealed.substring(0, mid) + (sealed.charAt(mid) == 'A' ? 'B' : 'A') + sealed.substring(mid + 1);
+        assertThat(jwtUtils.unseal(tampered)).isNull();
+        assertThat(new JwtUtils(Base64.getEncoder().encodeToString("fedcba9876543210fedcba9876543210".getBytes())).unseal(sealed)).isNull();
+        assertThat(jwtUtils.unseal("not*base64")).isNull();
+    }
+}